@@ -163,6 +163,18 @@ CREATE TABLE tbl_horario_funcionamento (
     UNIQUE KEY unique_biblioteca_dia (id_biblioteca, dia_semana)
 ) ENGINE=InnoDB;
 
+-- ===========================================================
+-- 10. Tabela: tbl_sequencia — Blocos de IDs das Entidades
+-- ===========================================================
+-- Uma linha por tabela (nome = tabela). O Hibernate reserva 50 IDs por vez
+-- (proximo_valor = fim do próximo bloco), o que permite inserts em lote.
+-- As linhas são criadas e alinhadas com MAX(id) na subida da aplicação
+-- (SequenciasInitializer); o AUTO_INCREMENT das tabelas não é mais usado.
+CREATE TABLE tbl_sequencia (
+    nome VARCHAR(255) NOT NULL PRIMARY KEY,
+    proximo_valor BIGINT NOT NULL
+) ENGINE=InnoDB;
+
 -- ===========================
 -- Inserir os gêneros
 -- ===========================
@@ -0,0 +1,80 @@
+package com.localibrary.benchmark;
+
+import com.localibrary.util.DistanceCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ NOVO: Distância do usuário a n bibliotecas: Haversine ponto a ponto x aproximação em lote
+ * haversine é o cálculo antigo do ranking; aproximadaEmLote é o laço do BibliotecaGeoIndex
+ * (cos(lat) do usuário calculado uma vez, pares lat/lon intercalados num double[]).
+ * Pontos sorteados na região metropolitana de São Paulo, semente fixa.
+ * <p>
+ * Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="DistanciaBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistanciaBenchmark {
+
+    // Mesmo retângulo do DistanceCalculatorTest
+    private static final double LAT_MIN = -24.00;
+    private static final double LAT_MAX = -23.18;
+    private static final double LON_MIN = -47.21;
+    private static final double LON_MAX = -46.12;
+
+    @Param({"10000", "100000", "1000000"})
+    private int pontos;
+
+    private double lat;
+    private double lon;
+    private double[] latLons;
+    private double[] saida;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(2024);
+        lat = sortear(random, LAT_MIN, LAT_MAX);
+        lon = sortear(random, LON_MIN, LON_MAX);
+        latLons = new double[2 * pontos];
+        for (int i = 0; i < pontos; i++) {
+            latLons[2 * i] = sortear(random, LAT_MIN, LAT_MAX);
+            latLons[2 * i + 1] = sortear(random, LON_MIN, LON_MAX);
+        }
+        saida = new double[pontos];
+    }
+
+    @Benchmark
+    public double[] haversine() {
+        for (int i = 0; i < pontos; i++) {
+            saida[i] = DistanceCalculator.calculateDistance(lat, lon, latLons[2 * i], latLons[2 * i + 1]);
+        }
+        return saida;
+    }
+
+    @Benchmark
+    public double[] aproximadaEmLote() {
+        // cos(lat) entra na medição: na busca ele é calculado uma vez por requisição
+        DistanceCalculator.approximateDistances(lat, lon, DistanceCalculator.cosLatitude(lat), latLons, 0, pontos, saida);
+        return saida;
+    }
+
+    private static double sortear(Random random, double min, double max) {
+        return min + random.nextDouble() * (max - min);
+    }
+}
@@ -0,0 +1,141 @@
+package com.localibrary.benchmark;
+
+import com.localibrary.util.Constants;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ NOVO: Inserção de n livros: ID por AUTO_INCREMENT x IDs em blocos com batch
+ * identity reproduz o caminho antigo (um INSERT por linha, lendo a chave gerada);
+ * blocosDeIds é o que o Hibernate faz com o @TableGenerator pooled: reserva ALOCACAO_IDS
+ * IDs em tbl_sequencia (UPDATE + SELECT) e manda os inserts em lotes do mesmo tamanho.
+ * Cada operação termina em rollback, então as tabelas não crescem entre iterações.
+ * <p>
+ * Por padrão sobe um servidor H2 TCP local e conecta por ele: cada comando é uma ida ao servidor,
+ * como no MySQL (no H2 embutido, sem rede, as duas estratégias empatam). Para medir no MySQL,
+ * passe a URL com -p url=... -p usuario=... -p senha=...
+ * Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="InsercaoBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercaoBenchmark {
+
+    // Vazio = servidor H2 TCP local
+    @Param({""})
+    private String url;
+
+    @Param({"sa"})
+    private String usuario;
+
+    @Param({""})
+    private String senha;
+
+    @Param({"1000", "10000"})
+    private int livros;
+
+    private Server servidor;
+    private Connection conexao;
+
+    @Setup
+    public void preparar() throws SQLException {
+        String destino = url;
+        if (destino.isEmpty()) {
+            servidor = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            destino = "jdbc:h2:tcp://localhost:" + servidor.getPort() + "/mem:insercao;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        }
+        conexao = DriverManager.getConnection(destino, usuario, senha);
+        try (Statement st = conexao.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_livro_identity");
+            st.execute("DROP TABLE IF EXISTS bench_livro_blocos");
+            st.execute("DROP TABLE IF EXISTS bench_sequencia");
+            st.execute("CREATE TABLE bench_livro_identity (id_livro BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "titulo VARCHAR(255) NOT NULL)");
+            st.execute("CREATE TABLE bench_livro_blocos (id_livro BIGINT PRIMARY KEY, titulo VARCHAR(255) NOT NULL)");
+            st.execute("CREATE TABLE bench_sequencia (nome VARCHAR(255) NOT NULL PRIMARY KEY, proximo_valor BIGINT NOT NULL)");
+            st.execute("INSERT INTO bench_sequencia (nome, proximo_valor) VALUES ('tbl_livro', 1)");
+        }
+        conexao.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void encerrar() throws SQLException {
+        conexao.close();
+        if (servidor != null) {
+            servidor.stop();
+        }
+    }
+
+    @Benchmark
+    public long identity() throws SQLException {
+        long ultimoId = 0;
+        try (PreparedStatement ps = conexao.prepareStatement(
+                "INSERT INTO bench_livro_identity (titulo) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < livros; i++) {
+                ps.setString(1, "Livro " + i);
+                ps.executeUpdate();
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    chaves.next();
+                    ultimoId = chaves.getLong(1);
+                }
+            }
+        }
+        conexao.rollback();
+        return ultimoId;
+    }
+
+    @Benchmark
+    public long blocosDeIds() throws SQLException {
+        long proximoId = 0;
+        long fimDoBloco = 0;
+        try (PreparedStatement reservar = conexao.prepareStatement(
+                "UPDATE bench_sequencia SET proximo_valor = proximo_valor + ? WHERE nome = 'tbl_livro'");
+             PreparedStatement ler = conexao.prepareStatement(
+                     "SELECT proximo_valor FROM bench_sequencia WHERE nome = 'tbl_livro'");
+             PreparedStatement inserir = conexao.prepareStatement(
+                     "INSERT INTO bench_livro_blocos (id_livro, titulo) VALUES (?, ?)")) {
+            for (int i = 0; i < livros; i++) {
+                if (proximoId == fimDoBloco) {
+                    reservar.setInt(1, Constants.ALOCACAO_IDS);
+                    reservar.executeUpdate();
+                    try (ResultSet rs = ler.executeQuery()) {
+                        rs.next();
+                        fimDoBloco = rs.getLong(1);
+                    }
+                    proximoId = fimDoBloco - Constants.ALOCACAO_IDS;
+                }
+                inserir.setLong(1, proximoId++);
+                inserir.setString(2, "Livro " + i);
+                inserir.addBatch();
+                if ((i + 1) % Constants.ALOCACAO_IDS == 0) {
+                    inserir.executeBatch();
+                }
+            }
+            inserir.executeBatch();
+        }
+        conexao.rollback();
+        return proximoId;
+    }
+}
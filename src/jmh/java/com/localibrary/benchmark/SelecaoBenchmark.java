@@ -0,0 +1,80 @@
+package com.localibrary.benchmark;
+
+import com.localibrary.util.SelecaoMenores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ NOVO: Os k mais próximos entre n candidatos: ordenação completa x heap limitado
+ * ordenacaoCompleta reproduz o caminho antigo (lista de objetos ordenada por distância,
+ * O(n log n)); selecaoPorHeap é o SelecaoMenores usado pelo BibliotecaGeoIndex (O(n log k),
+ * arrays primitivos). As distâncias já vêm calculadas nos dois: mede só a ordenação.
+ * <p>
+ * Rodar com: mvn -Pbenchmark test-compile exec:exec -Djmh.args="SelecaoBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelecaoBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int candidatos;
+
+    @Param({"20"})
+    private int k;
+
+    private long[] ids;
+    private double[] distancias;
+    private List<Candidato> lista;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        ids = new long[candidatos];
+        distancias = new double[candidatos];
+        lista = new ArrayList<>(candidatos);
+        for (int i = 0; i < candidatos; i++) {
+            ids[i] = i + 1;
+            distancias[i] = random.nextDouble() * 50; // Até o raio máximo da busca (km)
+            lista.add(new Candidato(ids[i], distancias[i]));
+        }
+    }
+
+    @Benchmark
+    public List<Candidato> ordenacaoCompleta() {
+        List<Candidato> ordenados = new ArrayList<>(lista);
+        ordenados.sort(Comparator.comparingDouble(Candidato::distanciaKm));
+        return ordenados.subList(0, Math.min(k, ordenados.size()));
+    }
+
+    @Benchmark
+    public SelecaoMenores selecaoPorHeap() {
+        SelecaoMenores selecao = new SelecaoMenores(k);
+        for (int i = 0; i < candidatos; i++) {
+            selecao.oferecer(ids[i], distancias[i]);
+        }
+        selecao.ordenar();
+        return selecao;
+    }
+
+    public record Candidato(long id, double distanciaKm) {
+    }
+}
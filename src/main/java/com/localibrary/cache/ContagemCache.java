@@ -0,0 +1,54 @@
+package com.localibrary.cache;
+
+import com.localibrary.util.Constants;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * ✅ NOVO: Cache de curta duração para totais aproximados das listagens
+ * As respostas em Slice não fazem COUNT a cada página; o total exibido ("cerca de N resultados")
+ * vem deste cache e é recalculado no máximo uma vez por chave a cada TTL.
+ */
+@Component
+public class ContagemCache {
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    /**
+     * Total em cache para a chave, ou executa a contagem e guarda o resultado.
+     *
+     * @param chave    Consulta normalizada (ex: "livros:titulo:memorias")
+     * @param contagem COUNT executado apenas quando não há valor válido
+     */
+    public long obter(String chave, LongSupplier contagem) {
+        long agora = System.currentTimeMillis();
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && entrada.expiraEm() > agora) {
+            return entrada.total();
+        }
+
+        long total = contagem.getAsLong();
+        limparSeCheio(agora);
+        entradas.put(chave, new Entrada(total, agora + Constants.TTL_CONTAGEM_APROXIMADA_MS));
+        return total;
+    }
+
+    /**
+     * Limita a memória: remove expirados e, se ainda estiver cheio, descarta tudo.
+     */
+    private void limparSeCheio(long agora) {
+        if (entradas.size() < Constants.MAX_CONTAGENS_EM_CACHE) {
+            return;
+        }
+        entradas.values().removeIf(e -> e.expiraEm() <= agora);
+        if (entradas.size() >= Constants.MAX_CONTAGENS_EM_CACHE) {
+            entradas.clear();
+        }
+    }
+
+    private record Entrada(long total, long expiraEm) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.localibrary.cache;
+
+import com.localibrary.dto.DashboardDTO;
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.event.BibliotecaCadastradaEvent;
+import com.localibrary.event.LivroSalvoEvent;
+import com.localibrary.util.Constants;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ✅ NOVO: Snapshot dos números do Dashboard (RF-16)
+ * Fica válido até alguma alteração de biblioteca/acervo/livro ou até o TTL vencer
+ * (o TTL cobre o que não publica evento, como mudança de quantidade).
+ * <p>
+ * As seções do Dashboard são consultadas em paralelo num pool próprio e limitado: um pico
+ * de acessos ao painel não ocupa as threads do restante da aplicação.
+ */
+@Component
+public class DashboardCache {
+
+    private final ExecutorService executor;
+
+    private volatile Entrada entrada;
+
+    // Último Dashboard completo: valores de reserva para seções que estourarem o tempo
+    private volatile DashboardDTO ultimoCompleto;
+
+    // Incrementada a cada alteração: um cálculo iniciado antes dela não é guardado
+    private volatile long geracao = 0;
+
+    public DashboardCache() {
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                Constants.THREADS_DASHBOARD, Constants.THREADS_DASHBOARD,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Constants.FILA_DASHBOARD),
+                r -> {
+                    Thread t = new Thread(r, "dashboard-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public DashboardDTO obter(Supplier<DashboardDTO> calculo) {
+        Entrada atual = entrada;
+        if (valida(atual)) {
+            return atual.dashboard();
+        }
+        synchronized (this) {
+            atual = entrada;
+            if (valida(atual)) {
+                return atual.dashboard();
+            }
+            long geracaoInicial = geracao;
+            DashboardDTO dashboard = calculo.get();
+            // Resultado parcial não fica em cache: a próxima requisição tenta de novo
+            if (dashboard.getSecoesDesatualizadas().isEmpty()) {
+                ultimoCompleto = dashboard;
+                if (geracaoInicial == geracao) {
+                    entrada = new Entrada(dashboard, geracaoInicial, System.currentTimeMillis() + Constants.TTL_DASHBOARD_MS);
+                }
+            }
+            return dashboard;
+        }
+    }
+
+    /**
+     * Executa a consulta de uma seção no pool do Dashboard.
+     * Com o pool e a fila cheios, o futuro já nasce com erro (a seção sai como desatualizada).
+     */
+    public <T> CompletableFuture<T> executar(Supplier<T> consulta) {
+        try {
+            return CompletableFuture.supplyAsync(consulta, executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Último Dashboard completo calculado (null antes do primeiro).
+     */
+    public DashboardDTO getUltimoCompleto() {
+        return ultimoCompleto;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBibliotecaAlterada(BibliotecaAlteradaEvent event) {
+        invalidar();
+    }
+
+    /**
+     * Biblioteca nova já aparece no mapa (MapaIndex): os totais acompanham.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBibliotecaCadastrada(BibliotecaCadastradaEvent event) {
+        invalidar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoAlterado(AcervoAlteradoEvent event) {
+        invalidar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLivroSalvo(LivroSalvoEvent event) {
+        invalidar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        invalidar();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void invalidar() {
+        geracao++;
+        entrada = null;
+    }
+
+    private boolean valida(Entrada e) {
+        return e != null && e.geracao() == geracao && e.expiraEm() > System.currentTimeMillis();
+    }
+
+    private record Entrada(DashboardDTO dashboard, long geracao, long expiraEm) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.localibrary.cache;
+
+import com.localibrary.entity.Genero;
+import com.localibrary.entity.Livro;
+import com.localibrary.entity.LivroGenero;
+import com.localibrary.exception.ResourceNotFoundException;
+import com.localibrary.repository.GeneroRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.localibrary.util.Constants.MSG_GENERO_NAO_ENCONTRADO;
+
+/**
+ * ✅ NOVO: Gêneros em memória (dado de referência, poucos e quase nunca alterados)
+ * Resolver os gêneros de um livro não vai ao banco. A API não altera gêneros (eles vêm da
+ * carga inicial); um ID desconhecido recarrega a tabela inteira uma vez antes de ser
+ * recusado, então gêneros incluídos direto no banco aparecem sem reiniciar a aplicação.
+ * <p>
+ * Guarda só os IDs. Para LivroGenero sai uma referência (getReferenceById, sem SELECT):
+ * uma cópia desanexada de Genero seria persistida/mesclada em cascata junto com o livro.
+ */
+@Component
+public class GeneroCache {
+
+    private final GeneroRepository generoRepository;
+
+    private volatile Set<Long> ids;
+
+    public GeneroCache(GeneroRepository generoRepository) {
+        this.generoRepository = generoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Referência ao gênero para associar a um livro, sem consultar o banco.
+     *
+     * @throws ResourceNotFoundException se o gênero não existir
+     */
+    public Genero referencia(Long idGenero) {
+        if (!existe(idGenero)) {
+            throw new ResourceNotFoundException(MSG_GENERO_NAO_ENCONTRADO + " ID: " + idGenero);
+        }
+        return generoRepository.getReferenceById(idGenero);
+    }
+
+    public boolean existe(Long idGenero) {
+        return atuais().contains(idGenero) || recarregar().contains(idGenero);
+    }
+
+    /**
+     * Aplica só a diferença entre os gêneros atuais do livro e os pedidos: gêneros mantidos não
+     * são apagados e regravados, e os removidos saem por orphanRemoval. Usado pelo cadastro de
+     * livros (LivroService) e pelo acervo da biblioteca (BibliotecaService).
+     *
+     * @return true se algum gênero entrou ou saiu
+     * @throws ResourceNotFoundException se algum gênero não existir (o livro não é alterado)
+     */
+    public boolean aplicarGeneros(Livro livro, Set<Long> generosIds) {
+        if (livro.getGeneros() == null) {
+            livro.setGeneros(new ArrayList<>());
+        }
+
+        // Resolve todos antes de alterar: um ID inexistente não deixa o livro pela metade
+        List<Genero> pedidos = generosIds.stream().map(this::referencia).toList();
+
+        boolean removidos = livro.getGeneros().removeIf(lg -> !generosIds.contains(lg.getGenero().getId()));
+        Set<Long> atuais = livro.getGeneros().stream()
+                .map(lg -> lg.getGenero().getId())
+                .collect(Collectors.toSet());
+
+        boolean adicionados = false;
+        for (Genero genero : pedidos) {
+            if (atuais.add(genero.getId())) {
+                LivroGenero lg = new LivroGenero();
+                lg.setLivro(livro);
+                lg.setGenero(genero);
+                livro.getGeneros().add(lg);
+                adicionados = true;
+            }
+        }
+        return removidos || adicionados;
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private Set<Long> atuais() {
+        Set<Long> atual = ids;
+        return atual != null ? atual : recarregar();
+    }
+
+    private synchronized Set<Long> recarregar() {
+        Set<Long> novo = generoRepository.findAll().stream()
+                .map(Genero::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        ids = novo;
+        return novo;
+    }
+}
@@ -0,0 +1,254 @@
+package com.localibrary.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.localibrary.dto.BibliotecaDetalhesDTO;
+import com.localibrary.dto.BibliotecaParaLivroDTO;
+import com.localibrary.dto.LivroDetalhesDTO;
+import com.localibrary.dto.response.LivroResponseDTO;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.event.GenerosAlteradosEvent;
+import com.localibrary.event.LivroSalvoEvent;
+import com.localibrary.event.PopularidadeAlteradaEvent;
+import com.localibrary.index.PopularidadeIndex;
+import com.localibrary.util.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * ✅ NOVO: Respostas dos GETs públicos mais acessados em memória
+ * (livros populares, detalhes do livro, detalhes da biblioteca e bibliotecas que têm um livro)
+ * <p>
+ * Cada cache é limitado em entradas (Caffeine, W-TinyLFU) e sai nas métricas cache.gets
+ * (hit/miss), cache.evictions e cache.size com a tag cache=respostas.*. Os DTOs guardados
+ * nunca saem do cache: cada leitura devolve uma cópia. A invalidação é feita pelos eventos,
+ * só nas entradas afetadas e sem varrer o cache:
+ * <ul>
+ *     <li>Populares: a chave é a versão do ranking, que muda a cada alteração de acervo ou
+ *     de status; uma resposta calculada antes da mudança nunca é servida depois dela.</li>
+ *     <li>Bibliotecas de um livro: guarda o conjunto de bibliotecas ativas, sem ordem; a
+ *     distância e a ordenação são calculadas a cada requisição com as coordenadas do usuário.
+ *     Um índice reverso (biblioteca -> livros em cache) acha as entradas de uma biblioteca
+ *     alterada; os livros que ganham ou perdem uma biblioteca ativa vêm do PopularidadeIndex.</li>
+ *     <li>Detalhes do livro: outro índice reverso (livro -> detalhes que o listam entre os
+ *     similares) acha os cards a trocar quando um livro é salvo.</li>
+ * </ul>
+ */
+@Component
+public class RespostaCache {
+
+    private final PopularidadeIndex popularidadeIndex;
+
+    private final Cache<Long, List<LivroResponseDTO>> populares;
+    private final Cache<ChaveDetalhes, LivroDetalhesDTO> detalhesLivro;
+    private final Cache<Long, BibliotecaDetalhesDTO> detalhesBiblioteca;
+    private final Cache<Long, Map<Long, BibliotecaParaLivroDTO>> bibliotecasDoLivro;
+
+    private final Referencias<ChaveDetalhes> detalhesPorSimilar = new Referencias<>();
+    private final Referencias<Long> livrosPorBiblioteca = new Referencias<>();
+
+    public RespostaCache(PopularidadeIndex popularidadeIndex, MeterRegistry meterRegistry) {
+        this.popularidadeIndex = popularidadeIndex;
+        this.populares = criar(meterRegistry, "respostas.livros.populares",
+                Caffeine.newBuilder().maximumSize(Constants.MAX_RESPOSTAS_POPULARES));
+        this.detalhesLivro = criar(meterRegistry, "respostas.livros.detalhes",
+                Caffeine.newBuilder().maximumSize(Constants.MAX_RESPOSTAS_LIVRO)
+                        .expireAfterWrite(Duration.ofMillis(Constants.TTL_DETALHES_LIVRO_MS))
+                        .<ChaveDetalhes, LivroDetalhesDTO>evictionListener((chave, detalhes, causa) ->
+                                detalhesPorSimilar.remover(idsSimilares(detalhes), chave)));
+        this.detalhesBiblioteca = criar(meterRegistry, "respostas.bibliotecas.detalhes",
+                Caffeine.newBuilder().maximumSize(Constants.MAX_RESPOSTAS_BIBLIOTECA));
+        this.bibliotecasDoLivro = criar(meterRegistry, "respostas.livros.bibliotecas",
+                Caffeine.newBuilder().maximumSize(Constants.MAX_RESPOSTAS_LIVRO)
+                        .<Long, Map<Long, BibliotecaParaLivroDTO>>evictionListener((idLivro, bibliotecas, causa) ->
+                                livrosPorBiblioteca.remover(bibliotecas.keySet(), idLivro)));
+    }
+
+    /**
+     * Top de livros populares para a versão atual do ranking.
+     *
+     * @param versao Versão do ranking lida ANTES de calcular a lista
+     */
+    public List<LivroResponseDTO> populares(long versao, Supplier<List<LivroResponseDTO>> calculo) {
+        return populares.get(versao, v -> List.copyOf(calculo.get())).stream()
+                .map(LivroResponseDTO::new)
+                .toList();
+    }
+
+    public LivroDetalhesDTO detalhesLivro(Long idLivro, boolean porAcervo, Supplier<LivroDetalhesDTO> calculo) {
+        return new LivroDetalhesDTO(detalhesLivro.get(new ChaveDetalhes(idLivro, porAcervo), chave -> {
+            LivroDetalhesDTO detalhes = new LivroDetalhesDTO(calculo.get());
+            // Registrado dentro do carregamento: uma invalidação concorrente espera a entrada existir
+            detalhesPorSimilar.registrar(idsSimilares(detalhes), chave);
+            return detalhes;
+        }));
+    }
+
+    /**
+     * Exceções (biblioteca inexistente ou inativa) não ficam em cache.
+     */
+    public BibliotecaDetalhesDTO detalhesBiblioteca(Long idBiblioteca, Supplier<BibliotecaDetalhesDTO> calculo) {
+        return new BibliotecaDetalhesDTO(detalhesBiblioteca.get(idBiblioteca, id -> calculo.get()));
+    }
+
+    /**
+     * Bibliotecas ativas que têm o livro, por ID, na ordem em que vieram do banco.
+     * O mapa é imutável, mas os DTOs são os do cache: a resposta deve usar cópias
+     * (ver os construtores de cópia de BibliotecaParaLivroDTO).
+     */
+    public Map<Long, BibliotecaParaLivroDTO> bibliotecasDoLivro(Long idLivro,
+                                                                Supplier<Map<Long, BibliotecaParaLivroDTO>> carga) {
+        return bibliotecasDoLivro.get(idLivro, id -> {
+            Map<Long, BibliotecaParaLivroDTO> bibliotecas = carga.get();
+            livrosPorBiblioteca.registrar(bibliotecas.keySet(), id);
+            return bibliotecas;
+        });
+    }
+
+    /**
+     * Livros que ganharam ou perderam uma biblioteca ativa (acervo alterado numa biblioteca
+     * ativa, biblioteca ativada ou desativada). Síncrono: chega logo depois da atualização
+     * dos contadores, que já acontece após o commit.
+     */
+    @EventListener
+    public void onPopularidadeAlterada(PopularidadeAlteradaEvent event) {
+        // Recarga (início ou exclusão de biblioteca ativa): a exclusão chega pelo evento da biblioteca
+        for (Long idLivro : event.idsLivro()) {
+            invalidarBibliotecasDoLivro(idLivro);
+        }
+    }
+
+    /**
+     * Perfil, endereço, status ou exclusão: sai a biblioteca e todo livro em cache que a lista.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBibliotecaAlterada(BibliotecaAlteradaEvent event) {
+        detalhesBiblioteca.invalidate(event.idBiblioteca());
+        for (Long idLivro : livrosPorBiblioteca.chaves(event.idBiblioteca())) {
+            invalidarBibliotecasDoLivro(idLivro);
+        }
+    }
+
+    /**
+     * Título, autor e capa aparecem nos detalhes do próprio livro, nos cards de similares
+     * e no top de populares.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLivroSalvo(LivroSalvoEvent event) {
+        Long idLivro = event.livro().id();
+        invalidarDetalhes(idLivro);
+        for (ChaveDetalhes chave : detalhesPorSimilar.chaves(idLivro)) {
+            invalidarDetalhes(chave);
+        }
+        // Só a versão atual do ranking é consultada; as antigas saem pelo limite de entradas
+        if (popularidadeIndex.getMaisPopulares().contains(idLivro)) {
+            populares.invalidateAll();
+        }
+    }
+
+    /**
+     * Os gêneros só aparecem nos detalhes do próprio livro (os cards não têm gênero).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenerosAlterados(GenerosAlteradosEvent event) {
+        invalidarDetalhes(event.idLivro());
+    }
+
+    /**
+     * Lote da importação: livros novos ainda não estão em nenhuma entrada, e o acervo chega
+     * pelo aviso de popularidade; sobram os detalhes dos livros que ganharam gêneros.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        event.generosPorLivro().keySet().forEach(this::invalidarDetalhes);
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private void invalidarDetalhes(Long idLivro) {
+        invalidarDetalhes(new ChaveDetalhes(idLivro, false));
+        invalidarDetalhes(new ChaveDetalhes(idLivro, true));
+    }
+
+    /**
+     * Remove a entrada e suas referências na mesma operação atômica da chave.
+     */
+    private void invalidarDetalhes(ChaveDetalhes chave) {
+        detalhesLivro.asMap().computeIfPresent(chave, (c, detalhes) -> {
+            detalhesPorSimilar.remover(idsSimilares(detalhes), c);
+            return null;
+        });
+    }
+
+    private void invalidarBibliotecasDoLivro(Long idLivro) {
+        bibliotecasDoLivro.asMap().computeIfPresent(idLivro, (id, bibliotecas) -> {
+            livrosPorBiblioteca.remover(bibliotecas.keySet(), id);
+            return null;
+        });
+    }
+
+    private static List<Long> idsSimilares(LivroDetalhesDTO detalhes) {
+        if (detalhes.getLivrosSimilares() == null) {
+            return List.of();
+        }
+        return detalhes.getLivrosSimilares().stream().map(LivroResponseDTO::getId).toList();
+    }
+
+    private static <K, V> Cache<K, V> criar(MeterRegistry meterRegistry, String nome,
+                                            Caffeine<? super K, ? super V> builder) {
+        Cache<K, V> cache = builder.recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nome);
+        return cache;
+    }
+
+    private record ChaveDetalhes(Long idLivro, boolean porAcervo) {
+    }
+
+    /**
+     * Índice reverso ID -> chaves em cache que o mencionam.
+     * Registrado dentro do carregamento e removido dentro da remoção da entrada (as duas
+     * atômicas na chave), então nunca deixa de apontar para uma entrada que existe.
+     */
+    private static final class Referencias<K> {
+
+        private final Map<Long, Set<K>> porId = new ConcurrentHashMap<>();
+
+        void registrar(Collection<Long> ids, K chave) {
+            for (Long id : ids) {
+                porId.compute(id, (i, chaves) -> {
+                    Set<K> conjunto = chaves != null ? chaves : ConcurrentHashMap.newKeySet();
+                    conjunto.add(chave);
+                    return conjunto;
+                });
+            }
+        }
+
+        void remover(Collection<Long> ids, K chave) {
+            for (Long id : ids) {
+                porId.computeIfPresent(id, (i, chaves) -> {
+                    chaves.remove(chave);
+                    return chaves.isEmpty() ? null : chaves;
+                });
+            }
+        }
+
+        List<K> chaves(Long id) {
+            Set<K> chaves = porId.get(id);
+            return chaves == null ? List.of() : List.copyOf(chaves);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.localibrary.cache;
+
+import com.localibrary.entity.Biblioteca;
+import com.localibrary.entity.Endereco;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.util.Constants;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * ✅ NOVO: Invalidação do cache de segundo nível quando uma biblioteca muda
+ * (perfil editado pela própria biblioteca, status alterado ou exclusão pelo admin)
+ * <p>
+ * O Hibernate já atualiza as entradas das entidades salvas pela sessão; aqui saem também
+ * os horários e o endereço da biblioteca e as listagens guardadas no cache de consultas,
+ * para que nada alterado fora da sessão (SQL direto, bulk update) continue sendo servido.
+ */
+@Component
+public class SegundoNivelCache {
+
+    private static final String HORARIOS_BIBLIOTECA = Biblioteca.class.getName() + ".horariosFuncionamento";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SegundoNivelCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBibliotecaAlterada(BibliotecaAlteradaEvent event) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Biblioteca.class, event.idBiblioteca());
+        cache.evictCollectionData(HORARIOS_BIBLIOTECA, event.idBiblioteca());
+        cache.evictEntityData(Endereco.class, event.idEndereco());
+        cache.evictQueryRegion(Constants.REGIAO_CONSULTAS_BIBLIOTECA);
+    }
+}
@@ -0,0 +1,83 @@
+package com.localibrary.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.localibrary.util.Constants;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * ✅ NOVO: Cache de segundo nível do Hibernate em memória (JCache com Caffeine)
+ * Cada região tem um máximo de entradas; acima dele o Caffeine descarta as menos usadas.
+ * As regiões são criadas aqui e o Hibernate falha ao subir se alguma entidade pedir uma
+ * região que não existe (evita uma região sem limite criada por engano).
+ * <p>
+ * A região de timestamps não tem limite: é uma entrada por tabela, e perder uma delas
+ * faria o cache de consultas devolver resultados antigos.
+ * <p>
+ * As regiões contam acertos e faltas no próprio JCache e saem nas métricas cache.gets
+ * (result=hit/miss), cache.puts e cache.removals com a tag cache=região. Assim as métricas não
+ * dependem do hibernate.generate_statistics, que fica desligado em produção (custo por consulta).
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        criarRegiao(cacheManager, Constants.REGIAO_GENERO, Constants.MAX_ENTRADAS_GENERO);
+        criarRegiao(cacheManager, Constants.REGIAO_BIBLIOTECA, Constants.MAX_ENTRADAS_BIBLIOTECA);
+        criarRegiao(cacheManager, Constants.REGIAO_ENDERECO, Constants.MAX_ENTRADAS_BIBLIOTECA);
+        criarRegiao(cacheManager, Constants.REGIAO_HORARIO, Constants.MAX_ENTRADAS_HORARIO);
+        criarRegiao(cacheManager, Constants.REGIAO_HORARIOS_BIBLIOTECA, Constants.MAX_ENTRADAS_BIBLIOTECA);
+        criarRegiao(cacheManager, Constants.REGIAO_CONSULTAS_BIBLIOTECA, Constants.MAX_ENTRADAS_CONSULTAS);
+        criarRegiao(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                Constants.MAX_ENTRADAS_CONSULTAS);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public MeterBinder segundoNivelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String regiao : hibernateCacheManager.getCacheNames()) {
+                javax.cache.Cache<Object, Object> cache = hibernateCacheManager.getCache(regiao);
+                if (cache.getConfiguration(CaffeineConfiguration.class).isStatisticsEnabled()) {
+                    JCacheMetrics.monitor(registry, cache);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.putAll(Map.of(
+                ConfigSettings.CACHE_MANAGER, hibernateCacheManager,
+                ConfigSettings.MISSING_CACHE_STRATEGY, "fail"));
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private static void criarRegiao(CacheManager cacheManager, String regiao, long maxEntradas) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(OptionalLong.of(maxEntradas));
+        configuracao.setStatisticsEnabled(true);
+        cacheManager.createCache(regiao, configuracao);
+    }
+}
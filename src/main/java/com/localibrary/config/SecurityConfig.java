@@ -99,7 +99,10 @@ public class SecurityConfig {
                         // 2. Gestão de Moderadores (Apenas ADMIN)
                         .requestMatchers("/admin/moderadores/**").hasRole("ADMIN")
 
-                        // 3. Dashboard e Gestão de Bibliotecas (ADMIN ou MODERADOR)
+                        // 3. Métricas (hit/miss do cache de segundo nível)
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // 4. Dashboard e Gestão de Bibliotecas (ADMIN ou MODERADOR)
                         .requestMatchers("/admin/**").hasAnyRole("ADMIN", "MODERADOR")
 
                         // --- CATCH-ALL ---
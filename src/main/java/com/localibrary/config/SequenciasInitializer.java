@@ -0,0 +1,83 @@
+package com.localibrary.config;
+
+import com.localibrary.util.Constants;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ NOVO: Alinha tbl_sequencia com os IDs já existentes
+ * As entidades passaram de IDENTITY para blocos de IDs reservados em tabela. Bancos criados
+ * antes disso já têm linhas com IDs do AUTO_INCREMENT: antes de qualquer insert, cada sequência
+ * é posicionada acima do maior ID da sua tabela (nunca para trás, então rodar de novo é seguro).
+ * <p>
+ * Com o otimizador pooled, o valor guardado é o fim do próximo bloco; por isso MAX(id) + ALOCACAO_IDS.
+ * Só SQL padrão (UPDATE condicional, INSERT se a linha não existe): roda no MySQL e no H2.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenciasInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenciasInitializer.class);
+
+    // {nome da sequência (pkColumnValue), tabela, coluna de ID}
+    private static final String[][] SEQUENCIAS = {
+            {"tbl_livro", "tbl_livro", "id_livro"},
+            {"tbl_biblioteca", "tbl_biblioteca", "id_biblioteca"},
+            {"tbl_endereco", "tbl_endereco", "id_endereco"},
+            {"tbl_horario_funcionamento", "tbl_horario_funcionamento", "id_horario"},
+            {"tbl_admin", "tbl_admin", "id_admin"},
+            {"tbl_credenciais_biblioteca", "tbl_credenciais_biblioteca", "id_credencial"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenciasInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alinhar() {
+        for (String[] sequencia : SEQUENCIAS) {
+            Long maiorId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + sequencia[2] + "), 0) FROM " + sequencia[1], Long.class);
+            alinhar(sequencia[0], maiorId + Constants.ALOCACAO_IDS);
+        }
+        logger.info("Sequências de ID alinhadas ({} tabelas)", SEQUENCIAS.length);
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Sobe a sequência até minimo, se estiver abaixo; cria a linha se ela ainda não existe.
+     */
+    private void alinhar(String nome, long minimo) {
+        if (subir(nome, minimo) > 0 || existe(nome)) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO " + Constants.TABELA_SEQUENCIAS + " (nome, proximo_valor) VALUES (?, ?)",
+                    nome, minimo);
+        } catch (DuplicateKeyException e) {
+            // Outra instância criou a linha entre o SELECT e o INSERT
+            subir(nome, minimo);
+        }
+    }
+
+    private int subir(String nome, long minimo) {
+        return jdbcTemplate.update("UPDATE " + Constants.TABELA_SEQUENCIAS + " SET proximo_valor = ? " +
+                "WHERE nome = ? AND proximo_valor < ?", minimo, nome, minimo);
+    }
+
+    private boolean existe(String nome) {
+        Integer linhas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + Constants.TABELA_SEQUENCIAS + " WHERE nome = ?", Integer.class, nome);
+        return linhas != null && linhas > 0;
+    }
+}
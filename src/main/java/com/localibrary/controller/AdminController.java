@@ -4,6 +4,8 @@ import com.localibrary.dto.*;
 import com.localibrary.dto.request.CreateModeratorRequestDTO;
 import com.localibrary.dto.request.UpdateStatusRequestDTO;
 import com.localibrary.dto.response.AdminResponseDTO;
+import com.localibrary.dto.response.CursorPageDTO;
+import com.localibrary.dto.response.SliceDTO;
 import com.localibrary.enums.StatusBiblioteca;
 import com.localibrary.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -111,7 +113,7 @@ public class AdminController {
 
     @Operation(
             summary = "Dashboard",
-            description = "Estatísticas gerais do sistema e mapa de bibliotecas. (RF-16)"
+            description = "Estatísticas gerais do sistema e mapa de bibliotecas de todos os status. (RF-16) Seções que demoram demais vêm com o último valor conhecido e aparecem em secoesDesatualizadas. Abaixo do zoom 15 o mapa vem em clustersMapa (quantidade total e por status); a partir do zoom 15, os pinos da área informada em bibliotecasMapa (bbox obrigatória, no máximo 500; mapaTruncado indica que havia mais)."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -129,27 +131,47 @@ public class AdminController {
                           "bibliotecasPendentes": 20,
                           "totalLivrosCadastrados": 5000,
                           "totalExemplares": 12000,
-                          "bibliotecasMapa": [
+                          "bibliotecasMapa": [],
+                          "clustersMapa": [
                             {
-                              "id": 1,
-                              "nomeFantasia": "Biblioteca Central",
                               "latitude": -23.5505,
                               "longitude": -46.6333,
-                              "status": "ATIVO",
-                              "cidade": "São Paulo"
+                              "quantidade": 12,
+                              "idBiblioteca": null,
+                              "quantidadePorStatus": {
+                                "ATIVO": 9,
+                                "PENDENTE": 2,
+                                "INATIVO": 1
+                              }
+                            },
+                            {
+                              "latitude": -23.6012,
+                              "longitude": -46.7125,
+                              "quantidade": 1,
+                              "idBiblioteca": 7,
+                              "quantidadePorStatus": {
+                                "PENDENTE": 1
+                              }
                             }
-                          ]
+                          ],
+                          "zoomMapa": 10,
+                          "mapaTruncado": false,
+                          "secoesDesatualizadas": []
                         }
                         """
                             )
                     )
             ),
+            @ApiResponse(responseCode = "400", description = "Zoom ou área inválidos"),
             @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
             @ApiResponse(responseCode = "403", description = "Apenas ADMIN ou MODERADOR")
     })
     @GetMapping("/dashboard")
-    public ResponseEntity<DashboardDTO> getDashboard() {
-        return ResponseEntity.ok(adminService.getDashboardData());
+    public ResponseEntity<DashboardDTO> getDashboard(
+            @Parameter(description = "Nível de zoom do mapa (0 a 20, padrão 10)", example = "10") @RequestParam(required = false) Integer zoom,
+            @Parameter(description = "Área visível: oeste,sul,leste,norte (obrigatória a partir do zoom 15)", example = "-46.83,-23.68,-46.36,-23.36") @RequestParam(required = false) String bbox
+    ) {
+        return ResponseEntity.ok(adminService.getDashboardData(zoom, bbox));
     }
 
     @Operation(
@@ -174,6 +196,48 @@ public class AdminController {
         return ResponseEntity.ok(adminService.listBibliotecas(status, page, size, sortField, sortDir));
     }
 
+    @Operation(
+            summary = "Listar Bibliotecas sem Contagem (Visão Admin)",
+            description = "Mesma listagem paginada, mas sem COUNT a cada página: retorna hasNext e um total aproximado (atualizado a cada minuto). (RF-17, RF-19)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+            @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Apenas ADMIN ou MODERADOR")
+    })
+    @GetMapping("/bibliotecas/slice")
+    public ResponseEntity<SliceDTO<BibliotecaAdminDTO>> listBibliotecasSlice(
+            @Parameter(description = "Filtro opcional: ATIVO, PENDENTE ou INATIVO")
+            @RequestParam(required = false) StatusBiblioteca status,
+            @Parameter(description = "Página (0-based)") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Tamanho da página") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Campo para ordenar (ex: nomeFantasia)") @RequestParam(required = false) String sortField,
+            @Parameter(description = "Direção da ordenação: ASC ou DESC") @RequestParam(required = false) String sortDir
+    ) {
+        return ResponseEntity.ok(adminService.listBibliotecasSlice(status, page, size, sortField, sortDir));
+    }
+
+    @Operation(
+            summary = "Listar Bibliotecas por Cursor (Visão Admin)",
+            description = "Mesma listagem em ordem alfabética, paginada por cursor: envie o nextCursor da resposta anterior. Não calcula total, então páginas profundas custam o mesmo que a primeira."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou parâmetros inválidos"),
+            @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Apenas ADMIN ou MODERADOR")
+    })
+    @GetMapping("/bibliotecas/scroll")
+    public ResponseEntity<CursorPageDTO<BibliotecaAdminDTO>> listBibliotecasPorCursor(
+            @Parameter(description = "Filtro opcional: ATIVO, PENDENTE ou INATIVO")
+            @RequestParam(required = false) StatusBiblioteca status,
+            @Parameter(description = "Cursor retornado na página anterior (vazio na primeira)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(adminService.listBibliotecasPorCursor(status, cursor, size));
+    }
+
     @Operation(
             summary = "Moderar Biblioteca",
             description = "Aprova (ATIVO), Reprova (INATIVO) ou coloca em análise (PENDENTE). (RF-18, RF-20)"
@@ -4,7 +4,12 @@ import com.localibrary.dto.*;
 import com.localibrary.dto.request.AddLivroRequestDTO;
 import com.localibrary.dto.request.UpdateLivroRequestDTO;
 import com.localibrary.dto.response.BibliotecaResponseDTO;
+import com.localibrary.dto.response.CursorPageDTO;
+import com.localibrary.dto.response.ImportacaoStatusDTO;
+import com.localibrary.dto.response.MapaBibliotecasDTO;
+import com.localibrary.dto.response.SliceDTO;
 import com.localibrary.service.BibliotecaService;
+import com.localibrary.service.ImportacaoAcervoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,19 +20,27 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/bibliotecas")
 @Tag(name = "3. Bibliotecas", description = "Busca pública e gestão de perfil/acervo")
 public class BibliotecaController {
 
     private final BibliotecaService bibliotecaService;
+    private final ImportacaoAcervoService importacaoAcervoService;
 
-    public BibliotecaController(BibliotecaService bibliotecaService) {
+    public BibliotecaController(BibliotecaService bibliotecaService,
+                                ImportacaoAcervoService importacaoAcervoService) {
         this.bibliotecaService = bibliotecaService;
+        this.importacaoAcervoService = importacaoAcervoService;
     }
 
     // ============================================================
@@ -52,6 +65,73 @@ public class BibliotecaController {
         return ResponseEntity.ok(bibliotecaService.listarBibliotecasAtivas(page, size, sortField, sortDir));
     }
 
+    @Operation(
+            summary = "Mapa de Bibliotecas sem Contagem",
+            description = "Lista bibliotecas ATIVAS sem COUNT a cada página: retorna hasNext e um total aproximado (atualizado a cada minuto). (RF-04)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos")
+    })
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<BibliotecaResponseDTO>> listarBibliotecasSlice(
+            @Parameter(description = "Página (0-based)") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Tamanho da página") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Campo para ordenar (ex: nomeFantasia)") @RequestParam(required = false) String sortField,
+            @Parameter(description = "Direção da ordenação: ASC ou DESC") @RequestParam(required = false) String sortDir
+    ) {
+        return ResponseEntity.ok(bibliotecaService.listarBibliotecasAtivasSlice(page, size, sortField, sortDir));
+    }
+
+    @Operation(
+            summary = "Mapa de Bibliotecas por Cursor",
+            description = "Lista bibliotecas ATIVAS em ordem alfabética, paginada por cursor (envie o nextCursor da resposta anterior). Não calcula total."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou parâmetros inválidos")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<BibliotecaResponseDTO>> listarBibliotecasPorCursor(
+            @Parameter(description = "Cursor retornado na página anterior (vazio na primeira)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(bibliotecaService.listarBibliotecasAtivasPorCursor(cursor, size));
+    }
+
+    @Operation(
+            summary = "Bibliotecas Próximas",
+            description = "Lista bibliotecas ATIVAS num raio ao redor do usuário, da mais próxima para a mais distante, com a distância em km. Raio padrão de 3 km, máximo de 50 km."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso (pode ser vazia)"),
+            @ApiResponse(responseCode = "400", description = "Coordenadas ou raio inválidos")
+    })
+    @GetMapping("/proximas")
+    public ResponseEntity<List<BibliotecaParaLivroDTO>> listarBibliotecasProximas(
+            @Parameter(description = "Latitude do usuário", example = "-23.5505") @RequestParam Double lat,
+            @Parameter(description = "Longitude do usuário", example = "-46.6333") @RequestParam Double lon,
+            @Parameter(description = "Raio em km (padrão 3, máximo 50)", example = "3") @RequestParam(required = false) Double raioKm
+    ) {
+        return ResponseEntity.ok(bibliotecaService.buscarBibliotecasProximas(lat, lon, raioKm));
+    }
+
+    @Operation(
+            summary = "Mapa de Bibliotecas",
+            description = "Bibliotecas ATIVAS agrupadas para o mapa. Abaixo do zoom 15 retorna clusters (quantidade e posição média por célula da grade); a partir do zoom 15, os pinos individuais da área informada (bbox obrigatória, no máximo 500 pinos; truncado indica que havia mais). O tamanho da resposta depende da área visível, não do total de bibliotecas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Clusters ou pinos da área informada"),
+            @ApiResponse(responseCode = "400", description = "Zoom ou área inválidos")
+    })
+    @GetMapping("/mapa")
+    public ResponseEntity<MapaBibliotecasDTO> buscarMapa(
+            @Parameter(description = "Nível de zoom do mapa (0 a 20)", example = "12") @RequestParam Integer zoom,
+            @Parameter(description = "Área visível: oeste,sul,leste,norte (opcional abaixo do zoom 15)", example = "-46.83,-23.68,-46.36,-23.36") @RequestParam(required = false) String bbox
+    ) {
+        return ResponseEntity.ok(bibliotecaService.buscarMapa(zoom, bbox));
+    }
+
     @Operation(
             summary = "Detalhes da Biblioteca",
             description = "Exibe informações públicas (endereço, contato) de uma biblioteca. (RF-07)"
@@ -135,6 +215,48 @@ public class BibliotecaController {
         return ResponseEntity.ok(livros);
     }
 
+    @Operation(
+            summary = "Listar Meu Acervo sem Contagem",
+            description = "Lista os livros da biblioteca logada sem COUNT a cada página: retorna hasNext e um total aproximado (atualizado a cada minuto). (RF-10)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos"),
+            @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Você não pode acessar acervo de outra biblioteca (RN-01)")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id_biblioteca}/livros/slice")
+    public ResponseEntity<SliceDTO<LivroAcervoDTO>> getMyLivrosSlice(
+            @PathVariable Long id_biblioteca,
+            @Parameter(description = "Página (0-based)") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Tamanho da página") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Campo para ordenar (ex: titulo)") @RequestParam(required = false) String sortField,
+            @Parameter(description = "Direção da ordenação: ASC ou DESC") @RequestParam(required = false) String sortDir
+    ) {
+        return ResponseEntity.ok(bibliotecaService.listMyLivrosSlice(id_biblioteca, page, size, sortField, sortDir));
+    }
+
+    @Operation(
+            summary = "Listar Meu Acervo por Cursor",
+            description = "Lista os livros da biblioteca logada em ordem alfabética de título, paginada por cursor (envie o nextCursor da resposta anterior). Indicado para rolagem infinita. (RF-10)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou parâmetros inválidos"),
+            @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Você não pode acessar acervo de outra biblioteca (RN-01)")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id_biblioteca}/livros/scroll")
+    public ResponseEntity<CursorPageDTO<LivroAcervoDTO>> getMyLivrosPorCursor(
+            @PathVariable Long id_biblioteca,
+            @Parameter(description = "Cursor retornado na página anterior (vazio na primeira)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(bibliotecaService.listMyLivrosPorCursor(id_biblioteca, cursor, size));
+    }
+
     @Operation(
             summary = "✨ NOVO: Buscar Livro para Edição",
             description = "Retorna todas as informações de um livro do acervo para edição (incluindo IDs de gêneros e quantidade). (RF-NOVO)"
@@ -184,6 +306,51 @@ public class BibliotecaController {
         return new ResponseEntity<>(newLivro, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "✨ NOVO: Importar Acervo em Lote",
+            description = "Envia o catálogo inteiro no corpo da requisição: text/csv (cabeçalho com isbn, quantidade, titulo, autor, editora, anoPublicacao, capa, resumo, generosIds separados por |) ou application/x-ndjson (um objeto de Adicionar Livro por linha). A importação roda em segundo plano; acompanhe pelo id retornado. Linhas inválidas não interrompem a importação e aparecem na lista de erros."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Importação iniciada",
+                    content = @Content(schema = @Schema(implementation = ImportacaoStatusDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado, cabeçalho CSV inválido ou arquivo maior que 50 MB"),
+            @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Você não pode importar livros em outra biblioteca (RN-01)"),
+            @ApiResponse(responseCode = "409", description = "Já existe uma importação em andamento para esta biblioteca")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping(value = "/{id_biblioteca}/livros/importacao", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportacaoStatusDTO> importarAcervo(
+            @PathVariable Long id_biblioteca,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo
+    ) {
+        ImportacaoStatusDTO status = importacaoAcervoService.iniciar(id_biblioteca, contentType, corpo);
+        return new ResponseEntity<>(status, HttpStatus.ACCEPTED);
+    }
+
+    @Operation(
+            summary = "✨ NOVO: Progresso da Importação",
+            description = "Linhas processadas, importadas e com erro (com o motivo de cada uma) de uma importação em lote."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status da importação"),
+            @ApiResponse(responseCode = "401", description = "Token JWT ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Você não pode acessar importações de outra biblioteca (RN-01)"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada (ou concluída há mais de 1 hora)")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id_biblioteca}/livros/importacao/{id_importacao}")
+    public ResponseEntity<ImportacaoStatusDTO> getImportacao(
+            @PathVariable Long id_biblioteca,
+            @PathVariable String id_importacao
+    ) {
+        return ResponseEntity.ok(importacaoAcervoService.consultar(id_biblioteca, id_importacao));
+    }
+
     @Operation(
             summary = "✨ NOVO: Atualizar Livro",
             description = "Atualiza as informações de um livro do acervo (título, autor, gêneros, quantidade, etc). (RF-NOVO)"
@@ -3,7 +3,10 @@ package com.localibrary.controller;
 import com.localibrary.dto.ApiErrorDTO;
 import com.localibrary.dto.BibliotecaParaLivroDTO;
 import com.localibrary.dto.LivroDetalhesDTO;
+import com.localibrary.dto.response.CursorPageDTO;
 import com.localibrary.dto.response.LivroResponseDTO;
+import com.localibrary.dto.response.SliceDTO;
+import com.localibrary.dto.response.SugestaoLivroDTO;
 import com.localibrary.service.LivroService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -87,6 +90,124 @@ public class LivroController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(
+            summary = "Buscar por Título sem Contagem",
+            description = "Mesma busca parcial por título, sem COUNT a cada página: retorna hasNext e um total aproximado (\"cerca de N resultados\"). (RF-02)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parâmetros de busca ou paginação inválidos",
+                    content = @Content(schema = @Schema(implementation = ApiErrorDTO.class))
+            )
+    })
+    @GetMapping("/slice")
+    public ResponseEntity<SliceDTO<LivroResponseDTO>> buscarLivrosSlice(
+            @Parameter(description = "Termo de busca", required = true, example = "clean code")
+            @RequestParam String titulo,
+            @Parameter(description = "Página (0-based)", example = "0")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Tamanho da página (máximo 100)", example = "20")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Campo para ordenar", example = "titulo")
+            @RequestParam(required = false) String sortField,
+            @Parameter(description = "Direção da ordenação: ASC ou DESC", example = "ASC")
+            @RequestParam(required = false) String sortDir
+    ) {
+        return ResponseEntity.ok(livroService.buscarLivrosPorTituloSlice(titulo, page, size, sortField, sortDir));
+    }
+
+    @Operation(
+            summary = "Buscar por Título (Cursor)",
+            description = "Mesma busca parcial por título, em ordem alfabética e paginada por cursor (envie o nextCursor da resposta anterior). Não calcula total. (RF-02)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor ou parâmetros inválidos",
+                    content = @Content(schema = @Schema(implementation = ApiErrorDTO.class))
+            )
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<LivroResponseDTO>> buscarLivrosPorCursor(
+            @Parameter(description = "Termo de busca", required = true, example = "clean code")
+            @RequestParam String titulo,
+            @Parameter(description = "Cursor retornado na página anterior (vazio na primeira)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(livroService.buscarLivrosPorTituloComCursor(titulo, cursor, size));
+    }
+
+    @Operation(
+            summary = "Busca por Relevância",
+            description = "Pesquisa livros por título, autor, ISBN ou editora, ordenados por relevância (BM25). Título e ISBN pesam mais que autor e editora. Suporta paginação."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Busca realizada com sucesso. Retorna lista vazia se nenhum livro for encontrado.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Page.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parâmetros de busca ou paginação inválidos",
+                    content = @Content(schema = @Schema(implementation = ApiErrorDTO.class))
+            )
+    })
+    @GetMapping("/busca")
+    public ResponseEntity<Page<LivroResponseDTO>> buscarPorRelevancia(
+            @Parameter(description = "Texto livre: título, autor, ISBN ou editora", required = true, example = "machado de assis")
+            @RequestParam String q,
+            @Parameter(description = "Página (0-based)", example = "0")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Tamanho da página (máximo 100)", example = "20")
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(livroService.buscarLivrosPorRelevancia(q, page, size));
+    }
+
+    @Operation(
+            summary = "Autocomplete",
+            description = "Sugestões enquanto o usuário digita: livros com palavras do título ou do autor começando por cada termo informado, ordenados pelo número de bibliotecas ativas que os possuem."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sugestões retornadas com sucesso. Retorna lista vazia se o termo estiver em branco ou nada for encontrado.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = List.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo",
+                                    value = """
+                        [
+                          {
+                            "id": 1,
+                            "titulo": "Clean Code",
+                            "autor": "Robert C. Martin",
+                            "totalBibliotecas": 12
+                          }
+                        ]
+                        """
+                            )
+                    )
+            )
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SugestaoLivroDTO>> autocompletar(
+            @Parameter(description = "Texto digitado até o momento", required = true, example = "clea")
+            @RequestParam String q
+    ) {
+        return ResponseEntity.ok(livroService.autocompletar(q));
+    }
+
     @Operation(
             summary = "Livros Populares",
             description = "Retorna os Top 10 livros com maior disponibilidade no sistema (baseado no número de bibliotecas que os possuem). (RF-03)"
@@ -125,9 +246,21 @@ public class LivroController {
         return ResponseEntity.ok(livroService.buscarLivrosPopulares());
     }
 
+    @Operation(
+            summary = "Livros em Tendência",
+            description = "Retorna os Top 10 livros mais adicionados aos acervos recentemente. Cada adição perde metade do peso a cada 7 dias, então adições novas contam mais que antigas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de livros em tendência (pode ser vazia)")
+    })
+    @GetMapping("/tendencias")
+    public ResponseEntity<List<LivroResponseDTO>> buscarTendencias() {
+        return ResponseEntity.ok(livroService.buscarLivrosEmTendencia());
+    }
+
     @Operation(
             summary = "Detalhes do Livro",
-            description = "Exibe ficha técnica completa: título, autor, ISBN, resumo, gêneros literários e lista de livros similares recomendados. (RF-05)"
+            description = "Exibe ficha técnica completa: título, autor, ISBN, resumo, gêneros literários e lista de livros similares recomendados. (RF-05) Com recomendacao=acervo, os recomendados são os livros que mais aparecem junto com este nos acervos das bibliotecas."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -163,6 +296,11 @@ public class LivroController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Tipo de recomendação inválido",
+                    content = @Content(schema = @Schema(implementation = ApiErrorDTO.class))
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Livro não encontrado",
@@ -170,8 +308,12 @@ public class LivroController {
             )
     })
     @GetMapping("/{id_livro}")
-    public ResponseEntity<LivroDetalhesDTO> verDetalhesLivro(@PathVariable Long id_livro) {
-        return ResponseEntity.ok(livroService.buscarDetalhesDoLivro(id_livro));
+    public ResponseEntity<LivroDetalhesDTO> verDetalhesLivro(
+            @PathVariable Long id_livro,
+            @Parameter(description = "Critério dos livros recomendados: genero (padrão) ou acervo (livros que as mesmas bibliotecas têm)", example = "acervo")
+            @RequestParam(required = false) String recomendacao
+    ) {
+        return ResponseEntity.ok(livroService.buscarDetalhesDoLivro(id_livro, recomendacao));
     }
 
     @Operation(
@@ -182,6 +324,8 @@ public class LivroController {
             **Ordenação por Proximidade (Opcional):**
             - Se informar `lat` e `lon`, a lista será ordenada da biblioteca mais próxima para a mais distante.
             - Se NÃO informar coordenadas, retorna lista sem ordenação específica.
+            - Com `raioKm` (exige `lat`/`lon`), retorna só as bibliotecas dentro do raio.
+            - Com coordenadas, cada item traz `distanciaKm`.
             
             **Requisito:** RN-10 (Ordenação por proximidade ao usuário)
             **Endpoint:** RF-06
@@ -211,7 +355,8 @@ public class LivroController {
                               "estado": "SP"
                             },
                             "latitude": -23.5614,
-                            "longitude": -46.6560
+                            "longitude": -46.6560,
+                            "distanciaKm": 1.2
                           },
                           {
                             "id": 2,
@@ -219,13 +364,19 @@ public class LivroController {
                             "telefone": "(11) 91234-5678",
                             "endereco": {...},
                             "latitude": -23.5505,
-                            "longitude": -46.6333
+                            "longitude": -46.6333,
+                            "distanciaKm": 3.4
                           }
                         ]
                         """
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Raio informado sem coordenadas válidas, ou raio fora do limite",
+                    content = @Content(schema = @Schema(implementation = ApiErrorDTO.class))
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Livro não encontrado no sistema",
@@ -238,8 +389,12 @@ public class LivroController {
             @Parameter(description = "Latitude do usuário (para ordenação por proximidade)", example = "-23.5505")
             @RequestParam(required = false) Double lat,
             @Parameter(description = "Longitude do usuário (para ordenação por proximidade)", example = "-46.6333")
-            @RequestParam(required = false) Double lon
+            @RequestParam(required = false) Double lon,
+            @Parameter(description = "Quantidade máxima de bibliotecas (com lat/lon, as mais próximas)", example = "5")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Distância máxima em km (exige lat/lon; até 50)", example = "3")
+            @RequestParam(required = false) Double raioKm
     ) {
-        return ResponseEntity.ok(livroService.buscarBibliotecasPorLivro(id_livro, lat, lon));
+        return ResponseEntity.ok(livroService.buscarBibliotecasPorLivro(id_livro, lat, lon, limit, raioKm));
     }
 }
\ No newline at end of file
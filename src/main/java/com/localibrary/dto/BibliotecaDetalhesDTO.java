@@ -28,4 +28,19 @@ public class BibliotecaDetalhesDTO {
             this.endereco = new EnderecoDTO(b.getEndereco());
         }
     }
+
+    // ✅ NOVO: Cópia devolvida pelo cache de respostas (a original nunca sai do cache)
+    public BibliotecaDetalhesDTO(BibliotecaDetalhesDTO origem) {
+        this.id = origem.id;
+        this.nomeFantasia = origem.nomeFantasia;
+        this.razaoSocial = origem.razaoSocial;
+        this.cnpj = origem.cnpj;
+        this.telefone = origem.telefone;
+        this.categoria = origem.categoria;
+        this.site = origem.site;
+        this.fotoBiblioteca = origem.fotoBiblioteca;
+        if (origem.endereco != null) {
+            this.endereco = new EnderecoDTO(origem.endereco);
+        }
+    }
 }
\ No newline at end of file
@@ -29,4 +29,17 @@ public class BibliotecaMapaDTO {
             this.cidade = b.getEndereco().getCidade();
         }
     }
+
+    /**
+     * ✅ NOVO: Usado pela projeção JPQL (BibliotecaRepository.findParaMapa)
+     */
+    public BibliotecaMapaDTO(Long id, String nomeFantasia, StatusBiblioteca status,
+                             BigDecimal latitude, BigDecimal longitude, String cidade) {
+        this.id = id;
+        this.nomeFantasia = nomeFantasia;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.cidade = cidade;
+    }
 }
@@ -14,6 +14,33 @@ public class BibliotecaParaLivroDTO {
     private BigDecimal latitude;
     private BigDecimal longitude;
 
+    // ✅ NOVO: Distância até o usuário em km (null quando a busca não informa coordenadas)
+    private Double distanciaKm;
+
+    public BibliotecaParaLivroDTO(Biblioteca b, double distanciaKm) {
+        this(b);
+        this.distanciaKm = distanciaKm;
+    }
+
+    // ✅ NOVO: Cópia com a distância desta requisição (a original fica no cache de respostas)
+    public BibliotecaParaLivroDTO(BibliotecaParaLivroDTO origem, double distanciaKm) {
+        this(origem);
+        this.distanciaKm = distanciaKm;
+    }
+
+    // ✅ NOVO: Cópia sem alterar nada (a original fica no cache de respostas)
+    public BibliotecaParaLivroDTO(BibliotecaParaLivroDTO origem) {
+        this.id = origem.id;
+        this.nomeFantasia = origem.nomeFantasia;
+        this.telefone = origem.telefone;
+        if (origem.endereco != null) {
+            this.endereco = new EnderecoDTO(origem.endereco);
+        }
+        this.latitude = origem.latitude;
+        this.longitude = origem.longitude;
+        this.distanciaKm = origem.distanciaKm;
+    }
+
     public BibliotecaParaLivroDTO(Biblioteca b) {
         this.id = b.getId();
         this.nomeFantasia = b.getNomeFantasia();
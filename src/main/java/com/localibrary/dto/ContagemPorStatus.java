@@ -0,0 +1,9 @@
+package com.localibrary.dto;
+
+import com.localibrary.enums.StatusBiblioteca;
+
+/**
+ * ✅ NOVO: Número de bibliotecas com um status (totais do Dashboard).
+ */
+public record ContagemPorStatus(StatusBiblioteca status, Long total) {
+}
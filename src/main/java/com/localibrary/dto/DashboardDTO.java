@@ -1,5 +1,6 @@
 package com.localibrary.dto;
 
+import com.localibrary.dto.response.ClusterMapaDTO;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,7 +10,7 @@ import java.util.List;
  * ✅ CORREÇÃO RF-16: Dashboard agora inclui mapa de localização
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class DashboardDTO {
 
     private long totalBibliotecas;
@@ -18,6 +19,15 @@ public class DashboardDTO {
     private long totalLivrosCadastrados;
     private long totalExemplares;
 
-    // ✅ NOVO: Mapa de localização (RF-16)
+    // ✅ NOVO: Mapa de localização (RF-16), com bibliotecas de todos os status, no zoom e na área pedidos.
+    // Abaixo de ZOOM_PINOS vem em clustersMapa (com a quantidade por status); a partir dele, os pinos
+    // em bibliotecasMapa (no máximo MAX_PINOS_MAPA; mapaTruncado indica que a área tinha mais).
     private List<BibliotecaMapaDTO> bibliotecasMapa;
+    private List<ClusterMapaDTO> clustersMapa;
+    private int zoomMapa;
+    private boolean mapaTruncado;
+
+    // ✅ NOVO: Seções que estouraram o tempo e vieram do último Dashboard completo (vazia = tudo atual)
+    @Builder.Default
+    private List<String> secoesDesatualizadas = List.of();
 }
\ No newline at end of file
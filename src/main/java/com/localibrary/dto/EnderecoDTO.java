@@ -22,4 +22,15 @@ public class EnderecoDTO {
         this.cidade = e.getCidade();
         this.estado = e.getEstado();
     }
+
+    // ✅ NOVO: Cópia (as respostas em cache não compartilham o endereço com quem as recebe)
+    public EnderecoDTO(EnderecoDTO origem) {
+        this.cep = origem.cep;
+        this.logradouro = origem.logradouro;
+        this.numero = origem.numero;
+        this.complemento = origem.complemento;
+        this.bairro = origem.bairro;
+        this.cidade = origem.cidade;
+        this.estado = origem.estado;
+    }
 }
\ No newline at end of file
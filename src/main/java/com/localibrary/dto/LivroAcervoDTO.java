@@ -20,4 +20,16 @@ public class LivroAcervoDTO {
         this.capa = bl.getLivro().getCapa();
         this.quantidade = bl.getQuantidade();
     }
+
+    /**
+     * ✅ NOVO: Projeção das listagens do acervo (sem carregar BibliotecaLivro e Livro)
+     */
+    public LivroAcervoDTO(Long id, String titulo, String autor, String isbn, String capa, Integer quantidade) {
+        this.id = id;
+        this.titulo = titulo;
+        this.autor = autor;
+        this.isbn = isbn;
+        this.capa = capa;
+        this.quantidade = quantidade;
+    }
 }
\ No newline at end of file
@@ -87,6 +87,30 @@ public class LivroDetalhesDTO {
         this.quantidade = bl.getQuantidade();
     }
 
+    /**
+     * ✅ NOVO: Cópia devolvida pelo cache de respostas
+     * Coleções imutáveis e similares copiados: quem recebe não altera a entrada em cache.
+     */
+    public LivroDetalhesDTO(LivroDetalhesDTO origem) {
+        this.id = origem.id;
+        this.titulo = origem.titulo;
+        this.autor = origem.autor;
+        this.isbn = origem.isbn;
+        this.anoPublicacao = origem.anoPublicacao;
+        this.editora = origem.editora;
+        this.capa = origem.capa;
+        this.resumo = origem.resumo;
+        this.fotoAutor = origem.fotoAutor;
+        this.generos = origem.generos == null ? null : Set.copyOf(origem.generos);
+        this.generosIds = origem.generosIds == null ? null : Set.copyOf(origem.generosIds);
+        this.quantidade = origem.quantidade;
+        if (origem.livrosSimilares != null) {
+            this.livrosSimilares = origem.livrosSimilares.stream()
+                    .map(LivroResponseDTO::new)
+                    .toList();
+        }
+    }
+
     /**
      * Setter para adicionar livros similares (RF-05)
      * Usado apenas na visualiza��o p�blica
@@ -96,4 +120,11 @@ public class LivroDetalhesDTO {
                 .map(LivroResponseDTO::new)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * ✅ NOVO: Similares já convertidos (montados pelo índice de similaridade)
+     */
+    public void setLivrosSimilaresResumo(List<LivroResponseDTO> similares) {
+        this.livrosSimilares = similares;
+    }
 }
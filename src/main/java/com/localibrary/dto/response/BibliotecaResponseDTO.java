@@ -45,4 +45,22 @@ public class BibliotecaResponseDTO {
                 .collect(Collectors.toList())
             : new ArrayList<>();
     }
+
+    /**
+     * ✅ NOVO: Projeção das listagens (biblioteca + endereço numa linha)
+     * Os horários são preenchidos depois, com uma consulta só para a página inteira.
+     */
+    public BibliotecaResponseDTO(Long id, String nomeFantasia, BigDecimal latitude, BigDecimal longitude,
+                                 String logradouro, String numero, String bairro, String cidade, String estado) {
+        this.id = id;
+        this.nomeFantasia = nomeFantasia;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.logradouro = logradouro;
+        this.numero = numero;
+        this.bairro = bairro;
+        this.cidade = cidade;
+        this.estado = estado;
+        this.horariosFuncionamento = new ArrayList<>();
+    }
 }
\ No newline at end of file
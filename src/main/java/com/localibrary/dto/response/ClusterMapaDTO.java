@@ -0,0 +1,27 @@
+package com.localibrary.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.localibrary.enums.StatusBiblioteca;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * ✅ NOVO: Agrupamento de bibliotecas numa célula do mapa
+ * A posição é a média das coordenadas das bibliotecas da célula.
+ */
+@Data
+@AllArgsConstructor
+public class ClusterMapaDTO {
+    private double latitude;
+    private double longitude;
+    private int quantidade;
+
+    // Preenchido só quando a célula tem uma única biblioteca
+    private Long idBiblioteca;
+
+    // Só no mapa do Dashboard (todos os status); o mapa público tem apenas ativas
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<StatusBiblioteca, Integer> quantidadePorStatus;
+}
@@ -0,0 +1,38 @@
+package com.localibrary.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ✅ NOVO: Página por cursor (keyset), sem total e sem COUNT(*)
+ * O cliente repassa nextCursor para buscar a próxima página.
+ */
+@Data
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * Monta a página a partir de uma consulta que buscou size + 1 linhas:
+     * a linha extra só indica que existe próxima página e é descartada.
+     *
+     * @param linhas Resultado da consulta (até size + 1 linhas)
+     * @param size   Tamanho da página solicitado
+     * @param mapper Conversão da entidade para DTO
+     * @param cursor Cursor que aponta para depois de uma linha
+     */
+    public static <E, T> CursorPageDTO<T> de(List<E> linhas, int size, Function<E, T> mapper, Function<E, String> cursor) {
+        CursorPageDTO<T> pagina = new CursorPageDTO<>();
+        pagina.hasNext = linhas.size() > size;
+
+        List<E> conteudo = pagina.hasNext ? linhas.subList(0, size) : linhas;
+        pagina.content = conteudo.stream().map(mapper).toList();
+        pagina.size = pagina.content.size();
+        pagina.nextCursor = pagina.hasNext ? cursor.apply(conteudo.get(conteudo.size() - 1)) : null;
+        return pagina;
+    }
+}
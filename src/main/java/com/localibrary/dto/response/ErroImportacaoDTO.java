@@ -0,0 +1,15 @@
+package com.localibrary.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ✅ NOVO: Linha do arquivo de importação que não entrou no acervo
+ */
+@Data
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private long linha;
+    private String isbn;
+    private String mensagem;
+}
@@ -0,0 +1,25 @@
+package com.localibrary.dto.response;
+
+import com.localibrary.enums.StatusImportacao;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ✅ NOVO: Progresso de uma importação de acervo em lote
+ * A lista de erros é limitada a MAX_ERROS_IMPORTACAO; linhasComErro tem o total.
+ */
+@Data
+@Builder
+public class ImportacaoStatusDTO {
+    private String id;
+    private StatusImportacao status;
+    private long linhasProcessadas;
+    private long linhasImportadas;
+    private long linhasComErro;
+    private List<ErroImportacaoDTO> erros;
+    private LocalDateTime iniciadaEm;
+    private LocalDateTime concluidaEm;
+}
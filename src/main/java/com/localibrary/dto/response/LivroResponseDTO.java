@@ -1,6 +1,8 @@
 package com.localibrary.dto.response;
 
 import com.localibrary.entity.Livro;
+import com.localibrary.index.LivroIndexavel;
+import com.localibrary.util.Constants;
 import lombok.Data;
 
 @Data
@@ -9,13 +11,58 @@ public class LivroResponseDTO {
     private String titulo;
     private String autor;
     private String capa;
+    // Nas listagens, só o trecho inicial (o resumo completo fica nos detalhes do livro)
     private String resumo;
 
     public LivroResponseDTO(Livro livro) {
-        this.id = livro.getId();
-        this.titulo = livro.getTitulo();
-        this.autor = livro.getAutor();
-        this.capa = livro.getCapa();
-        this.resumo = livro.getResumo();
+        this(livro.getId(), livro.getTitulo(), livro.getAutor(), livro.getCapa(), livro.getResumo());
+    }
+
+    /**
+     * ✅ NOVO: Projeção das consultas de listagem (sem carregar a entidade)
+     * O resumo chega cortado no banco (SUBSTRING com um caractere a mais, para saber se continua).
+     */
+    public LivroResponseDTO(Long id, String titulo, String autor, String capa, String resumo) {
+        this.id = id;
+        this.titulo = titulo;
+        this.autor = autor;
+        this.capa = capa;
+        this.resumo = trecho(resumo);
+    }
+
+    /**
+     * ✅ NOVO: Card montado a partir do índice em memória (sem o resumo, que não fica em memória)
+     */
+    public LivroResponseDTO(LivroIndexavel livro) {
+        this.id = livro.id();
+        this.titulo = livro.titulo();
+        this.autor = livro.autor();
+        this.capa = livro.capa();
+    }
+
+    /**
+     * ✅ NOVO: Cópia devolvida pelo cache de respostas (o resumo já está cortado)
+     */
+    public LivroResponseDTO(LivroResponseDTO origem) {
+        this.id = origem.id;
+        this.titulo = origem.titulo;
+        this.autor = origem.autor;
+        this.capa = origem.capa;
+        this.resumo = origem.resumo;
+    }
+
+    /**
+     * Corta o resumo em TAMANHO_TRECHO_RESUMO caracteres, na última palavra inteira, com reticências.
+     */
+    private static String trecho(String resumo) {
+        if (resumo == null || resumo.length() <= Constants.TAMANHO_TRECHO_RESUMO) {
+            return resumo;
+        }
+        String corte = resumo.substring(0, Constants.TAMANHO_TRECHO_RESUMO);
+        int espaco = corte.lastIndexOf(' ');
+        if (espaco > Constants.TAMANHO_TRECHO_RESUMO / 2) {
+            corte = corte.substring(0, espaco);
+        }
+        return corte.stripTrailing() + "…";
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.localibrary.dto.response;
+
+import com.localibrary.dto.BibliotecaMapaDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * ✅ NOVO: Conteúdo do mapa público para um zoom e uma área
+ * Abaixo de ZOOM_PINOS vêm só os clusters; a partir dele, só os pinos individuais
+ * (no máximo MAX_PINOS_MAPA; truncado indica que a área tinha mais).
+ */
+@Data
+@AllArgsConstructor
+public class MapaBibliotecasDTO {
+    private int zoom;
+    private List<ClusterMapaDTO> clusters;
+    private List<BibliotecaMapaDTO> bibliotecas;
+    private boolean truncado;
+}
@@ -0,0 +1,28 @@
+package com.localibrary.dto.response;
+
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * ✅ NOVO: Página sem COUNT por requisição
+ * hasNext vem da linha extra buscada pelo Slice; totalAproximado vem do ContagemCache
+ * e pode estar defasado por alguns segundos.
+ */
+@Data
+public class SliceDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private long totalAproximado;
+
+    public SliceDTO(Slice<T> slice, long totalAproximado) {
+        this.content = slice.getContent();
+        this.page = slice.getNumber();
+        this.size = slice.getSize();
+        this.hasNext = slice.hasNext();
+        this.totalAproximado = totalAproximado;
+    }
+}
@@ -0,0 +1,22 @@
+package com.localibrary.dto.response;
+
+import com.localibrary.index.LivroIndexavel;
+import lombok.Data;
+
+/**
+ * ✅ NOVO: Sugestão do autocomplete (apenas o necessário para a lista suspensa)
+ */
+@Data
+public class SugestaoLivroDTO {
+    private Long id;
+    private String titulo;
+    private String autor;
+    private Integer totalBibliotecas;
+
+    public SugestaoLivroDTO(LivroIndexavel livro, int totalBibliotecas) {
+        this.id = livro.id();
+        this.titulo = livro.titulo();
+        this.autor = livro.autor();
+        this.totalBibliotecas = totalBibliotecas;
+    }
+}
@@ -2,6 +2,7 @@ package com.localibrary.entity;
 
 import com.localibrary.enums.RoleAdmin;
 import com.localibrary.enums.StatusAdmin;
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,7 +24,9 @@ import java.time.LocalDateTime;
 public class Admin {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_admin")
+    @TableGenerator(name = "id_admin", table = Constants.TABELA_SEQUENCIAS, pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tbl_admin", allocationSize = Constants.ALOCACAO_IDS)
     @Column(name = "id_admin")
     private Long id;
 
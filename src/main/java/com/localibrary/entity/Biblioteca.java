@@ -2,10 +2,13 @@ package com.localibrary.entity;
 
 import com.localibrary.enums.CategoriaBiblioteca;
 import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,14 +21,32 @@ import java.util.List;
  * Cada biblioteca possui um endereço único e pode ter múltiplos livros.
  */
 @Entity
-@Table(name = "tbl_biblioteca")
+@Table(name = "tbl_biblioteca", indexes = {
+        // Paginação por cursor: WHERE status = ? AND (nome_fantasia, id) > (?, ?)
+        @Index(name = "idx_biblioteca_status_nome", columnList = "status, nome_fantasia, id_biblioteca")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// ✅ NOVO: Cache de segundo nível (lida em quase toda requisição pública, muda pouco)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.REGIAO_BIBLIOTECA)
+// ✅ NOVO: Planos de carga por caso de uso (as associações são LAZY por padrão).
+// A credencial é o lado inverso de um 1:1 e não vira proxy sem bytecode enhancement: sem ela
+// no plano, cada biblioteca carregada gera um SELECT extra em tbl_credenciais_biblioteca.
+@NamedEntityGraph(name = "Biblioteca.porLivro", attributeNodes = {
+        @NamedAttributeNode("endereco"),
+        @NamedAttributeNode("credencial")
+})
+@NamedEntityGraph(name = "Biblioteca.admin", attributeNodes = {
+        @NamedAttributeNode("endereco"),
+        @NamedAttributeNode("credencial")
+})
 public class Biblioteca {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_biblioteca")
+    @TableGenerator(name = "id_biblioteca", table = Constants.TABELA_SEQUENCIAS, pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tbl_biblioteca", allocationSize = Constants.ALOCACAO_IDS)
     @Column(name = "id_biblioteca")
     private Long id;
 
@@ -56,7 +77,7 @@ public class Biblioteca {
      * Relacionamento OneToOne com Endereco
      * Cada biblioteca tem exatamente um endereço
      */
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "id_endereco", unique = true, nullable = false)
     private Endereco endereco;
 
@@ -75,12 +96,13 @@ public class Biblioteca {
      * Uma biblioteca pode ter múltiplos horários (um por dia da semana)
      */
     @OneToMany(mappedBy = "biblioteca", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.REGIAO_HORARIOS_BIBLIOTECA)
     private List<HorarioFuncionamento> horariosFuncionamento = new ArrayList<>();
 
     /**
      * Relacionamento OneToOne com CredencialBiblioteca
      */
-    @OneToOne(mappedBy = "biblioteca", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "biblioteca", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private CredencialBiblioteca credencial;
 
     @CreationTimestamp
@@ -15,20 +15,24 @@ import java.time.LocalDateTime;
  * Indica quais livros estão disponíveis em cada biblioteca e em que quantidade.
  */
 @Entity
-@Table(name = "tbl_biblioteca_livro")
+@Table(name = "tbl_biblioteca_livro", indexes = {
+        @Index(name = "idx_biblioteca_livro_created_at", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @IdClass(BibliotecaLivro.BibliotecaLivroId.class)
+// ✅ NOVO: Plano de carga da listagem/edição do acervo (livro junto, biblioteca fica como proxy)
+@NamedEntityGraph(name = "BibliotecaLivro.acervo", attributeNodes = @NamedAttributeNode("livro"))
 public class BibliotecaLivro {
 
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_biblioteca", nullable = false)
     private Biblioteca biblioteca;
 
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_livro", nullable = false)
     private Livro livro;
 
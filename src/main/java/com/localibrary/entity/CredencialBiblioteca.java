@@ -1,5 +1,6 @@
 package com.localibrary.entity;
 
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,14 +22,16 @@ import java.time.LocalDateTime;
 public class CredencialBiblioteca {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_credencial")
+    @TableGenerator(name = "id_credencial", table = Constants.TABELA_SEQUENCIAS, pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tbl_credenciais_biblioteca", allocationSize = Constants.ALOCACAO_IDS)
     @Column(name = "id_credencial")
     private Long id;
 
     /**
      * Relacionamento OneToOne com Biblioteca
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_biblioteca", nullable = false)
     private Biblioteca biblioteca;
 
@@ -1,9 +1,12 @@
 package com.localibrary.entity;
 
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,14 +18,21 @@ import java.time.LocalDateTime;
  * Cada biblioteca possui exatamente um endereço único.
  */
 @Entity
-@Table(name = "tbl_endereco")
+@Table(name = "tbl_endereco", indexes = {
+        // Pré-filtro por retângulo nas buscas por raio
+        @Index(name = "idx_endereco_lat_lon", columnList = "latitude, longitude")
+})
+// ✅ NOVO: Lido junto com a biblioteca em quase toda requisição pública
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.REGIAO_ENDERECO)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_endereco")
+    @TableGenerator(name = "id_endereco", table = Constants.TABELA_SEQUENCIAS, pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tbl_endereco", allocationSize = Constants.ALOCACAO_IDS)
     @Column(name = "id_endereco")
     private Long id;
 
@@ -60,10 +70,4 @@ public class Endereco {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
-
-    /**
-     * Relacionamento OneToOne com Biblioteca (lado inverso)
-     */
-    @OneToOne(mappedBy = "endereco", cascade = CascadeType.ALL)
-    private Biblioteca biblioteca;
 }
\ No newline at end of file
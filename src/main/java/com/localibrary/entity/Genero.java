@@ -1,9 +1,12 @@
 package com.localibrary.entity;
 
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,6 +20,8 @@ import java.util.List;
  */
 @Entity
 @Table(name = "tbl_genero")
+// ✅ NOVO: Dado de referência, nunca alterado pela API (só cadastro direto no banco)
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Constants.REGIAO_GENERO)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,10 +1,13 @@
 package com.localibrary.entity;
 
 import com.localibrary.enums.DiaSemana;
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,13 +19,16 @@ import java.time.LocalTime;
  */
 @Entity
 @Table(name = "tbl_horario_funcionamento")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.REGIAO_HORARIO)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class HorarioFuncionamento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_horario")
+    @TableGenerator(name = "id_horario", table = Constants.TABELA_SEQUENCIAS, pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tbl_horario_funcionamento", allocationSize = Constants.ALOCACAO_IDS)
     @Column(name = "id_horario")
     private Long id;
 
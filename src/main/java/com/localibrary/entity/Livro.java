@@ -1,5 +1,6 @@
 package com.localibrary.entity;
 
+import com.localibrary.util.Constants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,14 +17,23 @@ import java.util.List;
  * Um livro pode estar disponível em múltiplas bibliotecas.
  */
 @Entity
-@Table(name = "tbl_livro")
+@Table(name = "tbl_livro", indexes = {
+        // Paginação por cursor: ORDER BY titulo, id
+        @Index(name = "idx_livro_titulo", columnList = "titulo, id_livro")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// ✅ NOVO: Plano de carga dos detalhes do livro (gêneros com os nomes, numa consulta)
+@NamedEntityGraph(name = "Livro.detalhes",
+        attributeNodes = @NamedAttributeNode(value = "generos", subgraph = "generos"),
+        subgraphs = @NamedSubgraph(name = "generos", attributeNodes = @NamedAttributeNode("genero")))
 public class Livro {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_livro")
+    @TableGenerator(name = "id_livro", table = Constants.TABELA_SEQUENCIAS, pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tbl_livro", allocationSize = Constants.ALOCACAO_IDS)
     @Column(name = "id_livro")
     private Long id;
 
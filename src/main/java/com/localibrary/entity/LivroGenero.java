@@ -23,12 +23,12 @@ import java.time.LocalDateTime;
 public class LivroGenero {
 
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_livro", nullable = false)
     private Livro livro;
 
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_genero", nullable = false)
     private Genero genero;
 
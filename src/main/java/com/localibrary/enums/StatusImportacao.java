@@ -0,0 +1,14 @@
+package com.localibrary.enums;
+
+/**
+ * Enum que representa o andamento de uma importação de acervo em lote.
+ *
+ * PROCESSANDO: Arquivo sendo lido e gravado em lotes
+ * CONCLUIDA: Arquivo lido até o fim (linhas com erro ficam listadas no status)
+ * FALHOU: Importação interrompida (arquivo ilegível ou erro inesperado)
+ */
+public enum StatusImportacao {
+    PROCESSANDO,
+    CONCLUIDA,
+    FALHOU
+}
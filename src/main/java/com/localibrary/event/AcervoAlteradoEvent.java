@@ -0,0 +1,20 @@
+package com.localibrary.event;
+
+/**
+ * Publicado quando um livro entra ou sai do acervo de uma biblioteca.
+ */
+public record AcervoAlteradoEvent(Long idBiblioteca, Long idLivro, Tipo tipo) {
+
+    public enum Tipo {
+        ADICIONADO,
+        REMOVIDO
+    }
+
+    public static AcervoAlteradoEvent adicionado(Long idBiblioteca, Long idLivro) {
+        return new AcervoAlteradoEvent(idBiblioteca, idLivro, Tipo.ADICIONADO);
+    }
+
+    public static AcervoAlteradoEvent removido(Long idBiblioteca, Long idLivro) {
+        return new AcervoAlteradoEvent(idBiblioteca, idLivro, Tipo.REMOVIDO);
+    }
+}
@@ -0,0 +1,20 @@
+package com.localibrary.event;
+
+import com.localibrary.index.LivroIndexavel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publicado uma vez por lote da importação de acervo, no lugar dos eventos por linha
+ * (LivroSalvoEvent, GenerosAlteradosEvent e AcervoAlteradoEvent): cada consumidor aplica
+ * o lote inteiro de uma vez após o commit.
+ *
+ * @param livrosNovos     Livros cadastrados pelo lote
+ * @param generosPorLivro Gêneros definidos pelo lote (livros novos ou ainda sem gênero)
+ * @param idsLivro        Livros que entraram no acervo da biblioteca
+ */
+public record AcervoImportadoEvent(Long idBiblioteca, List<LivroIndexavel> livrosNovos,
+                                   Map<Long, Set<Long>> generosPorLivro, List<Long> idsLivro) {
+}
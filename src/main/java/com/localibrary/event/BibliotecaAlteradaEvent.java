@@ -0,0 +1,10 @@
+package com.localibrary.event;
+
+/**
+ * Publicado quando o status, o endereço ou a existência de uma biblioteca muda.
+ * Os consumidores recarregam o que depende da biblioteca após o commit.
+ *
+ * @param idEndereco Endereço da biblioteca (✅ NOVO: invalidação pontual do cache de segundo nível)
+ */
+public record BibliotecaAlteradaEvent(Long idBiblioteca, Long idEndereco) {
+}
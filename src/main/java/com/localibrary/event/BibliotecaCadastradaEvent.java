@@ -0,0 +1,11 @@
+package com.localibrary.event;
+
+import com.localibrary.dto.BibliotecaMapaDTO;
+
+/**
+ * Publicado quando uma biblioteca se cadastra (status PENDENTE).
+ * Só o mapa do Dashboard depende dela até a aprovação; os demais consumidores de
+ * biblioteca esperam o BibliotecaAlteradaEvent da mudança de status.
+ */
+public record BibliotecaCadastradaEvent(BibliotecaMapaDTO biblioteca) {
+}
@@ -0,0 +1,9 @@
+package com.localibrary.event;
+
+import java.util.Set;
+
+/**
+ * Publicado quando os gêneros de um livro são definidos ou substituídos.
+ */
+public record GenerosAlteradosEvent(Long idLivro, Set<Long> generosIds) {
+}
@@ -0,0 +1,10 @@
+package com.localibrary.event;
+
+import com.localibrary.index.LivroIndexavel;
+
+/**
+ * Publicado quando um livro do catálogo é criado ou tem seus dados alterados.
+ * Os índices em memória consomem o evento após o commit da transação.
+ */
+public record LivroSalvoEvent(LivroIndexavel livro) {
+}
@@ -0,0 +1,18 @@
+package com.localibrary.event;
+
+import java.util.Set;
+
+/**
+ * Publicado pelo índice de popularidade logo depois de atualizar os contadores
+ * (em memória, sem transação). Com recarga = true, todos os livros podem ter mudado.
+ */
+public record PopularidadeAlteradaEvent(Set<Long> idsLivro, boolean recarga) {
+
+    public static PopularidadeAlteradaEvent livros(Set<Long> idsLivro) {
+        return new PopularidadeAlteradaEvent(idsLivro, false);
+    }
+
+    public static PopularidadeAlteradaEvent recarregada() {
+        return new PopularidadeAlteradaEvent(Set.of(), true);
+    }
+}
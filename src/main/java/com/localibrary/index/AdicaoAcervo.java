@@ -0,0 +1,9 @@
+package com.localibrary.index;
+
+import java.time.LocalDateTime;
+
+/**
+ * Livro adicionado ao acervo de alguma biblioteca e quando (carga do índice de tendências).
+ */
+public record AdicaoAcervo(Long idLivro, LocalDateTime createdAt) {
+}
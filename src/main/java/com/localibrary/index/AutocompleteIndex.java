@@ -0,0 +1,414 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.LivroSalvoEvent;
+import com.localibrary.event.PopularidadeAlteradaEvent;
+import com.localibrary.repository.LivroRepository;
+import com.localibrary.util.Constants;
+import com.localibrary.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ NOVO: Árvore de prefixos (trie) sobre as palavras de título e autor
+ * Atende o autocomplete (GET /livros/autocomplete) sem montar Page nem ler o TEXT de resumo.
+ * <p>
+ * Palavras normalizadas pelo TextNormalizer (sem acentos e sem stopwords).
+ * Cada nó guarda os livros cujas palavras terminam nele e as melhores sugestões da subárvore
+ * (até MELHORES_POR_NO_AUTOCOMPLETE). As melhores de um nó saem dos seus próprios livros e das
+ * melhores de cada filho, então uma mudança (livro salvo ou popularidade alterada) recalcula
+ * só os nós no caminho das palavras do livro, de baixo para cima, sem percorrer subárvores.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    private final LivroRepository livroRepository;
+    private final PopularidadeIndex popularidadeIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node raiz = new Node();
+    private final Map<Long, LivroIndexavel> livros = new HashMap<>();
+    private final Map<Long, Set<String>> palavras = new HashMap<>();
+
+    private volatile boolean pronto = false;
+
+    public AutocompleteIndex(LivroRepository livroRepository, PopularidadeIndex popularidadeIndex) {
+        this.livroRepository = livroRepository;
+        this.popularidadeIndex = popularidadeIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            raiz = new Node();
+            livros.clear();
+            palavras.clear();
+            livroRepository.findAllIndexaveis().forEach(livro -> indexar(livro, false));
+            recalcular(raiz);
+            pronto = true;
+            logger.info("Índice de autocomplete carregado: {} livros", livros.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLivroSalvo(LivroSalvoEvent event) {
+        lock.writeLock().lock();
+        try {
+            indexar(event.livro(), true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.livrosNovos().forEach(livro -> indexar(livro, true));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reposiciona os livros cuja popularidade mudou nas melhores sugestões dos nós do caminho.
+     * Recebido de forma síncrona, logo depois que o PopularidadeIndex atualiza os contadores.
+     */
+    @EventListener
+    public void onPopularidadeAlterada(PopularidadeAlteradaEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!pronto) {
+                return; // A carga inicial já lê os contadores atuais
+            }
+            if (event.recarga() || event.idsLivro().size() > Constants.MAX_REORDENACOES_AUTOCOMPLETE) {
+                recalcular(raiz);
+                return;
+            }
+            for (Long idLivro : event.idsLivro()) {
+                for (String palavra : palavras.getOrDefault(idLivro, Set.of())) {
+                    recalcular(caminho(palavra));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Sugestões cujas palavras começam com cada termo digitado, das mais populares para as menos.
+     *
+     * @param consulta Texto digitado pelo usuário
+     * @param limite   Quantidade máxima de sugestões
+     */
+    public List<LivroIndexavel> sugerir(String consulta, int limite) {
+        List<String> termos = new ArrayList<>(TextNormalizer.tokens(consulta, false));
+        // Stopwords não são indexadas; sozinhas ainda valem como prefixo ("de" -> "desenvolvimento")
+        if (termos.size() > 1) {
+            termos.removeIf(TextNormalizer::isStopword);
+        }
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Parte do termo com a menor subárvore e filtra pelos demais (com um só termo,
+            // as melhores do nó já são a resposta)
+            Node menor = null;
+            for (String termo : termos) {
+                Node no = buscarNo(termo);
+                if (no == null) {
+                    return List.of();
+                }
+                if (menor == null || no.tamanho < menor.tamanho) {
+                    menor = no;
+                }
+            }
+
+            long[] ids = filtrar(menor.melhores, termos, limite);
+            // As melhores do nó não bastaram: só então percorre a subárvore (a menor entre os termos)
+            if (ids.length < limite && menor.tamanho > menor.melhores.length) {
+                ids = selecionarMelhores(filtrar(menor.coletar(), termos, Integer.MAX_VALUE), limite);
+            }
+
+            List<LivroIndexavel> sugestoes = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                sugestoes.add(livros.get(id));
+            }
+            return sugestoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * @param recalcularCaminhos false na carga inicial, que recalcula a trie inteira uma vez no final
+     */
+    private void indexar(LivroIndexavel livro, boolean recalcularCaminhos) {
+        livros.put(livro.id(), livro);
+        Set<String> novas = palavrasDoLivro(livro);
+        Set<String> anteriores = palavras.put(livro.id(), novas);
+        if (anteriores != null) {
+            for (String palavra : anteriores) {
+                percorrer(palavra, false, livro.id(), recalcularCaminhos);
+            }
+        }
+        for (String palavra : novas) {
+            percorrer(palavra, true, livro.id(), recalcularCaminhos);
+        }
+    }
+
+    /**
+     * Desce pela trie, insere/remove o livro no nó final e atualiza o tamanho de cada nó do caminho.
+     */
+    private void percorrer(String palavra, boolean inserir, long idLivro, boolean recalcularCaminho) {
+        Node[] caminho = new Node[palavra.length() + 1];
+        Node no = raiz;
+        caminho[0] = no;
+        for (int i = 0; i < palavra.length(); i++) {
+            Node proximo = no.filho(palavra.charAt(i));
+            if (proximo == null) {
+                if (!inserir) {
+                    return;
+                }
+                proximo = no.adicionarFilho(palavra.charAt(i));
+            }
+            no = proximo;
+            caminho[i + 1] = no;
+        }
+
+        int antes = no.ids.length;
+        no.ids = inserir ? Postings.inserir(no.ids, idLivro) : Postings.remover(no.ids, idLivro);
+        int delta = no.ids.length - antes;
+        for (Node n : caminho) {
+            n.tamanho += delta;
+        }
+        if (recalcularCaminho && delta != 0) {
+            recalcular(caminho);
+        }
+    }
+
+    private Node[] caminho(String palavra) {
+        Node[] caminho = new Node[palavra.length() + 1];
+        Node no = raiz;
+        caminho[0] = no;
+        for (int i = 0; i < palavra.length() && no != null; i++) {
+            no = no.filho(palavra.charAt(i));
+            caminho[i + 1] = no;
+        }
+        return no == null ? new Node[0] : caminho;
+    }
+
+    /**
+     * Recalcula as melhores sugestões do nó mais fundo até a raiz (cada nó depende dos filhos).
+     */
+    private void recalcular(Node[] caminho) {
+        for (int i = caminho.length - 1; i >= 0; i--) {
+            caminho[i].recalcularMelhores(popularidadeIndex);
+        }
+    }
+
+    /**
+     * Recalcula a subárvore inteira em pós-ordem (carga inicial e recarga da popularidade).
+     */
+    private void recalcular(Node no) {
+        for (Node filho : no.filhos) {
+            recalcular(filho);
+        }
+        no.recalcularMelhores(popularidadeIndex);
+    }
+
+    /**
+     * Mantém a ordem dos candidatos e só os livros com alguma palavra começando por cada termo.
+     */
+    private long[] filtrar(long[] candidatos, List<String> termos, int limite) {
+        long[] saida = new long[Math.min(candidatos.length, limite)];
+        int n = 0;
+        for (int i = 0; i < candidatos.length && n < saida.length; i++) {
+            if (contemTodos(palavras.get(candidatos[i]), termos)) {
+                saida[n++] = candidatos[i];
+            }
+        }
+        return n == saida.length ? saida : Arrays.copyOf(saida, n);
+    }
+
+    private static boolean contemTodos(Set<String> palavrasDoLivro, List<String> termos) {
+        for (String termo : termos) {
+            boolean encontrado = false;
+            for (String palavra : palavrasDoLivro) {
+                if (palavra.startsWith(termo)) {
+                    encontrado = true;
+                    break;
+                }
+            }
+            if (!encontrado) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Node buscarNo(String prefixo) {
+        Node no = raiz;
+        for (int i = 0; i < prefixo.length() && no != null; i++) {
+            no = no.filho(prefixo.charAt(i));
+        }
+        return no;
+    }
+
+    /**
+     * Seleção top-k com heap limitado: mais popular primeiro, menor ID no empate.
+     */
+    private long[] selecionarMelhores(long[] candidatos, int limite) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(limite + 1, (a, b) ->
+                a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(b[0], a[0]));
+
+        for (long id : candidatos) {
+            heap.offer(new long[]{id, popularidadeIndex.getTotal(id)});
+            if (heap.size() > limite) {
+                heap.poll();
+            }
+        }
+
+        long[] melhores = new long[heap.size()];
+        for (int i = melhores.length - 1; i >= 0; i--) {
+            melhores[i] = heap.poll()[0];
+        }
+        return melhores;
+    }
+
+    private static Set<String> palavrasDoLivro(LivroIndexavel livro) {
+        Set<String> palavras = TextNormalizer.tokens(livro.titulo(), true);
+        palavras.addAll(TextNormalizer.tokens(livro.autor(), true));
+        return palavras;
+    }
+
+    /**
+     * Nó da trie com filhos em arrays paralelos ordenados (chars primitivos, sem Map por nó).
+     */
+    private static final class Node {
+
+        private char[] chaves = new char[0];
+        private Node[] filhos = new Node[0];
+        private long[] ids = Postings.VAZIO;
+
+        // Melhores sugestões da subárvore (mais popular primeiro) e entradas (palavra, livro) nela
+        private long[] melhores = Postings.VAZIO;
+        private int tamanho;
+
+        Node filho(char c) {
+            int pos = Arrays.binarySearch(chaves, c);
+            return pos >= 0 ? filhos[pos] : null;
+        }
+
+        Node adicionarFilho(char c) {
+            int ponto = -Arrays.binarySearch(chaves, c) - 1;
+            char[] novasChaves = new char[chaves.length + 1];
+            Node[] novosFilhos = new Node[filhos.length + 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, ponto);
+            System.arraycopy(filhos, 0, novosFilhos, 0, ponto);
+            novasChaves[ponto] = c;
+            novosFilhos[ponto] = new Node();
+            System.arraycopy(chaves, ponto, novasChaves, ponto + 1, chaves.length - ponto);
+            System.arraycopy(filhos, ponto, novosFilhos, ponto + 1, filhos.length - ponto);
+            chaves = novasChaves;
+            filhos = novosFilhos;
+            return novosFilhos[ponto];
+        }
+
+        /**
+         * Top-k dos próprios livros e das melhores de cada filho (mais popular primeiro, menor ID
+         * no empate). O array nunca é alterado depois de publicado; nós sem livros e com um só
+         * filho compartilham o array do filho.
+         */
+        void recalcularMelhores(PopularidadeIndex popularidade) {
+            if (ids.length == 0 && filhos.length == 1) {
+                melhores = filhos[0].melhores;
+                return;
+            }
+            long[] selecionados = new long[Constants.MELHORES_POR_NO_AUTOCOMPLETE];
+            int[] totais = new int[selecionados.length];
+            int n = 0;
+            for (long id : ids) {
+                n = oferecer(selecionados, totais, n, id, popularidade.getTotal(id));
+            }
+            for (Node filho : filhos) {
+                for (long id : filho.melhores) {
+                    n = oferecer(selecionados, totais, n, id, popularidade.getTotal(id));
+                }
+            }
+            melhores = n == selecionados.length ? selecionados : Arrays.copyOf(selecionados, n);
+        }
+
+        /**
+         * Inserção ordenada num array de tamanho fixo; descarta o pior quando está cheio.
+         * Um livro repetido (mesmo ID e total) ficaria logo antes da posição e é ignorado.
+         */
+        private static int oferecer(long[] selecionados, int[] totais, int n, long id, int total) {
+            int pos = n;
+            while (pos > 0 && (totais[pos - 1] < total
+                    || (totais[pos - 1] == total && selecionados[pos - 1] > id))) {
+                pos--;
+            }
+            if ((pos > 0 && selecionados[pos - 1] == id) || pos == selecionados.length) {
+                return n;
+            }
+            int fim = Math.min(n, selecionados.length - 1);
+            System.arraycopy(selecionados, pos, selecionados, pos + 1, fim - pos);
+            System.arraycopy(totais, pos, totais, pos + 1, fim - pos);
+            selecionados[pos] = id;
+            totais[pos] = total;
+            return Math.min(n + 1, selecionados.length);
+        }
+
+        /**
+         * Todos os livros da subárvore, ordenados e sem repetição.
+         */
+        long[] coletar() {
+            List<long[]> partes = new ArrayList<>();
+            coletar(this, partes);
+            return Arrays.stream(partes.toArray(long[][]::new))
+                    .flatMapToLong(Arrays::stream)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+        }
+
+        private static void coletar(Node no, List<long[]> partes) {
+            if (no.ids.length > 0) {
+                partes.add(no.ids);
+            }
+            for (Node filho : no.filhos) {
+                coletar(filho, partes);
+            }
+        }
+    }
+}
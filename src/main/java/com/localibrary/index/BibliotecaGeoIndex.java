@@ -0,0 +1,297 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.repository.BibliotecaLivroRepository;
+import com.localibrary.repository.BibliotecaRepository;
+import com.localibrary.util.Constants;
+import com.localibrary.util.DistanceCalculator;
+import com.localibrary.util.SelecaoMenores;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ NOVO: Índice espacial das bibliotecas ATIVAS (grade uniforme de células lat/lon)
+ * Junto com o acervo de cada livro em memória, responde "as k bibliotecas mais próximas
+ * que têm o livro X" visitando só as células ao redor do usuário.
+ * <p>
+ * A grade é imutável e trocada inteira quando uma biblioteca muda (evento raro);
+ * o acervo é atualizado incrementalmente pelos eventos de acervo.
+ * <p>
+ * O ranking usa a distância aproximada (equirretangular) em lote por célula;
+ * Haversine só é calculado para as k selecionadas, que são as exibidas.
+ */
+@Component
+public class BibliotecaGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BibliotecaGeoIndex.class);
+
+    // Km por grau de latitude (raio médio da Terra)
+    private static final double KM_POR_GRAU = 111.195;
+
+    // Livros com poucas bibliotecas: mais barato medir todas do que percorrer a grade
+    private static final int LIMIAR_VARREDURA = 64;
+
+    private final BibliotecaRepository bibliotecaRepository;
+    private final BibliotecaLivroRepository bibliotecaLivroRepository;
+
+    private volatile Grade grade = Grade.VAZIA;
+
+    // Livro -> IDs ordenados das bibliotecas que o possuem (arrays trocados, nunca alterados)
+    private final Map<Long, long[]> posses = new ConcurrentHashMap<>();
+
+    private volatile boolean pronto = false;
+
+    public BibliotecaGeoIndex(BibliotecaRepository bibliotecaRepository,
+                              BibliotecaLivroRepository bibliotecaLivroRepository) {
+        this.bibliotecaRepository = bibliotecaRepository;
+        this.bibliotecaLivroRepository = bibliotecaLivroRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        carregarGrade();
+
+        Map<Long, List<Long>> agrupadas = new HashMap<>();
+        for (Posse posse : bibliotecaLivroRepository.findAllPosses()) {
+            agrupadas.computeIfAbsent(posse.idLivro(), k -> new ArrayList<>()).add(posse.idBiblioteca());
+        }
+        posses.clear();
+        agrupadas.forEach((idLivro, ids) ->
+                posses.put(idLivro, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+
+        pronto = true;
+        logger.info("Índice espacial carregado: {} bibliotecas, acervo de {} livros", grade.ids.length, posses.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoAlterado(AcervoAlteradoEvent event) {
+        ajustarPosse(event.idLivro(), event.idBiblioteca(), event.tipo() == AcervoAlteradoEvent.Tipo.ADICIONADO);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        for (Long idLivro : event.idsLivro()) {
+            ajustarPosse(idLivro, event.idBiblioteca(), true);
+        }
+    }
+
+    /**
+     * Status e endereço mudam raramente: reconstrói só a grade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBibliotecaAlterada(BibliotecaAlteradaEvent event) {
+        carregarGrade();
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * As k bibliotecas ativas mais próximas que possuem o livro, da mais próxima para a mais distante.
+     *
+     * @param idLivro   Livro procurado
+     * @param lat       Latitude do usuário
+     * @param lon       Longitude do usuário
+     * @param k         Quantidade máxima de bibliotecas
+     * @param raioMaxKm Distância máxima (Double.POSITIVE_INFINITY para sem limite)
+     */
+    public List<BibliotecaProxima> maisProximas(Long idLivro, double lat, double lon, int k, double raioMaxKm) {
+        Grade g = grade;
+        long[] donas = posses.getOrDefault(idLivro, Postings.VAZIO);
+        if (donas.length == 0 || k <= 0 || g.ids.length == 0) {
+            return List.of();
+        }
+
+        SelecaoMenores selecao = new SelecaoMenores(Math.min(k, donas.length));
+        double cosLat = DistanceCalculator.cosLatitude(lat);
+        // Folga do raio: o filtro exato é refeito sobre as selecionadas
+        double raioAproximado = raioMaxKm * (1 + DistanceCalculator.APPROXIMATION_MAX_ERROR);
+
+        if (donas.length <= LIMIAR_VARREDURA) {
+            for (long id : donas) {
+                Integer pos = g.posicoes.get(id);
+                if (pos != null) {
+                    double distancia = DistanceCalculator.approximateDistance(
+                            lat, lon, cosLat, g.coordenadas[2 * pos], g.coordenadas[2 * pos + 1]);
+                    if (distancia <= raioAproximado) {
+                        selecao.oferecer(id, distancia);
+                    }
+                }
+            }
+            return ordenadas(g, selecao, lat, lon, raioMaxKm);
+        }
+
+        // Anéis de células ao redor do usuário, recortados à extensão da grade. Um anel r está a pelo menos
+        // (r - 1) células de distância; 2% de folga cobrem a variação de cos(lat) dentro da grade
+        // e o erro da distância aproximada.
+        int linha0 = celula(lat);
+        int coluna0 = celula(lon);
+        double celulaKm = Constants.TAMANHO_CELULA_GRAUS * KM_POR_GRAU
+                * Math.min(1.0, Math.cos(Math.toRadians(lat))) * 0.98;
+        int raioMinimo = Math.max(foraDaFaixa(linha0, g.linhaMin, g.linhaMax), foraDaFaixa(coluna0, g.colunaMin, g.colunaMax));
+        double[] distancias = new double[g.maiorCelula];
+        int raioMaximo = Math.max(
+                Math.max(Math.abs(linha0 - g.linhaMin), Math.abs(linha0 - g.linhaMax)),
+                Math.max(Math.abs(coluna0 - g.colunaMin), Math.abs(coluna0 - g.colunaMax)));
+
+        for (int r = raioMinimo; r <= raioMaximo; r++) {
+            double limiteInferior = Math.max(0, r - 1) * celulaKm;
+            if (limiteInferior > raioAproximado || (selecao.cheia() && selecao.pior() <= limiteInferior)) {
+                break;
+            }
+            int colunaIni = Math.max(coluna0 - r, g.colunaMin);
+            int colunaFim = Math.min(coluna0 + r, g.colunaMax);
+            for (int linha = Math.max(linha0 - r, g.linhaMin); linha <= Math.min(linha0 + r, g.linhaMax); linha++) {
+                if (Math.abs(linha - linha0) == r) {
+                    // Linha de borda do anel: todas as colunas
+                    for (int coluna = colunaIni; coluna <= colunaFim; coluna++) {
+                        visitar(g, linha, coluna, donas, lat, lon, cosLat, raioAproximado, distancias, selecao);
+                    }
+                } else {
+                    // Linha interna: só as duas colunas laterais
+                    if (coluna0 - r >= g.colunaMin) {
+                        visitar(g, linha, coluna0 - r, donas, lat, lon, cosLat, raioAproximado, distancias, selecao);
+                    }
+                    if (r > 0 && coluna0 + r <= g.colunaMax) {
+                        visitar(g, linha, coluna0 + r, donas, lat, lon, cosLat, raioAproximado, distancias, selecao);
+                    }
+                }
+            }
+        }
+        return ordenadas(g, selecao, lat, lon, raioMaxKm);
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private void ajustarPosse(Long idLivro, Long idBiblioteca, boolean adicionado) {
+        posses.compute(idLivro, (id, atuais) -> {
+            long[] ids = atuais != null ? atuais : Postings.VAZIO;
+            ids = adicionado ? Postings.inserir(ids, idBiblioteca) : Postings.remover(ids, idBiblioteca);
+            return ids.length > 0 ? ids : null;
+        });
+    }
+
+    private void carregarGrade() {
+        List<BibliotecaLocalizada> bibliotecas = bibliotecaRepository.findLocalizacoesAtivas();
+        int n = bibliotecas.size();
+
+        // Ordena pela célula para que cada célula ocupe um trecho contínuo dos arrays
+        long[] celulaDe = new long[n];
+        Integer[] ordem = new Integer[n];
+        int linhaMin = Integer.MAX_VALUE, linhaMax = Integer.MIN_VALUE;
+        int colunaMin = Integer.MAX_VALUE, colunaMax = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            BibliotecaLocalizada b = bibliotecas.get(i);
+            int linha = celula(b.latitude().doubleValue());
+            int coluna = celula(b.longitude().doubleValue());
+            celulaDe[i] = chave(linha, coluna);
+            ordem[i] = i;
+            linhaMin = Math.min(linhaMin, linha);
+            linhaMax = Math.max(linhaMax, linha);
+            colunaMin = Math.min(colunaMin, coluna);
+            colunaMax = Math.max(colunaMax, coluna);
+        }
+        Arrays.sort(ordem, (a, b) -> Long.compare(celulaDe[a], celulaDe[b]));
+
+        long[] ids = new long[n];
+        double[] coordenadas = new double[2 * n];
+        Map<Long, Integer> posicoes = new HashMap<>(n * 2);
+        Map<Long, int[]> celulas = new HashMap<>();
+        int maiorCelula = 0;
+
+        for (int pos = 0; pos < n; pos++) {
+            BibliotecaLocalizada b = bibliotecas.get(ordem[pos]);
+            ids[pos] = b.id();
+            coordenadas[2 * pos] = b.latitude().doubleValue();
+            coordenadas[2 * pos + 1] = b.longitude().doubleValue();
+            posicoes.put(b.id(), pos);
+
+            int[] faixa = celulas.computeIfAbsent(celulaDe[ordem[pos]], c -> new int[]{ids.length, 0});
+            faixa[0] = Math.min(faixa[0], pos);
+            faixa[1] = pos + 1;
+            maiorCelula = Math.max(maiorCelula, faixa[1] - faixa[0]);
+        }
+
+        grade = new Grade(ids, coordenadas, posicoes, celulas, maiorCelula, linhaMin, linhaMax, colunaMin, colunaMax);
+    }
+
+    /**
+     * Distâncias aproximadas de toda a célula num laço só; as que possuem o livro vão para a seleção.
+     */
+    private static void visitar(Grade g, int linha, int coluna, long[] donas, double lat, double lon, double cosLat,
+                                double raioKm, double[] distancias, SelecaoMenores selecao) {
+        int[] faixa = g.celulas.get(chave(linha, coluna));
+        if (faixa == null) {
+            return;
+        }
+        DistanceCalculator.approximateDistances(lat, lon, cosLat, g.coordenadas, faixa[0], faixa[1], distancias);
+        for (int pos = faixa[0]; pos < faixa[1]; pos++) {
+            double distancia = distancias[pos - faixa[0]];
+            if (distancia <= raioKm && Arrays.binarySearch(donas, g.ids[pos]) >= 0) {
+                selecao.oferecer(g.ids[pos], distancia);
+            }
+        }
+    }
+
+    /**
+     * Distância exata (Haversine) só para as selecionadas, reordenadas por ela e filtradas pelo raio real.
+     */
+    private static List<BibliotecaProxima> ordenadas(Grade g, SelecaoMenores selecao,
+                                                     double lat, double lon, double raioMaxKm) {
+        List<BibliotecaProxima> saida = new ArrayList<>(selecao.tamanho());
+        for (int i = 0; i < selecao.tamanho(); i++) {
+            int pos = g.posicoes.get(selecao.id(i));
+            double distancia = DistanceCalculator.calculateDistance(
+                    lat, lon, g.coordenadas[2 * pos], g.coordenadas[2 * pos + 1]);
+            if (distancia <= raioMaxKm) {
+                saida.add(new BibliotecaProxima(selecao.id(i), distancia));
+            }
+        }
+        saida.sort(Comparator.comparingDouble(BibliotecaProxima::distanciaKm));
+        return saida;
+    }
+
+    /**
+     * Quantas células o valor está fora do intervalo [min, max] (0 se estiver dentro).
+     */
+    private static int foraDaFaixa(int valor, int min, int max) {
+        return valor < min ? min - valor : Math.max(0, valor - max);
+    }
+
+    private static int celula(double graus) {
+        return (int) Math.floor(graus / Constants.TAMANHO_CELULA_GRAUS);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Snapshot imutável da grade: pares lat/lon intercalados, ordenados por célula;
+     * cada célula aponta para o seu trecho [início, fim) nos arrays.
+     */
+    private record Grade(long[] ids, double[] coordenadas,
+                         Map<Long, Integer> posicoes, Map<Long, int[]> celulas, int maiorCelula,
+                         int linhaMin, int linhaMax, int colunaMin, int colunaMax) {
+
+        static final Grade VAZIA = new Grade(Postings.VAZIO, new double[0],
+                Map.of(), Map.of(), 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.localibrary.index;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção mínima de uma biblioteca ativa para o índice espacial.
+ */
+public record BibliotecaLocalizada(Long id, BigDecimal latitude, BigDecimal longitude) {
+}
@@ -0,0 +1,7 @@
+package com.localibrary.index;
+
+/**
+ * Biblioteca encontrada pelo índice espacial e sua distância até o usuário.
+ */
+public record BibliotecaProxima(Long idBiblioteca, double distanciaKm) {
+}
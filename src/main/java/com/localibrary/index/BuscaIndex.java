@@ -0,0 +1,281 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.LivroSalvoEvent;
+import com.localibrary.repository.LivroRepository;
+import com.localibrary.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * ✅ NOVO: Busca por relevância em título, autor, ISBN e editora (BM25)
+ * Cada campo tem seu próprio índice invertido (termo -> IDs + frequência) e um peso;
+ * a nota final é a soma ponderada do BM25 de cada campo.
+ */
+@Component
+public class BuscaIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaIndex.class);
+
+    // Parâmetros clássicos do BM25: saturação da frequência e normalização pelo tamanho do campo
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final LivroRepository livroRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Campo[] campos = {
+            new Campo(3.0, l -> TextNormalizer.termos(l.titulo(), true), q -> TextNormalizer.termos(q, true)),
+            new Campo(2.0, l -> TextNormalizer.termos(l.autor(), true), q -> TextNormalizer.termos(q, true)),
+            new Campo(5.0, l -> chaveIsbn(l.isbn()), BuscaIndex::chaveIsbn),
+            new Campo(1.0, l -> TextNormalizer.termos(l.editora(), true), q -> TextNormalizer.termos(q, true))
+    };
+
+    private final Map<Long, LivroIndexavel> livros = new HashMap<>();
+
+    private volatile boolean pronto = false;
+
+    public BuscaIndex(LivroRepository livroRepository) {
+        this.livroRepository = livroRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            livros.clear();
+            for (Campo campo : campos) {
+                campo.limpar();
+            }
+            livroRepository.findAllIndexaveis().forEach(this::indexar);
+            pronto = true;
+            logger.info("Índice de busca carregado: {} livros", livros.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLivroSalvo(LivroSalvoEvent event) {
+        lock.writeLock().lock();
+        try {
+            indexar(event.livro());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.livrosNovos().forEach(this::indexar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Livros que contêm ao menos um termo da consulta, do mais relevante para o menos.
+     * Só os (offset + limite) melhores são selecionados; o restante nunca é ordenado.
+     *
+     * @param consulta Texto livre (título, autor, ISBN ou editora)
+     * @param offset   Posição do primeiro resultado da página
+     * @param limite   Tamanho da página
+     */
+    public ResultadoBusca buscar(String consulta, int offset, int limite) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> notas = new HashMap<>();
+            for (Campo campo : campos) {
+                campo.pontuar(consulta, notas);
+            }
+
+            int k = offset + limite;
+            PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Math.min(k, notas.size()) + 1,
+                    (a, b) -> !a.getValue().equals(b.getValue())
+                            ? Double.compare(a.getValue(), b.getValue())
+                            : Long.compare(b.getKey(), a.getKey()));
+
+            for (Map.Entry<Long, Double> nota : notas.entrySet()) {
+                heap.offer(nota);
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+
+            // O heap sai do pior para o melhor: preenche de trás para frente e descarta o que vem antes do offset
+            long[] melhores = new long[heap.size()];
+            for (int i = melhores.length - 1; i >= 0; i--) {
+                melhores[i] = heap.poll().getKey();
+            }
+            long[] pagina = offset < melhores.length
+                    ? Arrays.copyOfRange(melhores, offset, melhores.length)
+                    : Postings.VAZIO;
+
+            return new ResultadoBusca(pagina, notas.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private void indexar(LivroIndexavel livro) {
+        LivroIndexavel anterior = livros.put(livro.id(), livro);
+        for (Campo campo : campos) {
+            if (anterior != null) {
+                campo.remover(anterior);
+            }
+            campo.adicionar(livro);
+        }
+    }
+
+    /**
+     * ISBN só com dígitos (aceita a consulta com hífens ou espaços)
+     */
+    private static List<String> chaveIsbn(String texto) {
+        String digitos = texto == null ? "" : texto.replaceAll("[^0-9]", "");
+        return digitos.isEmpty() ? List.of() : List.of(digitos);
+    }
+
+    /**
+     * Índice invertido de um campo: termo -> postings com a frequência do termo em cada livro.
+     */
+    private static final class Campo {
+
+        private final double peso;
+        private final Function<LivroIndexavel, List<String>> analisadorLivro;
+        private final Function<String, List<String>> analisadorConsulta;
+
+        private final Map<String, Postagem> termos = new HashMap<>();
+        private final Map<Long, Integer> comprimentos = new HashMap<>();
+        private long somaComprimentos = 0;
+
+        Campo(double peso,
+              Function<LivroIndexavel, List<String>> analisadorLivro,
+              Function<String, List<String>> analisadorConsulta) {
+            this.peso = peso;
+            this.analisadorLivro = analisadorLivro;
+            this.analisadorConsulta = analisadorConsulta;
+        }
+
+        void limpar() {
+            termos.clear();
+            comprimentos.clear();
+            somaComprimentos = 0;
+        }
+
+        void adicionar(LivroIndexavel livro) {
+            List<String> lista = analisadorLivro.apply(livro);
+            if (lista.isEmpty()) {
+                return;
+            }
+            Map<String, Integer> frequencias = new HashMap<>();
+            lista.forEach(t -> frequencias.merge(t, 1, Integer::sum));
+            frequencias.forEach((termo, tf) ->
+                    termos.computeIfAbsent(termo, t -> new Postagem()).colocar(livro.id(), tf));
+
+            comprimentos.put(livro.id(), lista.size());
+            somaComprimentos += lista.size();
+        }
+
+        void remover(LivroIndexavel livro) {
+            Integer comprimento = comprimentos.remove(livro.id());
+            if (comprimento == null) {
+                return;
+            }
+            somaComprimentos -= comprimento;
+            for (String termo : new LinkedHashSet<>(analisadorLivro.apply(livro))) {
+                Postagem postagem = termos.get(termo);
+                if (postagem != null && postagem.retirar(livro.id())) {
+                    termos.remove(termo);
+                }
+            }
+        }
+
+        void pontuar(String consulta, Map<Long, Double> notas) {
+            int n = comprimentos.size();
+            if (n == 0) {
+                return;
+            }
+            double media = (double) somaComprimentos / n;
+
+            for (String termo : new LinkedHashSet<>(analisadorConsulta.apply(consulta))) {
+                Postagem postagem = termos.get(termo);
+                if (postagem == null) {
+                    continue;
+                }
+                int df = postagem.ids.length;
+                double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+                for (int i = 0; i < postagem.ids.length; i++) {
+                    long id = postagem.ids[i];
+                    int tf = postagem.tfs[i];
+                    double normalizacao = K1 * (1 - B + B * comprimentos.get(id) / media);
+                    double nota = peso * idf * (tf * (K1 + 1)) / (tf + normalizacao);
+                    notas.merge(id, nota, Double::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * IDs ordenados e frequências em arrays paralelos.
+     */
+    private static final class Postagem {
+
+        private long[] ids = Postings.VAZIO;
+        private int[] tfs = new int[0];
+
+        void colocar(long id, int tf) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) {
+                tfs[pos] = tf;
+                return;
+            }
+            int ponto = -pos - 1;
+            ids = Postings.inserir(ids, id);
+            int[] novos = new int[tfs.length + 1];
+            System.arraycopy(tfs, 0, novos, 0, ponto);
+            novos[ponto] = tf;
+            System.arraycopy(tfs, ponto, novos, ponto + 1, tfs.length - ponto);
+            tfs = novos;
+        }
+
+        /**
+         * @return true se a postagem ficou vazia
+         */
+        boolean retirar(long id) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) {
+                ids = Postings.remover(ids, id);
+                int[] novos = new int[tfs.length - 1];
+                System.arraycopy(tfs, 0, novos, 0, pos);
+                System.arraycopy(tfs, pos + 1, novos, pos, tfs.length - pos - 1);
+                tfs = novos;
+            }
+            return ids.length == 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.localibrary.index;
+
+/**
+ * Resultado de agregações por livro (ex: número de bibliotecas ativas que o possuem).
+ */
+public record ContagemPorLivro(Long idLivro, Long total) {
+}
@@ -0,0 +1,7 @@
+package com.localibrary.index;
+
+/**
+ * Par (livro, gênero) de tbl_livro_genero (carga do índice de similaridade).
+ */
+public record GeneroDoLivro(Long idLivro, Long idGenero) {
+}
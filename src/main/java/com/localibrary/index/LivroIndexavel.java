@@ -0,0 +1,16 @@
+package com.localibrary.index;
+
+import com.localibrary.entity.Livro;
+
+/**
+ * Campos do livro usados pelos índices em memória.
+ * Carregado via projeção (sem o TEXT de resumo) e propagado nos eventos de escrita.
+ * A capa permite montar os cards de recomendação sem voltar ao banco.
+ */
+public record LivroIndexavel(Long id, String titulo, String autor, String isbn, String editora, String capa) {
+
+    public static LivroIndexavel de(Livro livro) {
+        return new LivroIndexavel(livro.getId(), livro.getTitulo(), livro.getAutor(), livro.getIsbn(), livro.getEditora(),
+                livro.getCapa());
+    }
+}
@@ -0,0 +1,267 @@
+package com.localibrary.index;
+
+import com.localibrary.dto.BibliotecaMapaDTO;
+import com.localibrary.dto.response.ClusterMapaDTO;
+import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.event.BibliotecaCadastradaEvent;
+import com.localibrary.repository.BibliotecaRepository;
+import com.localibrary.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ NOVO: Clusters do mapa público e do mapa do Dashboard, pré-calculados por nível de zoom
+ * Para cada zoom abaixo de ZOOM_PINOS, as bibliotecas são agrupadas numa grade de
+ * (2^zoom × CELULAS_POR_TILE) células por volta do globo; cada célula guarda quantidade
+ * (total e por status) e posição média. A consulta só percorre as células da área visível,
+ * então a resposta tem tamanho limitado pela tela, não pelo número de bibliotecas.
+ * <p>
+ * São duas camadas: a pública, só com as bibliotecas ativas, e a do Dashboard, com todos os
+ * status (moderadores acompanham as pendentes e as inativas no mapa).
+ * A partir de ZOOM_PINOS saem os pinos individuais (bibliotecas ordenadas por latitude).
+ * Tudo é imutável e trocado inteiro quando uma biblioteca muda ou se cadastra (eventos raros).
+ */
+@Component
+public class MapaIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapaIndex.class);
+
+    private static final StatusBiblioteca[] STATUS = StatusBiblioteca.values();
+
+    private final BibliotecaRepository bibliotecaRepository;
+
+    private volatile Mapa publico = Mapa.VAZIO;
+    private volatile Mapa todos = Mapa.VAZIO;
+    private volatile boolean pronto = false;
+
+    public MapaIndex(BibliotecaRepository bibliotecaRepository) {
+        this.bibliotecaRepository = bibliotecaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        publicar(bibliotecaRepository.findParaMapa());
+        pronto = true;
+        logger.info("Índice do mapa carregado: {} bibliotecas ({} ativas), {} células no zoom {}",
+                todos.bibliotecas.size(), publico.bibliotecas.size(),
+                todos.niveis[Constants.ZOOM_PINOS - 1].linhas.length, Constants.ZOOM_PINOS - 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBibliotecaAlterada(BibliotecaAlteradaEvent event) {
+        carregar();
+    }
+
+    /**
+     * Cadastro: a biblioteca nova (pendente) entra só no mapa do Dashboard, sem ir ao banco.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBibliotecaCadastrada(BibliotecaCadastradaEvent event) {
+        BibliotecaMapaDTO nova = event.biblioteca();
+        if (!pronto || nova.getLatitude() == null || nova.getLongitude() == null) {
+            return;
+        }
+        List<BibliotecaMapaDTO> bibliotecas = new ArrayList<>(todos.bibliotecas);
+        bibliotecas.add(nova);
+        publicar(bibliotecas);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Clusters do zoom (menor que ZOOM_PINOS) dentro do retângulo informado.
+     *
+     * @param todosOsStatus false = mapa público (só ativas); true = Dashboard, com a quantidade por status
+     */
+    public List<ClusterMapaDTO> clusters(int zoom, double sul, double oeste, double norte, double leste,
+                                         boolean todosOsStatus) {
+        Nivel nivel = (todosOsStatus ? todos : publico).niveis[zoom];
+        double tamanho = tamanhoCelula(zoom);
+        int linhaMin = (int) Math.floor(sul / tamanho);
+        int linhaMax = (int) Math.floor(norte / tamanho);
+        int colunaMin = (int) Math.floor(oeste / tamanho);
+        int colunaMax = (int) Math.floor(leste / tamanho);
+
+        List<ClusterMapaDTO> saida = new ArrayList<>();
+        for (int i = primeiraLinha(nivel.linhas, linhaMin); i < nivel.linhas.length && nivel.linhas[i] <= linhaMax; i++) {
+            if (nivel.colunas[i] < colunaMin || nivel.colunas[i] > colunaMax) {
+                continue;
+            }
+            Long unica = nivel.quantidades[i] == 1 ? nivel.idUnico[i] : null;
+            saida.add(new ClusterMapaDTO(nivel.latitudes[i], nivel.longitudes[i], nivel.quantidades[i], unica,
+                    todosOsStatus ? quantidadePorStatus(nivel, i) : null));
+        }
+        return saida;
+    }
+
+    /**
+     * Bibliotecas individuais dentro do retângulo informado (zoom alto), no máximo limite.
+     *
+     * @param todosOsStatus false = mapa público (só ativas); true = Dashboard
+     */
+    public List<BibliotecaMapaDTO> bibliotecas(double sul, double oeste, double norte, double leste, int limite,
+                                               boolean todosOsStatus) {
+        Mapa m = todosOsStatus ? todos : publico;
+        List<BibliotecaMapaDTO> saida = new ArrayList<>();
+        for (int i = primeiraMaiorOuIgual(m.latitudes, sul);
+             i < m.latitudes.length && m.latitudes[i] <= norte && saida.size() < limite; i++) {
+            if (m.longitudes[i] >= oeste && m.longitudes[i] <= leste) {
+                saida.add(m.bibliotecas.get(i));
+            }
+        }
+        return saida;
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Monta as duas camadas a partir das bibliotecas de todos os status.
+     */
+    private void publicar(List<BibliotecaMapaDTO> bibliotecas) {
+        todos = construir(bibliotecas);
+        publico = construir(bibliotecas.stream()
+                .filter(b -> b.getStatus() == StatusBiblioteca.ATIVO)
+                .toList());
+    }
+
+    private static Mapa construir(List<BibliotecaMapaDTO> lista) {
+        List<BibliotecaMapaDTO> bibliotecas = new ArrayList<>(lista);
+        bibliotecas.sort(Comparator.comparing(BibliotecaMapaDTO::getLatitude));
+
+        int n = bibliotecas.size();
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = bibliotecas.get(i).getLatitude().doubleValue();
+            longitudes[i] = bibliotecas.get(i).getLongitude().doubleValue();
+        }
+
+        Nivel[] niveis = new Nivel[Constants.ZOOM_PINOS];
+        for (int zoom = 0; zoom < Constants.ZOOM_PINOS; zoom++) {
+            niveis[zoom] = agrupar(zoom, bibliotecas, latitudes, longitudes);
+        }
+        return new Mapa(List.copyOf(bibliotecas), latitudes, longitudes, niveis);
+    }
+
+    private static double tamanhoCelula(int zoom) {
+        return 360.0 / ((1L << zoom) * Constants.CELULAS_POR_TILE);
+    }
+
+    private static Nivel agrupar(int zoom, List<BibliotecaMapaDTO> bibliotecas, double[] latitudes, double[] longitudes) {
+        double tamanho = tamanhoCelula(zoom);
+        Map<Long, Celula> celulas = new HashMap<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            int linha = (int) Math.floor(latitudes[i] / tamanho);
+            int coluna = (int) Math.floor(longitudes[i] / tamanho);
+            Celula c = celulas.computeIfAbsent(((long) linha << 32) | (coluna & 0xFFFFFFFFL),
+                    k -> new Celula(linha, coluna));
+            c.quantidade++;
+            c.porStatus[bibliotecas.get(i).getStatus().ordinal()]++;
+            c.somaLatitude += latitudes[i];
+            c.somaLongitude += longitudes[i];
+            c.idUnico = bibliotecas.get(i).getId();
+        }
+
+        List<Celula> ordenadas = new ArrayList<>(celulas.values());
+        ordenadas.sort(Comparator.comparingInt((Celula c) -> c.linha).thenComparingInt(c -> c.coluna));
+        int n = ordenadas.size();
+        Nivel nivel = new Nivel(new int[n], new int[n], new int[n], new int[n * STATUS.length],
+                new double[n], new double[n], new long[n]);
+        for (int i = 0; i < n; i++) {
+            Celula c = ordenadas.get(i);
+            nivel.linhas[i] = c.linha;
+            nivel.colunas[i] = c.coluna;
+            nivel.quantidades[i] = c.quantidade;
+            System.arraycopy(c.porStatus, 0, nivel.porStatus, i * STATUS.length, STATUS.length);
+            nivel.latitudes[i] = c.somaLatitude / c.quantidade;
+            nivel.longitudes[i] = c.somaLongitude / c.quantidade;
+            nivel.idUnico[i] = c.idUnico;
+        }
+        return nivel;
+    }
+
+    /**
+     * Só os status presentes na célula.
+     */
+    private static Map<StatusBiblioteca, Integer> quantidadePorStatus(Nivel nivel, int celula) {
+        Map<StatusBiblioteca, Integer> quantidades = new EnumMap<>(StatusBiblioteca.class);
+        for (StatusBiblioteca status : STATUS) {
+            int quantidade = nivel.porStatus[celula * STATUS.length + status.ordinal()];
+            if (quantidade > 0) {
+                quantidades.put(status, quantidade);
+            }
+        }
+        return quantidades;
+    }
+
+    private static int primeiraLinha(int[] linhas, int linha) {
+        int ini = 0;
+        int fim = linhas.length;
+        while (ini < fim) {
+            int meio = (ini + fim) >>> 1;
+            if (linhas[meio] < linha) {
+                ini = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return ini;
+    }
+
+    private static int primeiraMaiorOuIgual(double[] valores, double valor) {
+        int ini = 0;
+        int fim = valores.length;
+        while (ini < fim) {
+            int meio = (ini + fim) >>> 1;
+            if (valores[meio] < valor) {
+                ini = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return ini;
+    }
+
+    private static final class Celula {
+        final int linha;
+        final int coluna;
+        final int[] porStatus = new int[STATUS.length];
+        int quantidade;
+        double somaLatitude;
+        double somaLongitude;
+        long idUnico;
+
+        Celula(int linha, int coluna) {
+            this.linha = linha;
+            this.coluna = coluna;
+        }
+    }
+
+    /**
+     * Células de um zoom, ordenadas por (linha, coluna).
+     * porStatus tem STATUS.length posições por célula (ordinal do status).
+     */
+    private record Nivel(int[] linhas, int[] colunas, int[] quantidades, int[] porStatus,
+                         double[] latitudes, double[] longitudes, long[] idUnico) {
+    }
+
+    private record Mapa(List<BibliotecaMapaDTO> bibliotecas, double[] latitudes, double[] longitudes, Nivel[] niveis) {
+        static final Mapa VAZIO = construir(List.of());
+    }
+}
@@ -0,0 +1,92 @@
+package com.localibrary.index;
+
+/**
+ * Mapa long -> double com endereçamento aberto (sondagem linear), sem boxing.
+ * Só inserção e soma: para remover entradas, monta-se um mapa novo com as que ficam.
+ * Não é thread-safe; quem usa controla o acesso.
+ */
+final class MapaLongDouble {
+
+    // Chave reservada para posição vazia (IDs do banco nunca são 0)
+    private static final long VAZIA = 0L;
+
+    private long[] chaves;
+    private double[] valores;
+    private int tamanho = 0;
+
+    MapaLongDouble(int capacidadeEsperada) {
+        int capacidade = Integer.highestOneBit(Math.max(16, capacidadeEsperada * 2 - 1)) << 1;
+        chaves = new long[capacidade];
+        valores = new double[capacidade];
+    }
+
+    double get(long chave) {
+        int pos = posicao(chave);
+        return chaves[pos] == chave ? valores[pos] : 0.0;
+    }
+
+    void somar(long chave, double delta) {
+        int pos = posicao(chave);
+        if (chaves[pos] == chave) {
+            valores[pos] += delta;
+            return;
+        }
+        chaves[pos] = chave;
+        valores[pos] = delta;
+        if (++tamanho * 2 > chaves.length) {
+            crescer();
+        }
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void paraCada(Visitante visitante) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIA) {
+                visitante.visitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitante {
+        void visitar(long chave, double valor);
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Posição da chave ou da primeira vaga na sequência de sondagem.
+     */
+    private int posicao(long chave) {
+        int mascara = chaves.length - 1;
+        int pos = espalhar(chave) & mascara;
+        while (chaves[pos] != VAZIA && chaves[pos] != chave) {
+            pos = (pos + 1) & mascara;
+        }
+        return pos;
+    }
+
+    private void crescer() {
+        long[] antigasChaves = chaves;
+        double[] antigosValores = valores;
+        chaves = new long[antigasChaves.length * 2];
+        valores = new double[antigasChaves.length * 2];
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasChaves[i] != VAZIA) {
+                int pos = posicao(antigasChaves[i]);
+                chaves[pos] = antigasChaves[i];
+                valores[pos] = antigosValores[i];
+            }
+        }
+    }
+
+    private static int espalhar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
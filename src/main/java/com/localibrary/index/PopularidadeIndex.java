@@ -0,0 +1,201 @@
+package com.localibrary.index;
+
+import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.event.PopularidadeAlteradaEvent;
+import com.localibrary.repository.BibliotecaLivroRepository;
+import com.localibrary.repository.BibliotecaRepository;
+import com.localibrary.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ NOVO: Popularidade de cada livro (número de bibliotecas ATIVAS que o possuem)
+ * Mantida em memória para ranquear sugestões sem consultar o banco.
+ * <p>
+ * Os contadores são atualizados pelos eventos de acervo e de status das bibliotecas
+ * (após o commit). O ranking fica num TreeSet e o topo (RF-03) é publicado como
+ * snapshot imutável: a leitura dos livros populares não faz GROUP BY nem ordenação.
+ * Cada alteração publica um PopularidadeAlteradaEvent com os livros afetados.
+ */
+@Component
+public class PopularidadeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularidadeIndex.class);
+
+    // Mais bibliotecas primeiro; empate pelo ID para a ordem ser estável
+    private static final Comparator<Posicao> POR_POPULARIDADE = Comparator
+            .comparingInt(Posicao::total).reversed()
+            .thenComparingLong(Posicao::idLivro);
+
+    private final BibliotecaLivroRepository bibliotecaLivroRepository;
+    private final BibliotecaRepository bibliotecaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Leituras sem lock; escritas serializadas pelos métodos synchronized
+    private volatile Map<Long, Integer> totais = new ConcurrentHashMap<>();
+    private final Set<Long> bibliotecasAtivas = new HashSet<>();
+    private final NavigableSet<Posicao> ranking = new TreeSet<>(POR_POPULARIDADE);
+    private volatile List<Long> topo = List.of();
+
+    // Incrementada a cada alteração; chave dos caches de respostas que dependem do ranking
+    private volatile long versao = 0;
+
+    private volatile boolean pronto = false;
+
+    public PopularidadeIndex(BibliotecaLivroRepository bibliotecaLivroRepository,
+                             BibliotecaRepository bibliotecaRepository,
+                             ApplicationEventPublisher eventPublisher) {
+        this.bibliotecaLivroRepository = bibliotecaLivroRepository;
+        this.bibliotecaRepository = bibliotecaRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        bibliotecasAtivas.clear();
+        bibliotecasAtivas.addAll(bibliotecaRepository.findIdsByStatus(StatusBiblioteca.ATIVO));
+
+        Map<Long, Integer> novos = new ConcurrentHashMap<>();
+        ranking.clear();
+        for (ContagemPorLivro contagem : bibliotecaLivroRepository.countBibliotecasAtivasPorLivro()) {
+            int total = contagem.total().intValue();
+            novos.put(contagem.idLivro(), total);
+            ranking.add(new Posicao(contagem.idLivro(), total));
+        }
+        totais = novos;
+        publicarTopo();
+        versao++;
+        pronto = true;
+        logger.info("Popularidade carregada: {} livros em {} bibliotecas ativas", totais.size(), bibliotecasAtivas.size());
+        eventPublisher.publishEvent(PopularidadeAlteradaEvent.recarregada());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAcervoAlterado(AcervoAlteradoEvent event) {
+        if (!bibliotecasAtivas.contains(event.idBiblioteca())) {
+            return;
+        }
+        ajustar(event.idLivro(), event.tipo() == AcervoAlteradoEvent.Tipo.ADICIONADO ? 1 : -1);
+        publicarTopo();
+        versao++;
+        eventPublisher.publishEvent(PopularidadeAlteradaEvent.livros(Set.of(event.idLivro())));
+    }
+
+    /**
+     * Lote da importação: um único recálculo do topo e um único aviso para os outros índices.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAcervoImportado(AcervoImportadoEvent event) {
+        if (!bibliotecasAtivas.contains(event.idBiblioteca()) || event.idsLivro().isEmpty()) {
+            return;
+        }
+        for (Long idLivro : event.idsLivro()) {
+            ajustar(idLivro, 1);
+        }
+        publicarTopo();
+        versao++;
+        eventPublisher.publishEvent(PopularidadeAlteradaEvent.livros(Set.copyOf(event.idsLivro())));
+    }
+
+    /**
+     * Biblioteca ativada ou desativada: soma/subtrai 1 em cada livro do seu acervo.
+     * Só recarrega tudo quando a biblioteca ativa foi excluída (o acervo já não existe para consulta).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBibliotecaAlterada(BibliotecaAlteradaEvent event) {
+        Long idBiblioteca = event.idBiblioteca();
+        StatusBiblioteca status = bibliotecaRepository.findStatusById(idBiblioteca).orElse(null);
+        boolean eraAtiva = bibliotecasAtivas.contains(idBiblioteca);
+        boolean ativa = status == StatusBiblioteca.ATIVO;
+
+        if (eraAtiva == ativa) {
+            return; // Mudança de perfil/endereço: não afeta a popularidade
+        }
+        if (status == null) {
+            carregar();
+            return;
+        }
+
+        int delta = ativa ? 1 : -1;
+        Set<Long> alterados = new HashSet<>(bibliotecaLivroRepository.findLivroIdsByBibliotecaId(idBiblioteca));
+        for (Long idLivro : alterados) {
+            ajustar(idLivro, delta);
+        }
+        if (ativa) {
+            bibliotecasAtivas.add(idBiblioteca);
+        } else {
+            bibliotecasAtivas.remove(idBiblioteca);
+        }
+        publicarTopo();
+        versao++;
+        eventPublisher.publishEvent(PopularidadeAlteradaEvent.livros(alterados));
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int getTotal(Long idLivro) {
+        return totais.getOrDefault(idLivro, 0);
+    }
+
+    /**
+     * IDs dos livros mais populares (até LIMITE_LIVROS_POPULARES), do mais para o menos popular.
+     */
+    public List<Long> getMaisPopulares() {
+        return topo;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private void ajustar(Long idLivro, int delta) {
+        int atual = totais.getOrDefault(idLivro, 0);
+        int total = Math.max(0, atual + delta);
+        if (atual > 0) {
+            ranking.remove(new Posicao(idLivro, atual));
+        }
+        if (total > 0) {
+            totais.put(idLivro, total);
+            ranking.add(new Posicao(idLivro, total));
+        } else {
+            totais.remove(idLivro);
+        }
+    }
+
+    private void publicarTopo() {
+        List<Long> novo = new ArrayList<>(Constants.LIMITE_LIVROS_POPULARES);
+        Iterator<Posicao> it = ranking.iterator();
+        while (it.hasNext() && novo.size() < Constants.LIMITE_LIVROS_POPULARES) {
+            novo.add(it.next().idLivro());
+        }
+        topo = List.copyOf(novo);
+    }
+
+    private record Posicao(long idLivro, int total) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.localibrary.index;
+
+/**
+ * Par (livro, biblioteca) do acervo, sem carregar as entidades.
+ */
+public record Posse(Long idLivro, Long idBiblioteca) {
+}
@@ -0,0 +1,70 @@
+package com.localibrary.index;
+
+import java.util.Arrays;
+
+/**
+ * Operações sobre listas de IDs ordenadas (long[]) usadas como postings nos índices.
+ */
+final class Postings {
+
+    static final long[] VAZIO = new long[0];
+
+    /**
+     * Insere o ID mantendo a ordenação. Retorna o próprio array se o ID já existir.
+     */
+    static long[] inserir(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int ponto = -pos - 1;
+        long[] novo = new long[ids.length + 1];
+        System.arraycopy(ids, 0, novo, 0, ponto);
+        novo[ponto] = id;
+        System.arraycopy(ids, ponto, novo, ponto + 1, ids.length - ponto);
+        return novo;
+    }
+
+    /**
+     * Remove o ID. Retorna o próprio array se o ID não existir.
+     */
+    static long[] remover(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        long[] novo = new long[ids.length - 1];
+        System.arraycopy(ids, 0, novo, 0, pos);
+        System.arraycopy(ids, pos + 1, novo, pos, ids.length - pos - 1);
+        return novo;
+    }
+
+    /**
+     * Interseção de duas listas ordenadas.
+     */
+    static long[] intersecao(long[] a, long[] b) {
+        long[] menor = a.length <= b.length ? a : b;
+        long[] maior = menor == a ? b : a;
+        long[] saida = new long[menor.length];
+        int n = 0;
+        int j = 0;
+        for (long id : menor) {
+            // Busca binária a partir da última posição (listas de tamanhos muito diferentes)
+            int pos = Arrays.binarySearch(maior, j, maior.length, id);
+            if (pos >= 0) {
+                saida[n++] = id;
+                j = pos + 1;
+            } else {
+                j = -pos - 1;
+            }
+            if (j >= maior.length) {
+                break;
+            }
+        }
+        return n == saida.length ? saida : Arrays.copyOf(saida, n);
+    }
+
+    private Postings() {
+        throw new IllegalStateException("Classe utilitária não deve ser instanciada");
+    }
+}
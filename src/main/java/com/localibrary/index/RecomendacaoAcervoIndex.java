@@ -0,0 +1,246 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.repository.BibliotecaLivroRepository;
+import com.localibrary.util.Constants;
+import com.localibrary.util.SelecaoMenores;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ NOVO: "Bibliotecas que têm este livro também têm..." (co-ocorrência no acervo)
+ * Dois livros são vizinhos quando aparecem juntos nos acervos; a nota é o cosseno
+ * (bibliotecas em comum / √(bibliotecas de A × bibliotecas de B)), que não favorece
+ * só os livros presentes em todo lugar.
+ * <p>
+ * Cada livro guarda apenas os K melhores vizinhos em arrays primitivos. A construção
+ * roda em segundo plano; cada alteração de acervo marca o livro e as bibliotecas afetadas e um job
+ * periódico recalcula só as linhas marcadas.
+ */
+@Component
+public class RecomendacaoAcervoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecomendacaoAcervoIndex.class);
+
+    private final BibliotecaLivroRepository bibliotecaLivroRepository;
+
+    // Acervo nos dois sentidos (arrays ordenados, trocados a cada alteração)
+    private final Map<Long, long[]> livrosDaBiblioteca = new HashMap<>();
+    private final Map<Long, long[]> bibliotecasDoLivro = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Vizinhos de cada livro, do mais para o menos associado (leitura sem lock)
+    private final Map<Long, long[]> vizinhos = new ConcurrentHashMap<>();
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    // Bibliotecas cujos livros todos precisam de recálculo (expandidas só no job, para que
+    // uma importação em lote não percorra o acervo inteiro a cada livro adicionado)
+    private final Set<Long> bibliotecasPendentes = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean pronto = false;
+
+    public RecomendacaoAcervoIndex(BibliotecaLivroRepository bibliotecaLivroRepository) {
+        this.bibliotecaLivroRepository = bibliotecaLivroRepository;
+    }
+
+    /**
+     * Construção completa fora da thread de inicialização (O(Σ acervo²)).
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        Map<Long, List<Long>> porBiblioteca = new HashMap<>();
+        Map<Long, List<Long>> porLivro = new HashMap<>();
+        for (Posse posse : bibliotecaLivroRepository.findAllPosses()) {
+            porBiblioteca.computeIfAbsent(posse.idBiblioteca(), k -> new ArrayList<>()).add(posse.idLivro());
+            porLivro.computeIfAbsent(posse.idLivro(), k -> new ArrayList<>()).add(posse.idBiblioteca());
+        }
+
+        lock.writeLock().lock();
+        try {
+            livrosDaBiblioteca.clear();
+            bibliotecasDoLivro.clear();
+            porBiblioteca.forEach((id, ids) -> livrosDaBiblioteca.put(id, ordenados(ids)));
+            porLivro.forEach((id, ids) -> bibliotecasDoLivro.put(id, ordenados(ids)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        vizinhos.clear();
+        pendentes.clear();
+        bibliotecasPendentes.clear();
+        porLivro.keySet().forEach(this::recalcular);
+
+        pronto = true;
+        logger.info("Recomendações por acervo calculadas: {} livros em {} ms",
+                vizinhos.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Atualiza o acervo e marca para recálculo as linhas cujas notas mudaram.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoAlterado(AcervoAlteradoEvent event) {
+        lock.writeLock().lock();
+        try {
+            registrar(event.idLivro(), event.idBiblioteca(), event.tipo() == AcervoAlteradoEvent.Tipo.ADICIONADO);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long idLivro : event.idsLivro()) {
+                registrar(idLivro, event.idBiblioteca(), true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Job periódico: recalcula as linhas marcadas pelas alterações de acervo.
+     */
+    @Scheduled(initialDelay = Constants.INTERVALO_RECOMENDACOES_MS, fixedDelay = Constants.INTERVALO_RECOMENDACOES_MS)
+    public void processarPendentes() {
+        if (!pronto || (pendentes.isEmpty() && bibliotecasPendentes.isEmpty())) {
+            return;
+        }
+        List<Long> bibliotecas = new ArrayList<>(bibliotecasPendentes);
+        bibliotecasPendentes.removeAll(bibliotecas);
+        lock.readLock().lock();
+        try {
+            for (Long idBiblioteca : bibliotecas) {
+                marcarPendentes(livrosDaBiblioteca.getOrDefault(idBiblioteca, Postings.VAZIO));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> lote = new ArrayList<>(pendentes);
+        pendentes.removeAll(lote);
+        lote.forEach(this::recalcular);
+        logger.debug("Recomendações por acervo recalculadas para {} livros", lote.size());
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * IDs dos livros mais associados ao informado, do mais para o menos associado.
+     */
+    public List<Long> recomendados(Long idLivro, int k) {
+        long[] linha = vizinhos.getOrDefault(idLivro, Postings.VAZIO);
+        int n = Math.min(k, linha.length);
+        List<Long> saida = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            saida.add(linha[i]);
+        }
+        return saida;
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Corpo dos eventos de acervo (individual e importação), chamado com o lock de escrita.
+     */
+    private void registrar(Long idLivro, Long idBiblioteca, boolean adicionado) {
+        long[] livros = livrosDaBiblioteca.getOrDefault(idBiblioteca, Postings.VAZIO);
+        long[] bibliotecas = bibliotecasDoLivro.getOrDefault(idLivro, Postings.VAZIO);
+        livros = adicionado ? Postings.inserir(livros, idLivro) : Postings.remover(livros, idLivro);
+        bibliotecas = adicionado ? Postings.inserir(bibliotecas, idBiblioteca) : Postings.remover(bibliotecas, idBiblioteca);
+        atualizar(livrosDaBiblioteca, idBiblioteca, livros);
+        atualizar(bibliotecasDoLivro, idLivro, bibliotecas);
+
+        // Mudou o total de bibliotecas do livro: a nota dele com todo livro que divide
+        // alguma biblioteca com ele muda junto (inclusive os da biblioteca alterada)
+        pendentes.add(idLivro);
+        bibliotecasPendentes.add(idBiblioteca);
+        for (long outraBiblioteca : bibliotecas) {
+            bibliotecasPendentes.add(outraBiblioteca);
+        }
+    }
+
+    /**
+     * Conta, para cada livro que divide alguma biblioteca com o informado, quantas bibliotecas
+     * os dois têm em comum e guarda os K melhores pelo cosseno.
+     */
+    private void recalcular(Long idLivro) {
+        lock.readLock().lock();
+        try {
+            long[] bibliotecas = bibliotecasDoLivro.getOrDefault(idLivro, Postings.VAZIO);
+            if (bibliotecas.length == 0) {
+                vizinhos.remove(idLivro);
+                return;
+            }
+
+            MapaLongDouble comuns = new MapaLongDouble(64);
+            for (long idBiblioteca : bibliotecas) {
+                for (long outro : livrosDaBiblioteca.getOrDefault(idBiblioteca, Postings.VAZIO)) {
+                    if (outro != idLivro) {
+                        comuns.somar(outro, 1.0);
+                    }
+                }
+            }
+
+            SelecaoMenores selecao = new SelecaoMenores(Math.min(Constants.VIZINHOS_POR_LIVRO, comuns.tamanho()));
+            double raiz = Math.sqrt(bibliotecas.length);
+            comuns.paraCada((outro, total) -> {
+                double cosseno = total / (raiz * Math.sqrt(bibliotecasDoLivro.get(outro).length));
+                selecao.oferecer(outro, -cosseno);
+            });
+            selecao.ordenar();
+
+            long[] ids = new long[selecao.tamanho()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = selecao.id(i);
+            }
+            if (ids.length > 0) {
+                vizinhos.put(idLivro, ids);
+            } else {
+                vizinhos.remove(idLivro);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void marcarPendentes(long[] livros) {
+        for (long idLivro : livros) {
+            pendentes.add(idLivro);
+        }
+    }
+
+    private static long[] ordenados(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private static void atualizar(Map<Long, long[]> mapa, Long chave, long[] valor) {
+        if (valor.length > 0) {
+            mapa.put(chave, valor);
+        } else {
+            mapa.remove(chave);
+        }
+    }
+}
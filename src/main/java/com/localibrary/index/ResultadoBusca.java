@@ -0,0 +1,7 @@
+package com.localibrary.index;
+
+/**
+ * Página de IDs já ranqueada e o total de livros que casaram com a consulta.
+ */
+public record ResultadoBusca(long[] ids, int total) {
+}
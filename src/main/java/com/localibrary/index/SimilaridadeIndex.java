@@ -0,0 +1,278 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.GenerosAlteradosEvent;
+import com.localibrary.event.LivroSalvoEvent;
+import com.localibrary.repository.LivroGeneroRepository;
+import com.localibrary.repository.LivroRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * ✅ NOVO: Livros similares por gênero (RF-05)
+ * Cada livro tem uma máscara de bits com seus gêneros e cada gênero tem a lista ordenada
+ * de livros. Os candidatos são os livros que compartilham algum gênero, ranqueados por
+ * Jaccard (gêneros em comum / gêneros no total) e, no empate, pela popularidade.
+ * <p>
+ * Os cards dos similares também ficam em memória: a página de detalhes só consulta o banco
+ * para o livro principal.
+ */
+@Component
+public class SimilaridadeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilaridadeIndex.class);
+
+    private static final long[] SEM_GENEROS = new long[0];
+
+    // Maior Jaccard, depois mais bibliotecas, depois menor ID
+    private static final Comparator<Candidato> MELHOR = Comparator
+            .comparingDouble(Candidato::jaccard).reversed()
+            .thenComparing(Comparator.comparingInt(Candidato::popularidade).reversed())
+            .thenComparingLong(Candidato::idLivro);
+
+    private final LivroRepository livroRepository;
+    private final LivroGeneroRepository livroGeneroRepository;
+    private final PopularidadeIndex popularidadeIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Gênero -> posição do bit (atribuída na ordem em que o gênero aparece)
+    private final Map<Long, Integer> bitDoGenero = new HashMap<>();
+    private final Map<Long, long[]> generosDoLivro = new HashMap<>();
+    private final List<long[]> livrosDoGenero = new ArrayList<>();
+    private final Map<Long, LivroIndexavel> livros = new HashMap<>();
+
+    private volatile boolean pronto = false;
+
+    public SimilaridadeIndex(LivroRepository livroRepository,
+                             LivroGeneroRepository livroGeneroRepository,
+                             PopularidadeIndex popularidadeIndex) {
+        this.livroRepository = livroRepository;
+        this.livroGeneroRepository = livroGeneroRepository;
+        this.popularidadeIndex = popularidadeIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            livros.clear();
+            livroRepository.findAllIndexaveis().forEach(l -> livros.put(l.id(), l));
+
+            bitDoGenero.clear();
+            generosDoLivro.clear();
+            livrosDoGenero.clear();
+            Map<Integer, List<Long>> agrupados = new HashMap<>();
+            for (GeneroDoLivro par : livroGeneroRepository.findAllPares()) {
+                int bit = bit(par.idGenero());
+                generosDoLivro.put(par.idLivro(), ligar(generosDoLivro.getOrDefault(par.idLivro(), SEM_GENEROS), bit));
+                agrupados.computeIfAbsent(bit, b -> new ArrayList<>()).add(par.idLivro());
+            }
+            agrupados.forEach((bit, ids) ->
+                    livrosDoGenero.set(bit, ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray()));
+
+            pronto = true;
+            logger.info("Índice de similaridade carregado: {} livros com gênero, {} gêneros", generosDoLivro.size(), bitDoGenero.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLivroSalvo(LivroSalvoEvent event) {
+        lock.writeLock().lock();
+        try {
+            livros.put(event.livro().id(), event.livro());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenerosAlterados(GenerosAlteradosEvent event) {
+        lock.writeLock().lock();
+        try {
+            trocarGeneros(event.idLivro(), event.generosIds());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.livrosNovos().forEach(livro -> livros.put(livro.id(), livro));
+            event.generosPorLivro().forEach(this::trocarGeneros);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Os k livros mais parecidos com o informado, do mais para o menos parecido.
+     * Livros sem gênero não têm similares.
+     */
+    public List<LivroIndexavel> similares(Long idLivro, int k) {
+        lock.readLock().lock();
+        try {
+            long[] alvo = generosDoLivro.getOrDefault(idLivro, SEM_GENEROS);
+            int totalAlvo = contar(alvo);
+            if (totalAlvo == 0 || k <= 0) {
+                return List.of();
+            }
+
+            PriorityQueue<Candidato> heap = new PriorityQueue<>(k + 1, MELHOR.reversed());
+            forEachBit(alvo, bit -> {
+                for (long id : livrosDoGenero.get(bit)) {
+                    if (id == idLivro) {
+                        continue;
+                    }
+                    long[] generos = generosDoLivro.get(id);
+                    // Quem compartilha um gênero de bit menor já foi avaliado naquela lista
+                    if (compartilhaAntes(alvo, generos, bit)) {
+                        continue;
+                    }
+                    int comuns = contarComuns(alvo, generos);
+                    double jaccard = (double) comuns / (totalAlvo + contar(generos) - comuns);
+                    heap.offer(new Candidato(id, jaccard, popularidadeIndex.getTotal(id)));
+                    if (heap.size() > k) {
+                        heap.poll();
+                    }
+                }
+            });
+
+            Candidato[] ordenados = heap.toArray(new Candidato[0]);
+            Arrays.sort(ordenados, MELHOR);
+            List<LivroIndexavel> saida = new ArrayList<>(ordenados.length);
+            for (Candidato c : ordenados) {
+                LivroIndexavel livro = livros.get(c.idLivro());
+                if (livro != null) {
+                    saida.add(livro);
+                }
+            }
+            return saida;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cards dos livros informados, na mesma ordem (IDs desconhecidos são ignorados).
+     */
+    public List<LivroIndexavel> cards(List<Long> ids) {
+        lock.readLock().lock();
+        try {
+            List<LivroIndexavel> saida = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                LivroIndexavel livro = livros.get(id);
+                if (livro != null) {
+                    saida.add(livro);
+                }
+            }
+            return saida;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Troca os gêneros do livro: sai das listas antigas e entra nas novas (com o lock de escrita).
+     */
+    private void trocarGeneros(Long idLivro, Set<Long> generosIds) {
+        long[] antigos = generosDoLivro.getOrDefault(idLivro, SEM_GENEROS);
+        forEachBit(antigos, bit -> livrosDoGenero.set(bit, Postings.remover(livrosDoGenero.get(bit), idLivro)));
+
+        long[] novos = SEM_GENEROS;
+        for (Long idGenero : generosIds) {
+            novos = ligar(novos, bit(idGenero));
+        }
+        forEachBit(novos, bit -> livrosDoGenero.set(bit, Postings.inserir(livrosDoGenero.get(bit), idLivro)));
+
+        if (novos.length > 0) {
+            generosDoLivro.put(idLivro, novos);
+        } else {
+            generosDoLivro.remove(idLivro);
+        }
+    }
+
+    private int bit(Long idGenero) {
+        return bitDoGenero.computeIfAbsent(idGenero, g -> {
+            livrosDoGenero.add(Postings.VAZIO);
+            return livrosDoGenero.size() - 1;
+        });
+    }
+
+    private static long[] ligar(long[] mascara, int bit) {
+        int palavra = bit >>> 6;
+        long[] nova = Arrays.copyOf(mascara, Math.max(mascara.length, palavra + 1));
+        nova[palavra] |= 1L << bit;
+        return nova;
+    }
+
+    private static int contar(long[] mascara) {
+        int total = 0;
+        for (long palavra : mascara) {
+            total += Long.bitCount(palavra);
+        }
+        return total;
+    }
+
+    private static int contarComuns(long[] a, long[] b) {
+        int total = 0;
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            total += Long.bitCount(a[i] & b[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Se a e b têm em comum algum bit menor que o informado.
+     */
+    private static boolean compartilhaAntes(long[] a, long[] b, int bit) {
+        int palavra = bit >>> 6;
+        for (int i = 0; i < Math.min(palavra, Math.min(a.length, b.length)); i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        long abaixo = (1L << bit) - 1; // bits menores dentro da mesma palavra (bit & 63)
+        return palavra < a.length && palavra < b.length && (a[palavra] & b[palavra] & abaixo) != 0;
+    }
+
+    private static void forEachBit(long[] mascara, IntConsumer acao) {
+        for (int palavra = 0; palavra < mascara.length; palavra++) {
+            long restante = mascara[palavra];
+            while (restante != 0) {
+                acao.accept(palavra * 64 + Long.numberOfTrailingZeros(restante));
+                restante &= restante - 1;
+            }
+        }
+    }
+
+    private record Candidato(long idLivro, double jaccard, int popularidade) {
+    }
+}
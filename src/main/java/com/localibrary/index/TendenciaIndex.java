@@ -0,0 +1,274 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.repository.BibliotecaLivroRepository;
+import com.localibrary.repository.LivroRepository;
+import com.localibrary.util.Constants;
+import com.localibrary.util.SelecaoMenores;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ✅ NOVO: Livros em tendência (muitas bibliotecas adicionando agora)
+ * Cada adição ao acervo soma 1 à pontuação do livro, e esse peso cai pela metade a cada
+ * MEIA_VIDA_TENDENCIA_MS (decaimento exponencial).
+ * <p>
+ * Em vez de decair todas as pontuações com o tempo, cada adição entra já "valorizada"
+ * em relação a um instante base: peso = 2^((t - base) / meiaVida). Como o fator é o mesmo
+ * para todos os livros, a ordem não muda com o passar do tempo, só com novas adições.
+ * O snapshot periódico traz a base para o presente (mantém os números pequenos), descarta
+ * pontuações irrelevantes e grava tudo em disco: ao reiniciar, basta ler o arquivo e
+ * aplicar as adições feitas depois dele. O snapshot é descartado se for mais antigo que a
+ * janela de reconstrução, e livros que não existem mais no banco saem na leitura. Com app.tendencias.snapshot vazio nada é gravado
+ * e cada inicialização reconstrói do banco.
+ */
+@Component
+public class TendenciaIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TendenciaIndex.class);
+
+    // Sem snapshot, só as adições recentes importam: após 10 meias-vidas o peso é < 0,1%
+    private static final int MEIAS_VIDAS_RECONSTRUCAO = 10;
+
+    // Pontuação (em adições de "agora") abaixo da qual o livro sai do ranking
+    private static final double PONTUACAO_MINIMA = 0.01;
+
+    private static final int VERSAO_ARQUIVO = 1;
+
+    private final BibliotecaLivroRepository bibliotecaLivroRepository;
+    private final LivroRepository livroRepository;
+    private final Path arquivoSnapshot; // null: snapshot desativado
+
+    // Acesso protegido pelos métodos synchronized
+    private MapaLongDouble pontuacoes = new MapaLongDouble(0);
+    private long base = System.currentTimeMillis();
+    private volatile boolean alterado = false;
+
+    private volatile List<Long> topo = List.of();
+    private volatile boolean pronto = false;
+
+    public TendenciaIndex(BibliotecaLivroRepository bibliotecaLivroRepository,
+                          LivroRepository livroRepository,
+                          @Value("${app.tendencias.snapshot:" + Constants.SNAPSHOT_TENDENCIAS + "}") String arquivoSnapshot) {
+        this.bibliotecaLivroRepository = bibliotecaLivroRepository;
+        this.livroRepository = livroRepository;
+        this.arquivoSnapshot = arquivoSnapshot.isBlank() ? null : Paths.get(arquivoSnapshot).toAbsolutePath().normalize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        long desde;
+        if (lerSnapshot()) {
+            desde = base;
+        } else {
+            pontuacoes = new MapaLongDouble(0);
+            base = System.currentTimeMillis();
+            desde = base - MEIAS_VIDAS_RECONSTRUCAO * Constants.MEIA_VIDA_TENDENCIA_MS;
+        }
+
+        LocalDateTime inicio = LocalDateTime.ofInstant(Instant.ofEpochMilli(desde), ZoneId.systemDefault());
+        List<AdicaoAcervo> adicoes = bibliotecaLivroRepository.findAdicoesDesde(inicio);
+        for (AdicaoAcervo adicao : adicoes) {
+            if (adicao.createdAt() != null) {
+                pontuacoes.somar(adicao.idLivro(), peso(adicao.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+            }
+        }
+
+        publicarTopo();
+        pronto = true;
+        logger.info("Tendências carregadas: {} livros ({} adições desde {})", pontuacoes.tamanho(), adicoes.size(), inicio);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAcervoAlterado(AcervoAlteradoEvent event) {
+        if (event.tipo() != AcervoAlteradoEvent.Tipo.ADICIONADO) {
+            return;
+        }
+        pontuacoes.somar(event.idLivro(), peso(System.currentTimeMillis()));
+        alterado = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAcervoImportado(AcervoImportadoEvent event) {
+        if (event.idsLivro().isEmpty()) {
+            return;
+        }
+        double peso = peso(System.currentTimeMillis());
+        for (Long idLivro : event.idsLivro()) {
+            pontuacoes.somar(idLivro, peso);
+        }
+        alterado = true;
+    }
+
+    /**
+     * Traz a base para o presente e grava o snapshot (também ao desligar a aplicação).
+     */
+    @Scheduled(initialDelay = Constants.INTERVALO_SNAPSHOT_TENDENCIA_MS, fixedDelay = Constants.INTERVALO_SNAPSHOT_TENDENCIA_MS)
+    @PreDestroy
+    public synchronized void salvarSnapshot() {
+        if (!pronto) {
+            return;
+        }
+        rebasear(System.currentTimeMillis());
+        if (arquivoSnapshot == null) {
+            return;
+        }
+        try {
+            gravarSnapshot();
+        } catch (IOException e) {
+            logger.warn("Não foi possível gravar o snapshot de tendências em {}: {}", arquivoSnapshot, e.getMessage());
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * IDs dos livros em tendência (até LIMITE_LIVROS_TENDENCIA), do maior para o menor peso.
+     * O topo só é recalculado quando houve adição desde a última leitura.
+     */
+    public List<Long> getTendencias() {
+        if (alterado) {
+            synchronized (this) {
+                if (alterado) {
+                    publicarTopo();
+                }
+            }
+        }
+        return topo;
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private double peso(long instante) {
+        return Math.pow(2, (double) (instante - base) / Constants.MEIA_VIDA_TENDENCIA_MS);
+    }
+
+    /**
+     * Maiores pontuações: a seleção guarda os menores valores, então entra o negativo.
+     */
+    private void publicarTopo() {
+        SelecaoMenores selecao = new SelecaoMenores(Math.min(Constants.LIMITE_LIVROS_TENDENCIA, pontuacoes.tamanho()));
+        pontuacoes.paraCada((idLivro, pontuacao) -> selecao.oferecer(idLivro, -pontuacao));
+        selecao.ordenar();
+
+        List<Long> novo = new ArrayList<>(selecao.tamanho());
+        for (int i = 0; i < selecao.tamanho(); i++) {
+            novo.add(selecao.id(i));
+        }
+        topo = List.copyOf(novo);
+        alterado = false;
+    }
+
+    private void rebasear(long novaBase) {
+        double fator = Math.pow(2, (double) (base - novaBase) / Constants.MEIA_VIDA_TENDENCIA_MS);
+        MapaLongDouble novas = new MapaLongDouble(pontuacoes.tamanho());
+        pontuacoes.paraCada((idLivro, pontuacao) -> {
+            double atual = pontuacao * fator;
+            if (atual >= PONTUACAO_MINIMA) {
+                novas.somar(idLivro, atual);
+            }
+        });
+        pontuacoes = novas;
+        base = novaBase;
+        alterado = true;
+    }
+
+    private void gravarSnapshot() throws IOException {
+        Files.createDirectories(arquivoSnapshot.getParent());
+        Path temporario = arquivoSnapshot.resolveSibling(arquivoSnapshot.getFileName() + ".tmp");
+
+        int n = pontuacoes.tamanho();
+        long[] ids = new long[n];
+        double[] valores = new double[n];
+        int[] i = {0};
+        pontuacoes.paraCada((idLivro, pontuacao) -> {
+            ids[i[0]] = idLivro;
+            valores[i[0]++] = pontuacao;
+        });
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+            out.writeInt(VERSAO_ARQUIVO);
+            out.writeLong(base);
+            out.writeInt(n);
+            for (int j = 0; j < n; j++) {
+                out.writeLong(ids[j]);
+                out.writeDouble(valores[j]);
+            }
+        }
+        // Troca atômica: um arquivo pela metade nunca substitui o anterior
+        Files.move(temporario, arquivoSnapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return true se o snapshot foi lido (pontuações e base restaurados); false se não existe,
+     * está ilegível ou é mais antigo que a janela de reconstrução (o banco cobre tudo o que importa)
+     */
+    private boolean lerSnapshot() {
+        if (arquivoSnapshot == null || !Files.isRegularFile(arquivoSnapshot)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivoSnapshot)))) {
+            if (in.readInt() != VERSAO_ARQUIVO) {
+                return false;
+            }
+            long baseLida = in.readLong();
+            long idade = System.currentTimeMillis() - baseLida;
+            if (idade < 0 || idade > MEIAS_VIDAS_RECONSTRUCAO * Constants.MEIA_VIDA_TENDENCIA_MS) {
+                logger.info("Snapshot de tendências fora da janela ({} ms), reconstruindo do banco", idade);
+                return false;
+            }
+
+            // Livros excluídos desde o snapshot (ou snapshot de outra base) não voltam ao ranking
+            long[] existentes = livroRepository.findAllIdsOrdenados().stream().mapToLong(Long::longValue).toArray();
+            int n = in.readInt();
+            int descartados = 0;
+            MapaLongDouble lidas = new MapaLongDouble(n);
+            for (int i = 0; i < n; i++) {
+                long idLivro = in.readLong();
+                double pontuacao = in.readDouble();
+                if (Arrays.binarySearch(existentes, idLivro) >= 0) {
+                    lidas.somar(idLivro, pontuacao);
+                } else {
+                    descartados++;
+                }
+            }
+            if (descartados > 0) {
+                logger.info("Snapshot de tendências: {} livros que não existem mais foram descartados", descartados);
+            }
+            pontuacoes = lidas;
+            base = baseLida;
+            return true;
+        } catch (IOException e) {
+            logger.warn("Snapshot de tendências ilegível ({}), reconstruindo do banco", e.getMessage());
+            return false;
+        }
+    }
+}
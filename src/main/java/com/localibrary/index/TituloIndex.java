@@ -0,0 +1,328 @@
+package com.localibrary.index;
+
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.event.LivroSalvoEvent;
+import com.localibrary.repository.LivroRepository;
+import com.localibrary.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * ✅ NOVO: Índice invertido de trigramas sobre Livro.titulo (RF-02)
+ * Substitui o LIKE '%termo%' do LivroRepository.searchByTitulo, que faz full scan em tbl_livro.
+ * <p>
+ * Construído no startup e atualizado incrementalmente pelos eventos de escrita do catálogo.
+ * Enquanto não estiver pronto, o LivroService continua usando a query do banco.
+ */
+@Component
+public class TituloIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TituloIndex.class);
+
+    private static final int TAMANHO_GRAMA = 3;
+
+    private final LivroRepository livroRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Título normalizado (sem acentos, minúsculas), usado na verificação final e na ordenação
+    private final Map<Long, String> titulos = new HashMap<>();
+
+    // Trigrama (3 chars empacotados em um long) -> IDs ordenados
+    private final Map<Long, long[]> postings = new HashMap<>();
+
+    // Todos os IDs em ordem de (título normalizado, id): a ordenação por título só filtra esta lista
+    private long[] porTitulo = Postings.VAZIO;
+
+    private volatile boolean pronto = false;
+
+    public TituloIndex(LivroRepository livroRepository) {
+        this.livroRepository = livroRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            titulos.clear();
+            postings.clear();
+            List<LivroIndexavel> livros = livroRepository.findAllIndexaveis();
+            livros.forEach(livro -> indexar(livro, false));
+            // Ordenação completa só na carga; depois cada livro salvo entra na sua posição
+            porTitulo = titulos.entrySet().stream()
+                    .sorted(Map.Entry.<Long, String>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .mapToLong(Map.Entry::getKey)
+                    .toArray();
+            pronto = true;
+            logger.info("Índice de títulos carregado: {} livros, {} trigramas", titulos.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLivroSalvo(LivroSalvoEvent event) {
+        lock.writeLock().lock();
+        try {
+            indexar(event.livro(), true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lote da importação: os livros novos entram em porTitulo numa única intercalação.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAcervoImportado(AcervoImportadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            List<Long> novos = new ArrayList<>(event.livrosNovos().size());
+            for (LivroIndexavel livro : event.livrosNovos()) {
+                boolean conhecido = titulos.containsKey(livro.id());
+                indexar(livro, conhecido);
+                if (!conhecido) {
+                    novos.add(livro.id());
+                }
+            }
+            intercalarPorTitulo(novos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Se o índice sabe entregar os IDs na ordenação pedida (id ou titulo).
+     * Nas demais, o banco ordena só os IDs encontrados.
+     */
+    public boolean ordena(Sort sort) {
+        String campo = ordem(sort).getProperty();
+        return "id".equals(campo) || "titulo".equals(campo);
+    }
+
+    /**
+     * Busca parcial, insensível a maiúsculas e acentos (LIKE '%termo%' sobre o texto normalizado).
+     *
+     * @param termo Trecho do título
+     * @param sort  Ordenação desejada
+     * @return IDs encontrados, na ordenação pedida se {@link #ordena(Sort)}; senão, por id
+     */
+    public long[] buscar(String termo, Sort sort) {
+        Sort.Order ordem = ordem(sort);
+
+        lock.readLock().lock();
+        try {
+            long[] ids = buscarIds(TextNormalizer.fold(termo));
+
+            if ("titulo".equals(ordem.getProperty())) {
+                return naOrdemDoTitulo(ids, ordem.isDescending());
+            }
+            if (!"id".equals(ordem.getProperty())) {
+                return ids;
+            }
+
+            if (ordem.isDescending()) {
+                for (int i = 0, j = ids.length - 1; i < j; i++, j--) {
+                    long tmp = ids[i];
+                    ids[i] = ids[j];
+                    ids[j] = tmp;
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS (chamados com o lock adquirido)
+    // ================================================================================
+
+    private static Sort.Order ordem(Sort sort) {
+        return sort.isSorted() ? sort.iterator().next() : Sort.Order.asc("id");
+    }
+
+    /**
+     * Percorre a lista já ordenada por título e fica com os IDs encontrados (ordenados por id),
+     * parando quando todos aparecerem: nada é ordenado por requisição.
+     */
+    private long[] naOrdemDoTitulo(long[] ids, boolean decrescente) {
+        long[] saida = new long[ids.length];
+        if (ids.length == 0) {
+            return saida;
+        }
+
+        LongPredicate encontrado;
+        long maior = ids[ids.length - 1];
+        if (ids[0] >= 0 && maior < Integer.MAX_VALUE) {
+            BitSet marcados = new BitSet((int) maior + 1);
+            for (long id : ids) {
+                marcados.set((int) id);
+            }
+            encontrado = id -> id >= 0 && id <= maior && marcados.get((int) id);
+        } else {
+            encontrado = id -> Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        int n = 0;
+        for (int i = 0; i < porTitulo.length && n < saida.length; i++) {
+            long id = porTitulo[decrescente ? porTitulo.length - 1 - i : i];
+            if (encontrado.test(id)) {
+                saida[n++] = id;
+            }
+        }
+        return n == saida.length ? saida : Arrays.copyOf(saida, n);
+    }
+
+    /**
+     * Ordena os IDs novos por (título, id) e os intercala com porTitulo numa passada.
+     */
+    private void intercalarPorTitulo(List<Long> novos) {
+        if (novos.isEmpty()) {
+            return;
+        }
+        Comparator<Long> porTituloEId = Comparator.<Long, String>comparing(titulos::get).thenComparing(id -> id);
+        novos.sort(porTituloEId);
+
+        long[] saida = new long[porTitulo.length + novos.size()];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < porTitulo.length || j < novos.size()) {
+            if (j == novos.size() || (i < porTitulo.length && porTituloEId.compare(porTitulo[i], novos.get(j)) < 0)) {
+                saida[n++] = porTitulo[i++];
+            } else {
+                saida[n++] = novos.get(j++);
+            }
+        }
+        porTitulo = saida;
+    }
+
+    /**
+     * Posição do livro em porTitulo (busca binária por título e id), ou -(ponto de inserção) - 1.
+     */
+    private int posicaoPorTitulo(String titulo, long id) {
+        int inicio = 0;
+        int fim = porTitulo.length - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            long outro = porTitulo[meio];
+            int comparacao = titulos.get(outro).compareTo(titulo);
+            if (comparacao == 0) {
+                comparacao = Long.compare(outro, id);
+            }
+            if (comparacao < 0) {
+                inicio = meio + 1;
+            } else if (comparacao > 0) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(inicio + 1);
+    }
+
+    private long[] buscarIds(String termo) {
+        Set<Long> gramas = gramas(termo);
+
+        // Termos curtos não geram trigramas: varre os títulos em memória
+        if (gramas.isEmpty()) {
+            return titulos.entrySet().stream()
+                    .filter(e -> e.getValue().contains(termo))
+                    .mapToLong(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+        }
+
+        List<long[]> listas = new ArrayList<>(gramas.size());
+        for (Long grama : gramas) {
+            long[] lista = postings.get(grama);
+            if (lista == null) {
+                return Postings.VAZIO;
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(l -> l.length));
+
+        long[] candidatos = listas.get(0);
+        for (int i = 1; i < listas.size() && candidatos.length > 0; i++) {
+            candidatos = Postings.intersecao(candidatos, listas.get(i));
+        }
+
+        // Trigramas presentes não garantem o trecho contíguo: confirma no título
+        return Arrays.stream(candidatos)
+                .filter(id -> titulos.get(id).contains(termo))
+                .toArray();
+    }
+
+    private void indexar(LivroIndexavel livro, boolean manterOrdem) {
+        String anterior = titulos.get(livro.id());
+        String titulo = TextNormalizer.fold(livro.titulo());
+
+        if (titulo.equals(anterior)) {
+            return;
+        }
+        if (anterior != null && manterOrdem) {
+            int posicao = posicaoPorTitulo(anterior, livro.id());
+            if (posicao >= 0) {
+                long[] menor = new long[porTitulo.length - 1];
+                System.arraycopy(porTitulo, 0, menor, 0, posicao);
+                System.arraycopy(porTitulo, posicao + 1, menor, posicao, menor.length - posicao);
+                porTitulo = menor;
+            }
+        }
+        if (anterior != null) {
+            for (Long grama : gramas(anterior)) {
+                long[] lista = Postings.remover(postings.get(grama), livro.id());
+                if (lista.length == 0) {
+                    postings.remove(grama);
+                } else {
+                    postings.put(grama, lista);
+                }
+            }
+        }
+
+        titulos.put(livro.id(), titulo);
+        for (Long grama : gramas(titulo)) {
+            postings.put(grama, Postings.inserir(postings.getOrDefault(grama, Postings.VAZIO), livro.id()));
+        }
+
+        if (manterOrdem) {
+            int posicao = -posicaoPorTitulo(titulo, livro.id()) - 1;
+            long[] maior = new long[porTitulo.length + 1];
+            System.arraycopy(porTitulo, 0, maior, 0, posicao);
+            maior[posicao] = livro.id();
+            System.arraycopy(porTitulo, posicao, maior, posicao + 1, porTitulo.length - posicao);
+            porTitulo = maior;
+        }
+    }
+
+    private static Set<Long> gramas(String texto) {
+        Set<Long> gramas = new LinkedHashSet<>();
+        for (int i = 0; i + TAMANHO_GRAMA <= texto.length(); i++) {
+            gramas.add(((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2));
+        }
+        return gramas;
+    }
+}
@@ -1,13 +1,20 @@
 package com.localibrary.repository;
 
+import com.localibrary.dto.LivroAcervoDTO;
 import com.localibrary.entity.BibliotecaLivro;
+import com.localibrary.index.AdicaoAcervo;
+import com.localibrary.index.ContagemPorLivro;
+import com.localibrary.index.Posse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,23 +24,56 @@ import java.util.Optional;
 @Repository
 public interface BibliotecaLivroRepository extends JpaRepository<BibliotecaLivro, BibliotecaLivro.BibliotecaLivroId> {
 
+    /**
+     * ✅ NOVO: Projeção das listagens do acervo (colunas exibidas, sem resumo nem entidades)
+     */
+    String SELECT_ACERVO = "SELECT new com.localibrary.dto.LivroAcervoDTO(" +
+            "l.id, l.titulo, l.autor, l.isbn, l.capa, bl.quantidade) " +
+            "FROM BibliotecaLivro bl JOIN bl.livro l ";
+
     /**
      * Lista livros de uma biblioteca específica (RF-10)
      */
     @Query("SELECT bl FROM BibliotecaLivro bl " +
             "WHERE bl.biblioteca.id = :idBiblioteca")
+    @EntityGraph("BibliotecaLivro.acervo")
     List<BibliotecaLivro> findByBibliotecaId(@Param("idBiblioteca") Long idBiblioteca);
 
     /**
      * Versão paginada para a listagem de acervo
      */
-    @Query("SELECT bl FROM BibliotecaLivro bl " +
+    @Query(value = SELECT_ACERVO +
+            "WHERE bl.biblioteca.id = :idBiblioteca",
+            countQuery = "SELECT COUNT(bl) FROM BibliotecaLivro bl " +
+            "WHERE bl.biblioteca.id = :idBiblioteca")
+    Page<LivroAcervoDTO> findByBibliotecaId(@Param("idBiblioteca") Long idBiblioteca, Pageable pageable);
+
+    /**
+     * ✅ NOVO: Acervo sem COUNT (Slice) e o total separado (usado via ContagemCache)
+     */
+    @Query(SELECT_ACERVO +
             "WHERE bl.biblioteca.id = :idBiblioteca")
-    Page<BibliotecaLivro> findByBibliotecaId(@Param("idBiblioteca") Long idBiblioteca, Pageable pageable);
+    Slice<LivroAcervoDTO> findSliceByBibliotecaId(@Param("idBiblioteca") Long idBiblioteca, Pageable pageable);
+
+    long countByBibliotecaId(Long idBiblioteca);
+
+    /**
+     * ✅ NOVO: Acervo por cursor (keyset) em (livro.titulo, livro.id), sem OFFSET nem COUNT
+     */
+    @Query(SELECT_ACERVO +
+            "WHERE bl.biblioteca.id = :idBiblioteca " +
+            "AND (l.titulo > :ultimoTitulo OR (l.titulo = :ultimoTitulo AND l.id > :ultimoId)) " +
+            "ORDER BY l.titulo, l.id")
+    List<LivroAcervoDTO> findByBibliotecaIdAfter(@Param("idBiblioteca") Long idBiblioteca,
+                                                 @Param("ultimoTitulo") String ultimoTitulo,
+                                                 @Param("ultimoId") Long ultimoId,
+                                                 Pageable pageable);
 
     /**
      * Busca relacionamento específico entre biblioteca e livro
+     * ✅ NOVO: Já com o livro (a resposta é um LivroAcervoDTO)
      */
+    @EntityGraph("BibliotecaLivro.acervo")
     Optional<BibliotecaLivro> findByBibliotecaIdAndLivroId(Long bibliotecaId, Long LivroId);
 
     /**
@@ -52,4 +92,33 @@ public interface BibliotecaLivroRepository extends JpaRepository<BibliotecaLivro
     @Query("SELECT SUM(bl.quantidade) FROM BibliotecaLivro bl")
     Long sumTotalExemplares();
 
+    /**
+     * ✅ NOVO: Número de bibliotecas ATIVAS por livro (carga do índice de popularidade)
+     */
+    @Query("SELECT new com.localibrary.index.ContagemPorLivro(bl.livro.id, COUNT(DISTINCT bl.biblioteca.id)) " +
+            "FROM BibliotecaLivro bl " +
+            "WHERE bl.biblioteca.status = 'ATIVO' " +
+            "GROUP BY bl.livro.id")
+    List<ContagemPorLivro> countBibliotecasAtivasPorLivro();
+
+    /**
+     * ✅ NOVO: IDs dos livros do acervo de uma biblioteca (atualização incremental da popularidade)
+     */
+    @Query("SELECT bl.livro.id FROM BibliotecaLivro bl WHERE bl.biblioteca.id = :idBiblioteca")
+    List<Long> findLivroIdsByBibliotecaId(@Param("idBiblioteca") Long idBiblioteca);
+
+    /**
+     * ✅ NOVO: Adições ao acervo a partir de um instante (carga do índice de tendências)
+     */
+    @Query("SELECT new com.localibrary.index.AdicaoAcervo(bl.livro.id, bl.createdAt) " +
+            "FROM BibliotecaLivro bl " +
+            "WHERE bl.createdAt > :desde")
+    List<AdicaoAcervo> findAdicoesDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * ✅ NOVO: Todos os pares (livro, biblioteca) do acervo (carga do índice espacial)
+     */
+    @Query("SELECT new com.localibrary.index.Posse(bl.livro.id, bl.biblioteca.id) FROM BibliotecaLivro bl")
+    List<Posse> findAllPosses();
+
 }
\ No newline at end of file
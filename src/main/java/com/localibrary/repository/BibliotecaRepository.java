@@ -1,14 +1,25 @@
 package com.localibrary.repository;
 
+import com.localibrary.dto.BibliotecaMapaDTO;
+import com.localibrary.dto.ContagemPorStatus;
+import com.localibrary.dto.response.BibliotecaResponseDTO;
 import com.localibrary.entity.Biblioteca;
 import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.index.BibliotecaLocalizada;
+import com.localibrary.util.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +30,13 @@ import java.util.Optional;
 @Repository
 public interface BibliotecaRepository extends JpaRepository<Biblioteca, Long> {
 
+    /**
+     * ✅ NOVO: Projeção da listagem pública (biblioteca + endereço, sem entidades)
+     */
+    String SELECT_RESPOSTA = "SELECT new com.localibrary.dto.response.BibliotecaResponseDTO(" +
+            "b.id, b.nomeFantasia, e.latitude, e.longitude, e.logradouro, e.numero, e.bairro, e.cidade, e.estado) " +
+            "FROM Biblioteca b LEFT JOIN b.endereco e ";
+
     /**
      * Busca biblioteca por CNPJ
      */
@@ -31,9 +49,107 @@ public interface BibliotecaRepository extends JpaRepository<Biblioteca, Long> {
 
     /**
      * Versão paginada para Admin
+     * ✅ NOVO: Endereço e credencial no mesmo SELECT (BibliotecaAdminDTO usa os dois)
      */
+    @EntityGraph("Biblioteca.admin")
     Page<Biblioteca> findByStatus(StatusBiblioteca status, Pageable pageable);
 
+    @Override
+    @EntityGraph("Biblioteca.admin")
+    Page<Biblioteca> findAll(Pageable pageable);
+
+    /**
+     * ✅ NOVO: Versões sem COUNT (Slice)
+     */
+    @EntityGraph("Biblioteca.admin")
+    Slice<Biblioteca> findSliceByStatus(StatusBiblioteca status, Pageable pageable);
+
+    @EntityGraph("Biblioteca.admin")
+    Slice<Biblioteca> findSliceBy(Pageable pageable);
+
+    /**
+     * ✅ NOVO: Paginação por cursor (keyset) em (nomeFantasia, id), sem OFFSET nem COUNT
+     * Status opcional (null = todos)
+     */
+    @Query("SELECT b FROM Biblioteca b " +
+            "WHERE (:status IS NULL OR b.status = :status) " +
+            "AND (b.nomeFantasia > :ultimoNome OR (b.nomeFantasia = :ultimoNome AND b.id > :ultimoId)) " +
+            "ORDER BY b.nomeFantasia, b.id")
+    @EntityGraph("Biblioteca.admin")
+    List<Biblioteca> findByStatusAfter(@Param("status") StatusBiblioteca status,
+                                       @Param("ultimoNome") String ultimoNome,
+                                       @Param("ultimoId") Long ultimoId,
+                                       Pageable pageable);
+
+    /**
+     * ✅ NOVO: Listagem pública por status, já como projeção (página, Slice e cursor)
+     * Resultados no cache de consultas: o Hibernate descarta a entrada quando tbl_biblioteca
+     * ou tbl_endereco mudam.
+     */
+    @Query(value = SELECT_RESPOSTA + "WHERE b.status = :status",
+            countQuery = "SELECT COUNT(b) FROM Biblioteca b WHERE b.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.REGIAO_CONSULTAS_BIBLIOTECA)
+    })
+    Page<BibliotecaResponseDTO> findRespostasByStatus(@Param("status") StatusBiblioteca status, Pageable pageable);
+
+    @Query(SELECT_RESPOSTA + "WHERE b.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.REGIAO_CONSULTAS_BIBLIOTECA)
+    })
+    Slice<BibliotecaResponseDTO> findSliceRespostasByStatus(@Param("status") StatusBiblioteca status, Pageable pageable);
+
+    @Query(SELECT_RESPOSTA +
+            "WHERE b.status = :status " +
+            "AND (b.nomeFantasia > :ultimoNome OR (b.nomeFantasia = :ultimoNome AND b.id > :ultimoId)) " +
+            "ORDER BY b.nomeFantasia, b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.REGIAO_CONSULTAS_BIBLIOTECA)
+    })
+    List<BibliotecaResponseDTO> findRespostasByStatusAfter(@Param("status") StatusBiblioteca status,
+                                                           @Param("ultimoNome") String ultimoNome,
+                                                           @Param("ultimoId") Long ultimoId,
+                                                           Pageable pageable);
+
+    /**
+     * ✅ NOVO: Apenas os IDs (carga dos índices em memória)
+     */
+    @Query("SELECT b.id FROM Biblioteca b WHERE b.status = :status")
+    List<Long> findIdsByStatus(@Param("status") StatusBiblioteca status);
+
+    /**
+     * ✅ NOVO: Só o status (vazio se a biblioteca não existe mais)
+     */
+    @Query("SELECT b.status FROM Biblioteca b WHERE b.id = :id")
+    Optional<StatusBiblioteca> findStatusById(@Param("id") Long id);
+
+    /**
+     * ✅ NOVO: Coordenadas das bibliotecas ativas em São Paulo (carga do índice espacial)
+     */
+    @Query("SELECT new com.localibrary.index.BibliotecaLocalizada(b.id, b.endereco.latitude, b.endereco.longitude) " +
+            "FROM Biblioteca b " +
+            "WHERE b.status = 'ATIVO' " +
+            "AND b.endereco.cidade = 'São Paulo'")
+    List<BibliotecaLocalizada> findLocalizacoesAtivas();
+
+    /**
+     * ✅ NOVO: Totais de bibliotecas por status numa consulta (Dashboard, RF-16)
+     */
+    @Query("SELECT new com.localibrary.dto.ContagemPorStatus(b.status, COUNT(b)) FROM Biblioteca b GROUP BY b.status")
+    List<ContagemPorStatus> countPorStatus();
+
+    /**
+     * ✅ NOVO: Bibliotecas de todos os status com coordenadas (carga do índice do mapa:
+     * o mapa público usa só as ativas, o do Dashboard usa todas)
+     */
+    @Query("SELECT new com.localibrary.dto.BibliotecaMapaDTO(b.id, b.nomeFantasia, b.status, e.latitude, e.longitude, e.cidade) " +
+            "FROM Biblioteca b JOIN b.endereco e " +
+            "WHERE e.latitude IS NOT NULL AND e.longitude IS NOT NULL")
+    List<BibliotecaMapaDTO> findParaMapa();
+
     /**
      * Contagens para o Dashboard
      */
@@ -45,6 +161,7 @@ public interface BibliotecaRepository extends JpaRepository<Biblioteca, Long> {
     @Query("SELECT b FROM Biblioteca b " +
             "WHERE b.status = 'ATIVO' " +
             "AND b.endereco.cidade = 'São Paulo'")
+    @EntityGraph("Biblioteca.porLivro")
     List<Biblioteca> findBibliotecasAtivasEmSaoPaulo();
 
     /**
@@ -55,8 +172,24 @@ public interface BibliotecaRepository extends JpaRepository<Biblioteca, Long> {
             "WHERE bl.livro.id = :idLivro " +
             "AND b.status = 'ATIVO' " +
             "AND b.endereco.cidade = 'São Paulo'")
+    @EntityGraph("Biblioteca.porLivro")
     List<Biblioteca> findByLivroAndStatusAtivo(@Param("idLivro") Long idLivro);
 
+    /**
+     * ✅ NOVO: Bibliotecas ativas dentro de um retângulo lat/lon (pré-filtro da busca por raio)
+     * Usa o índice idx_endereco_lat_lon; a distância exata é refinada no service.
+     */
+    @Query("SELECT b FROM Biblioteca b " +
+            "JOIN FETCH b.endereco e " +
+            "WHERE b.status = 'ATIVO' " +
+            "AND e.latitude BETWEEN :latMin AND :latMax " +
+            "AND e.longitude BETWEEN :lonMin AND :lonMax")
+    @EntityGraph("Biblioteca.porLivro")
+    List<Biblioteca> findAtivasNoRetangulo(@Param("latMin") BigDecimal latMin,
+                                           @Param("latMax") BigDecimal latMax,
+                                           @Param("lonMin") BigDecimal lonMin,
+                                           @Param("lonMax") BigDecimal lonMax);
+
     /**
      * Verifica se existe biblioteca com o CNPJ informado (exceto a própria)
      */
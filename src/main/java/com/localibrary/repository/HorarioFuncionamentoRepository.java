@@ -2,9 +2,14 @@ package com.localibrary.repository;
 
 import com.localibrary.entity.HorarioFuncionamento;
 import com.localibrary.enums.DiaSemana;
+import com.localibrary.util.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +23,16 @@ public interface HorarioFuncionamentoRepository extends JpaRepository<HorarioFun
      * Busca todos os horários de uma biblioteca
      */
     List<HorarioFuncionamento> findByBibliotecaId(Long idBiblioteca);
+
+    /**
+     * ✅ NOVO: Horários de várias bibliotecas de uma vez (página da listagem pública)
+     * No cache de consultas junto com a página; os horários em si vêm do cache de entidades.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Constants.REGIAO_CONSULTAS_BIBLIOTECA)
+    })
+    List<HorarioFuncionamento> findByBibliotecaIdIn(Collection<Long> idsBiblioteca);
     
     /**
      * Busca horário de um dia específico de uma biblioteca
@@ -1,6 +1,7 @@
 package com.localibrary.repository;
 
 import com.localibrary.entity.LivroGenero;
+import com.localibrary.index.GeneroDoLivro;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,12 @@ public interface LivroGeneroRepository extends JpaRepository<LivroGenero, LivroG
     @Query("SELECT lg FROM LivroGenero lg WHERE lg.livro.id = :idLivro")
     List<LivroGenero> findByLivroId(@Param("idLivro") Long idLivro);
 
+    /**
+     * ✅ NOVO: Todos os pares (livro, gênero) (carga do índice de similaridade)
+     */
+    @Query("SELECT new com.localibrary.index.GeneroDoLivro(lg.livro.id, lg.genero.id) FROM LivroGenero lg")
+    List<GeneroDoLivro> findAllPares();
+
     /**
      * Remove todos os gêneros de um livro (útil para atualização)
      */
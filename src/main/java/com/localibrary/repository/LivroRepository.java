@@ -1,13 +1,20 @@
 package com.localibrary.repository;
 
+import com.localibrary.dto.response.LivroResponseDTO;
 import com.localibrary.entity.Livro;
+import com.localibrary.index.LivroIndexavel;
+import com.localibrary.util.Constants;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +23,12 @@ import java.util.Optional;
 @Repository
 public interface LivroRepository extends JpaRepository<Livro, Long> {
 
+    /**
+     * ✅ NOVO: Projeção das listagens: só as colunas exibidas e o começo do resumo (TEXT)
+     */
+    String SELECT_RESUMO = "SELECT new com.localibrary.dto.response.LivroResponseDTO(" +
+            "l.id, l.titulo, l.autor, l.capa, SUBSTRING(l.resumo, 1, " + (Constants.TAMANHO_TRECHO_RESUMO + 1) + ")) ";
+
     /**
      * Busca livro por ISBN
      */
@@ -24,42 +37,95 @@ public interface LivroRepository extends JpaRepository<Livro, Long> {
     /**
      * ✅ CORREÇÃO: Busca livro por ID com gêneros carregados (evita N+1)
      * Resolve: Bug de performance em LivroDetalhesDTO
+     * ✅ NOVO: Plano de carga no entity graph Livro.detalhes (gêneros + gênero)
      */
-    @Query("SELECT DISTINCT l FROM Livro l " +
-            "LEFT JOIN FETCH l.generos lg " +
-            "LEFT JOIN FETCH lg.genero " +
-            "WHERE l.id = :id")
+    @Query("SELECT l FROM Livro l WHERE l.id = :id")
+    @EntityGraph("Livro.detalhes")
     Optional<Livro> findByIdWithGeneros(@Param("id") Long id);
 
     /**
      * Busca livros por título (RF-02)
      * Busca parcial, insensível a maiúsculas/minúsculas
      */
-    @Query("SELECT l FROM Livro l " +
+    @Query(value = SELECT_RESUMO + "FROM Livro l " +
+            "WHERE LOWER(l.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))",
+            countQuery = "SELECT COUNT(l) FROM Livro l " +
+            "WHERE LOWER(l.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
+    Page<LivroResponseDTO> searchByTitulo(@Param("titulo") String titulo, Pageable pageable);
+
+    /**
+     * ✅ NOVO: Mesma busca sem COUNT (Slice busca size + 1 linhas)
+     */
+    @Query(SELECT_RESUMO + "FROM Livro l " +
             "WHERE LOWER(l.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
-    Page<Livro> searchByTitulo(@Param("titulo") String titulo, Pageable pageable);
+    Slice<LivroResponseDTO> searchSliceByTitulo(@Param("titulo") String titulo, Pageable pageable);
+
+    /**
+     * ✅ NOVO: Total da busca por título (usado via ContagemCache)
+     */
+    @Query("SELECT COUNT(l) FROM Livro l " +
+            "WHERE LOWER(l.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
+    long countByTituloLike(@Param("titulo") String titulo);
+
+    /**
+     * ✅ NOVO: Busca por título com cursor (keyset) em (titulo, id), sem OFFSET nem COUNT
+     */
+    @Query(SELECT_RESUMO + "FROM Livro l " +
+            "WHERE LOWER(l.titulo) LIKE LOWER(CONCAT('%', :titulo, '%')) " +
+            "AND (l.titulo > :ultimoTitulo OR (l.titulo = :ultimoTitulo AND l.id > :ultimoId)) " +
+            "ORDER BY l.titulo, l.id")
+    List<LivroResponseDTO> searchByTituloAfter(@Param("titulo") String titulo,
+                                               @Param("ultimoTitulo") String ultimoTitulo,
+                                               @Param("ultimoId") Long ultimoId,
+                                               Pageable pageable);
+
+    /**
+     * ✅ NOVO: Carga dos índices em memória (sem o TEXT de resumo)
+     */
+    @Query("SELECT new com.localibrary.index.LivroIndexavel(l.id, l.titulo, l.autor, l.isbn, l.editora, l.capa) " +
+            "FROM Livro l")
+    List<LivroIndexavel> findAllIndexaveis();
+
+    /**
+     * ✅ NOVO: IDs de todos os livros, em ordem (validação do snapshot de tendências)
+     */
+    @Query("SELECT l.id FROM Livro l ORDER BY l.id")
+    List<Long> findAllIdsOrdenados();
+
+    /**
+     * ✅ NOVO: Hidrata os IDs vindos dos índices em memória (páginas e rankings), já como projeção
+     */
+    @Query(SELECT_RESUMO + "FROM Livro l WHERE l.id IN :ids")
+    List<LivroResponseDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * ✅ NOVO: Página dos IDs encontrados pelo índice de títulos, ordenada pelo banco
+     * (ordenações que o índice não conhece; o total já vem do índice, sem COUNT)
+     */
+    @Query(SELECT_RESUMO + "FROM Livro l WHERE l.id IN :ids")
+    List<LivroResponseDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
 
     /**
      * ✅ CORREÇÃO RF-03: Livros mais populares (baseado no NÚMERO DE BIBLIOTECAS)
      * Antes: Ordenava por SUM(quantidade) - total de exemplares
      * Agora: Ordena por COUNT(DISTINCT biblioteca) - número de bibliotecas diferentes
      */
-    @Query("SELECT bl.livro " +
-            "FROM BibliotecaLivro bl " +
+    @Query(SELECT_RESUMO +
+            "FROM BibliotecaLivro bl JOIN bl.livro l " +
             "WHERE bl.biblioteca.status = 'ATIVO' " +
-            "GROUP BY bl.livro " +
+            "GROUP BY l.id " +
             "ORDER BY COUNT(DISTINCT bl.biblioteca.id) DESC")
-    Page<Livro> findLivrosPopulares(Pageable pageable);
+    List<LivroResponseDTO> findLivrosPopulares(Pageable pageable);
 
     /**
      * Busca livros similares por gênero (para recomendações - RF-05)
      */
-    @Query("SELECT DISTINCT l FROM Livro l " +
-            "JOIN l.generos lg " +
-            "WHERE lg.genero.id IN " +
-            "(SELECT lg2.genero.id FROM LivroGenero lg2 WHERE lg2.livro.id = :idLivro) " +
+    @Query(SELECT_RESUMO + "FROM Livro l " +
+            "WHERE l.id IN " +
+            "(SELECT lg.livro.id FROM LivroGenero lg WHERE lg.genero.id IN " +
+            "(SELECT lg2.genero.id FROM LivroGenero lg2 WHERE lg2.livro.id = :idLivro)) " +
             "AND l.id != :idLivro")
-    Page<Livro> findLivrosSimilares(@Param("idLivro") Long idLivro, Pageable pageable);
+    List<LivroResponseDTO> findLivrosSimilares(@Param("idLivro") Long idLivro, Pageable pageable);
 
     /**
      * Verifica se ISBN já está cadastrado
@@ -1,10 +1,15 @@
 package com.localibrary.service;
 
+import com.localibrary.cache.ContagemCache;
+import com.localibrary.cache.DashboardCache;
 import com.localibrary.dto.BibliotecaAdminDTO;
-import com.localibrary.dto.BibliotecaMapaDTO;
+import com.localibrary.dto.ContagemPorStatus;
 import com.localibrary.dto.DashboardDTO;
 import com.localibrary.dto.UpdateStatusBibliotecaDTO;
 import com.localibrary.dto.response.AdminResponseDTO;
+import com.localibrary.dto.response.CursorPageDTO;
+import com.localibrary.dto.response.MapaBibliotecasDTO;
+import com.localibrary.dto.response.SliceDTO;
 import com.localibrary.dto.request.CreateModeratorRequestDTO;
 import com.localibrary.dto.request.UpdateStatusRequestDTO;
 import com.localibrary.entity.Admin;
@@ -12,6 +17,7 @@ import com.localibrary.entity.Biblioteca;
 import com.localibrary.enums.RoleAdmin;
 import com.localibrary.enums.StatusAdmin;
 import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.event.BibliotecaAlteradaEvent;
 import com.localibrary.exception.DuplicateResourceException;
 import com.localibrary.exception.ResourceNotFoundException;
 import com.localibrary.repository.AdminRepository;
@@ -22,55 +28,72 @@ import com.localibrary.util.PaginationHelper;
 
 import static com.localibrary.util.Constants.*;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class AdminService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
+
     private final AdminRepository adminRepository;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
     private final BibliotecaRepository bibliotecaRepository;
     private final LivroRepository livroRepository;
     private final BibliotecaLivroRepository bibliotecaLivroRepository;
+    private final ContagemCache contagemCache;
+    private final DashboardCache dashboardCache;
+    private final BibliotecaService bibliotecaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(AdminRepository adminRepository,
                         org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
                         BibliotecaRepository bibliotecaRepository,
                         LivroRepository livroRepository,
-                        BibliotecaLivroRepository bibliotecaLivroRepository) {
+                        BibliotecaLivroRepository bibliotecaLivroRepository,
+                        ContagemCache contagemCache,
+                        DashboardCache dashboardCache,
+                        BibliotecaService bibliotecaService,
+                        ApplicationEventPublisher eventPublisher) {
         this.adminRepository = adminRepository;
         this.passwordEncoder = passwordEncoder;
         this.bibliotecaRepository = bibliotecaRepository;
         this.livroRepository = livroRepository;
         this.bibliotecaLivroRepository = bibliotecaLivroRepository;
+        this.contagemCache = contagemCache;
+        this.dashboardCache = dashboardCache;
+        this.bibliotecaService = bibliotecaService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * ✅ CORREÇÃO RF-16: Dashboard agora inclui mapa de localização
+     * ✅ NOVO: Os totais saem de uma contagem por status e ficam no DashboardCache; o mapa é
+     * montado a cada requisição pelo MapaIndex (em memória), no zoom e na área pedidos.
+     *
+     * @param zoom Zoom do mapa (null = ZOOM_DASHBOARD)
+     * @param bbox Área visível "oeste,sul,leste,norte" (obrigatória a partir de ZOOM_PINOS)
      */
-    public DashboardDTO getDashboardData() {
-        long totalLibs = bibliotecaRepository.count();
-        long activeLibs = bibliotecaRepository.countByStatus(StatusBiblioteca.ATIVO);
-        long pendingLibs = bibliotecaRepository.countByStatus(StatusBiblioteca.PENDENTE);
-        long totalBooks = livroRepository.count();
-        Long totalCopies = bibliotecaLivroRepository.sumTotalExemplares();
-
-        // ✅ NOVO: Busca bibliotecas para o mapa
-        List<BibliotecaMapaDTO> bibliotecasMapa = bibliotecaRepository.findAll().stream()
-                .map(BibliotecaMapaDTO::new)
-                .toList();
-
-        return DashboardDTO.builder()
-                .totalBibliotecas(totalLibs)
-                .bibliotecasAtivas(activeLibs)
-                .bibliotecasPendentes(pendingLibs)
-                .totalLivrosCadastrados(totalBooks)
-                .totalExemplares(totalCopies != null ? totalCopies : 0)
-                .bibliotecasMapa(bibliotecasMapa)
+    public DashboardDTO getDashboardData(Integer zoom, String bbox) {
+        // Validado antes dos totais: zoom ou área inválidos não disparam as consultas
+        MapaBibliotecasDTO mapa = bibliotecaService.buscarMapaDashboard(zoom != null ? zoom : ZOOM_DASHBOARD, bbox);
+        return dashboardCache.obter(this::calcularDashboard).toBuilder()
+                .zoomMapa(mapa.getZoom())
+                .clustersMapa(mapa.getClusters())
+                .bibliotecasMapa(mapa.getBibliotecas())
+                .mapaTruncado(mapa.isTruncado())
                 .build();
     }
 
@@ -91,6 +114,38 @@ public class AdminService {
         return libsPage.map(BibliotecaAdminDTO::new);
     }
 
+    /**
+     * ✅ NOVO: Listagem sem COUNT por página (Slice + total aproximado em cache)
+     */
+    public SliceDTO<BibliotecaAdminDTO> listBibliotecasSlice(StatusBiblioteca status, Integer page, Integer size, String sortField, String sortDir) {
+        Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
+
+        Slice<Biblioteca> libsSlice;
+        long total;
+        if (status != null) {
+            libsSlice = bibliotecaRepository.findSliceByStatus(status, pageable);
+            total = contagemCache.obter("bibliotecas:status:" + status, () -> bibliotecaRepository.countByStatus(status));
+        } else {
+            libsSlice = bibliotecaRepository.findSliceBy(pageable);
+            total = contagemCache.obter("bibliotecas:todas", bibliotecaRepository::count);
+        }
+
+        return new SliceDTO<>(libsSlice.map(BibliotecaAdminDTO::new), total);
+    }
+
+    /**
+     * ✅ NOVO: Listagem por cursor (ordem alfabética), status opcional, sem COUNT
+     */
+    public CursorPageDTO<BibliotecaAdminDTO> listBibliotecasPorCursor(StatusBiblioteca status, String cursor, Integer size) {
+        PaginationHelper.Cursor posicao = PaginationHelper.decodeCursor(cursor);
+
+        List<Biblioteca> linhas = bibliotecaRepository.findByStatusAfter(
+                status, posicao.chave(), posicao.id(), PaginationHelper.createKeysetPageable(size));
+
+        return CursorPageDTO.de(linhas, PaginationHelper.normalizeSize(size), BibliotecaAdminDTO::new,
+                b -> PaginationHelper.encodeCursor(b.getNomeFantasia(), b.getId()));
+    }
+
     /**
      * RF-18, RF-20: Alterar status da biblioteca (Aprovar/Bloquear)
      */
@@ -100,6 +155,7 @@ public class AdminService {
 
         lib.setStatus(dto.getStatus());
         Biblioteca saved = bibliotecaRepository.save(lib);
+        eventPublisher.publishEvent(new BibliotecaAlteradaEvent(saved.getId(), saved.getEndereco().getId()));
 
         return new BibliotecaAdminDTO(saved);
     }
@@ -108,10 +164,11 @@ public class AdminService {
      * RF-21: Excluir biblioteca
      */
     public void deleteBiblioteca(Long id) {
-        if (!bibliotecaRepository.existsById(id)) {
-            throw new ResourceNotFoundException(MSG_NAO_ENCONTRADO);
-        }
-        bibliotecaRepository.deleteById(id);
+        // Carregada (em vez de existsById) para o evento levar o ID do endereço
+        Biblioteca lib = bibliotecaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(MSG_NAO_ENCONTRADO));
+        bibliotecaRepository.delete(lib);
+        eventPublisher.publishEvent(new BibliotecaAlteradaEvent(id, lib.getEndereco().getId()));
     }
 
     /**
@@ -168,4 +225,76 @@ public class AdminService {
                 .filter(admin -> admin.getRoleAdmin() == RoleAdmin.MODERADOR)
                 .orElseThrow(() -> new ResourceNotFoundException(MSG_MODERADOR_NAO_ENCONTRADO + " com id: " + id));
     }
+
+    /**
+     * ✅ NOVO: As três contagens saem ao mesmo tempo, com prazo comum. A seção que não
+     * responder a tempo usa o valor do último Dashboard completo e é listada em
+     * secoesDesatualizadas.
+     */
+    private DashboardDTO calcularDashboard() {
+        CompletableFuture<List<ContagemPorStatus>> statusFuturo = dashboardCache.executar(bibliotecaRepository::countPorStatus);
+        CompletableFuture<Long> livrosFuturo = dashboardCache.executar(livroRepository::count);
+        CompletableFuture<Long> exemplaresFuturo = dashboardCache.executar(bibliotecaLivroRepository::sumTotalExemplares);
+
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_SECAO_DASHBOARD_MS);
+        DashboardDTO anterior = dashboardCache.getUltimoCompleto();
+        List<String> desatualizadas = new ArrayList<>();
+
+        List<ContagemPorStatus> porStatus = aguardar(statusFuturo, prazo, SECAO_DASHBOARD_BIBLIOTECAS, desatualizadas,
+                contagensPorStatus(anterior));
+        Long totalBooks = aguardar(livrosFuturo, prazo, SECAO_DASHBOARD_LIVROS, desatualizadas,
+                anterior != null ? anterior.getTotalLivrosCadastrados() : 0L);
+        Long totalCopies = aguardar(exemplaresFuturo, prazo, SECAO_DASHBOARD_EXEMPLARES, desatualizadas,
+                anterior != null ? anterior.getTotalExemplares() : 0L);
+
+        long totalLibs = 0;
+        long activeLibs = 0;
+        long pendingLibs = 0;
+        for (ContagemPorStatus c : porStatus) {
+            totalLibs += c.total();
+            if (c.status() == StatusBiblioteca.ATIVO) {
+                activeLibs = c.total();
+            } else if (c.status() == StatusBiblioteca.PENDENTE) {
+                pendingLibs = c.total();
+            }
+        }
+
+        return DashboardDTO.builder()
+                .totalBibliotecas(totalLibs)
+                .bibliotecasAtivas(activeLibs)
+                .bibliotecasPendentes(pendingLibs)
+                .totalLivrosCadastrados(totalBooks)
+                .totalExemplares(totalCopies != null ? totalCopies : 0)
+                .secoesDesatualizadas(List.copyOf(desatualizadas))
+                .build();
+    }
+
+    /**
+     * Totais do último Dashboard completo no formato da contagem por status (reserva da seção).
+     */
+    private static List<ContagemPorStatus> contagensPorStatus(DashboardDTO anterior) {
+        if (anterior == null) {
+            return List.of();
+        }
+        long outras = anterior.getTotalBibliotecas() - anterior.getBibliotecasAtivas() - anterior.getBibliotecasPendentes();
+        return List.of(
+                new ContagemPorStatus(StatusBiblioteca.ATIVO, anterior.getBibliotecasAtivas()),
+                new ContagemPorStatus(StatusBiblioteca.PENDENTE, anterior.getBibliotecasPendentes()),
+                new ContagemPorStatus(StatusBiblioteca.INATIVO, outras));
+    }
+
+    /**
+     * Resultado da seção até o prazo; em caso de atraso ou erro, o valor de reserva.
+     */
+    private <T> T aguardar(CompletableFuture<T> futuro, long prazo, String secao, List<String> desatualizadas, T reserva) {
+        try {
+            return futuro.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Dashboard: seção '{}' sem resposta atual ({})", secao, e.toString());
+        }
+        desatualizadas.add(secao);
+        return reserva;
+    }
 }
\ No newline at end of file
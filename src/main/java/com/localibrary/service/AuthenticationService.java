@@ -1,5 +1,6 @@
 package com.localibrary.service;
 
+import com.localibrary.dto.BibliotecaMapaDTO;
 import com.localibrary.dto.BibliotecaRegistrationDTO;
 import com.localibrary.dto.request.LoginRequestDTO;
 import com.localibrary.dto.response.LoginResponseDTO;
@@ -7,6 +8,7 @@ import com.localibrary.entity.Biblioteca;
 import com.localibrary.entity.CredencialBiblioteca;
 import com.localibrary.entity.Endereco;
 import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.event.BibliotecaCadastradaEvent;
 import com.localibrary.exception.DuplicateResourceException;
 import com.localibrary.repository.BibliotecaRepository;
 import com.localibrary.repository.CredencialBibliotecaRepository;
@@ -14,6 +16,7 @@ import com.localibrary.repository.EnderecoRepository;
 import com.localibrary.security.JwtTokenService;
 import com.localibrary.util.Constants;
 import com.localibrary.util.ValidationUtil;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -41,13 +44,16 @@ public class AuthenticationService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     public AuthenticationService(AuthenticationManager authenticationManager,
                                  JwtTokenService jwtTokenService,
                                  BibliotecaRepository bibliotecaRepository,
                                  CredencialBibliotecaRepository credenciaisRepository,
                                  EnderecoRepository enderecoRepository,
                                  GeolocationService geolocationService,
-                                 PasswordEncoder passwordEncoder) {
+                                 PasswordEncoder passwordEncoder,
+                                 ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenService = jwtTokenService;
         this.bibliotecaRepository = bibliotecaRepository;
@@ -55,6 +61,7 @@ public class AuthenticationService {
         this.enderecoRepository = enderecoRepository;
         this.geolocationService = geolocationService;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     public LoginResponseDTO login(LoginRequestDTO loginRequest) {
@@ -125,6 +132,7 @@ public class AuthenticationService {
 
         savedBiblioteca.setCredencial(credenciais);
         credenciaisRepository.save(credenciais);
+        eventPublisher.publishEvent(new BibliotecaCadastradaEvent(new BibliotecaMapaDTO(savedBiblioteca)));
     }
 
     private void validarCadastro(BibliotecaRegistrationDTO dto) {
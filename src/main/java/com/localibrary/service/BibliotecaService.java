@@ -1,23 +1,45 @@
 package com.localibrary.service;
 
+import com.localibrary.cache.ContagemCache;
+import com.localibrary.cache.GeneroCache;
+import com.localibrary.cache.RespostaCache;
 import com.localibrary.dto.*;
 import com.localibrary.dto.request.AddLivroRequestDTO;
 import com.localibrary.dto.response.BibliotecaResponseDTO;
+import com.localibrary.dto.response.ClusterMapaDTO;
+import com.localibrary.dto.response.CursorPageDTO;
+import com.localibrary.dto.response.MapaBibliotecasDTO;
+import com.localibrary.dto.response.SliceDTO;
 import com.localibrary.entity.*;
 import com.localibrary.enums.StatusBiblioteca;
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.BibliotecaAlteradaEvent;
+import com.localibrary.event.GenerosAlteradosEvent;
+import com.localibrary.event.LivroSalvoEvent;
 import com.localibrary.exception.DuplicateResourceException;
 import com.localibrary.exception.ResourceNotFoundException;
+import com.localibrary.index.LivroIndexavel;
+import com.localibrary.index.MapaIndex;
 import com.localibrary.repository.*;
 import com.localibrary.util.Constants;
+import com.localibrary.util.DistanceCalculator;
 import com.localibrary.util.PaginationHelper;
 import com.localibrary.util.SecurityUtil;
 import com.localibrary.util.ValidationUtil;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.localibrary.util.Constants.*;
 
@@ -27,25 +49,37 @@ public class BibliotecaService {
     private final BibliotecaRepository bibliotecaRepository;
     private final SecurityUtil securityUtil;
     private final BibliotecaLivroRepository bibliotecaLivroRepository;
+    private final HorarioFuncionamentoRepository horarioFuncionamentoRepository;
     private final LivroRepository livroRepository;
-    private final GeneroRepository generoRepository;
-    private final LivroGeneroRepository livroGeneroRepository;
+    private final GeneroCache generoCache;
     private final GeolocationService geolocationService;
+    private final ContagemCache contagemCache;
+    private final MapaIndex mapaIndex;
+    private final RespostaCache respostaCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BibliotecaService(BibliotecaRepository bibliotecaRepository,
                              SecurityUtil securityUtil,
                              BibliotecaLivroRepository bibliotecaLivroRepository,
+                             HorarioFuncionamentoRepository horarioFuncionamentoRepository,
                              LivroRepository livroRepository,
-                             GeneroRepository generoRepository,
-                             LivroGeneroRepository livroGeneroRepository,
-                             GeolocationService geolocationService) {
+                             GeneroCache generoCache,
+                             GeolocationService geolocationService,
+                             ContagemCache contagemCache,
+                             MapaIndex mapaIndex,
+                             RespostaCache respostaCache,
+                             ApplicationEventPublisher eventPublisher) {
         this.bibliotecaRepository = bibliotecaRepository;
         this.securityUtil = securityUtil;
         this.bibliotecaLivroRepository = bibliotecaLivroRepository;
+        this.horarioFuncionamentoRepository = horarioFuncionamentoRepository;
         this.livroRepository = livroRepository;
-        this.generoRepository = generoRepository;
-        this.livroGeneroRepository = livroGeneroRepository;
+        this.generoCache = generoCache;
         this.geolocationService = geolocationService;
+        this.contagemCache = contagemCache;
+        this.mapaIndex = mapaIndex;
+        this.respostaCache = respostaCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -54,22 +88,99 @@ public class BibliotecaService {
     public Page<BibliotecaResponseDTO> listarBibliotecasAtivas(Integer page, Integer size, String sortField, String sortDir) {
         Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
 
-        return bibliotecaRepository.findByStatus(StatusBiblioteca.ATIVO, pageable)
-                .map(BibliotecaResponseDTO::new);
+        Page<BibliotecaResponseDTO> pagina = bibliotecaRepository.findRespostasByStatus(StatusBiblioteca.ATIVO, pageable);
+        preencherHorarios(pagina.getContent());
+        return pagina;
+    }
+
+    /**
+     * ✅ NOVO: Bibliotecas ATIVAS sem COUNT por página (Slice + total aproximado em cache)
+     */
+    public SliceDTO<BibliotecaResponseDTO> listarBibliotecasAtivasSlice(Integer page, Integer size, String sortField, String sortDir) {
+        Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
+
+        Slice<BibliotecaResponseDTO> slice = bibliotecaRepository.findSliceRespostasByStatus(StatusBiblioteca.ATIVO, pageable);
+        preencherHorarios(slice.getContent());
+        long total = contagemCache.obter("bibliotecas:status:" + StatusBiblioteca.ATIVO,
+                () -> bibliotecaRepository.countByStatus(StatusBiblioteca.ATIVO));
+
+        return new SliceDTO<>(slice, total);
+    }
+
+    /**
+     * ✅ NOVO: Bibliotecas ATIVAS por cursor (ordem alfabética), sem OFFSET nem COUNT
+     */
+    public CursorPageDTO<BibliotecaResponseDTO> listarBibliotecasAtivasPorCursor(String cursor, Integer size) {
+        PaginationHelper.Cursor posicao = PaginationHelper.decodeCursor(cursor);
+
+        List<BibliotecaResponseDTO> linhas = bibliotecaRepository.findRespostasByStatusAfter(
+                StatusBiblioteca.ATIVO, posicao.chave(), posicao.id(), PaginationHelper.createKeysetPageable(size));
+        preencherHorarios(linhas);
+
+        return CursorPageDTO.de(linhas, PaginationHelper.normalizeSize(size), Function.identity(),
+                b -> PaginationHelper.encodeCursor(b.getNomeFantasia(), b.getId()));
+    }
+
+    /**
+     * ✅ NOVO: Bibliotecas ATIVAS num raio ao redor do usuário, da mais próxima para a mais distante
+     * O retângulo do raio filtra no banco (índice lat/lon); a distância exata é calculada
+     * uma vez por candidata e descarta os cantos do retângulo.
+     */
+    public List<BibliotecaParaLivroDTO> buscarBibliotecasProximas(Double lat, Double lon, Double raioKm) {
+        if (!ValidationUtil.isValidCoordinates(lat, lon)) {
+            throw new IllegalArgumentException(MSG_COORDENADAS_INVALIDAS);
+        }
+        double raio = raioKm != null ? raioKm : RAIO_PADRAO_KM;
+        if (!ValidationUtil.isValidRaio(raio)) {
+            throw new IllegalArgumentException(MSG_RAIO_INVALIDO);
+        }
+
+        double[] caixa = DistanceCalculator.boundingBox(lat, lon, raio);
+        List<Biblioteca> candidatas = bibliotecaRepository.findAtivasNoRetangulo(
+                BigDecimal.valueOf(caixa[0]), BigDecimal.valueOf(caixa[1]),
+                BigDecimal.valueOf(caixa[2]), BigDecimal.valueOf(caixa[3]));
+
+        return candidatas.stream()
+                .map(b -> new BibliotecaParaLivroDTO(b, DistanceCalculator.calculateDistance(lat, lon,
+                        b.getEndereco().getLatitude().doubleValue(), b.getEndereco().getLongitude().doubleValue())))
+                .filter(dto -> dto.getDistanciaKm() <= raio)
+                .sorted(Comparator.comparingDouble(BibliotecaParaLivroDTO::getDistanciaKm))
+                .toList();
+    }
+
+    /**
+     * ✅ NOVO: Mapa público agrupado por zoom (clusters abaixo de ZOOM_PINOS, pinos a partir dele)
+     *
+     * @param zoom Nível de zoom do mapa (0 a ZOOM_MAXIMO)
+     * @param bbox Área visível "oeste,sul,leste,norte" (null = mundo inteiro; obrigatória a partir de ZOOM_PINOS)
+     */
+    public MapaBibliotecasDTO buscarMapa(Integer zoom, String bbox) {
+        return montarMapa(zoom, bbox, false);
+    }
+
+    /**
+     * ✅ NOVO: Mapa do Dashboard (RF-16): mesmas regras do mapa público, com bibliotecas de todos
+     * os status e a quantidade por status em cada cluster.
+     */
+    public MapaBibliotecasDTO buscarMapaDashboard(Integer zoom, String bbox) {
+        return montarMapa(zoom, bbox, true);
     }
 
     /**
      * RF-07: Detalhes de uma biblioteca
+     * ✅ NOVO: Em cache até a biblioteca ser alterada (perfil, status ou exclusão)
      */
     public BibliotecaDetalhesDTO buscarDetalhesBiblioteca(Long id) {
-        Biblioteca biblioteca = bibliotecaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Biblioteca não encontrada com id: " + id));
+        return respostaCache.detalhesBiblioteca(id, () -> {
+            Biblioteca biblioteca = bibliotecaRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Biblioteca não encontrada com id: " + id));
 
-        if (biblioteca.getStatus() != StatusBiblioteca.ATIVO) {
-            throw new ResourceNotFoundException("Biblioteca não disponível");
-        }
+            if (biblioteca.getStatus() != StatusBiblioteca.ATIVO) {
+                throw new ResourceNotFoundException("Biblioteca não disponível");
+            }
 
-        return new BibliotecaDetalhesDTO(biblioteca);
+            return new BibliotecaDetalhesDTO(biblioteca);
+        });
     }
 
     /**
@@ -128,6 +239,8 @@ public class BibliotecaService {
         endereco.setLongitude(coords.longitude());
 
         Biblioteca bibliotecaAtualizada = bibliotecaRepository.save(biblioteca);
+        eventPublisher.publishEvent(new BibliotecaAlteradaEvent(bibliotecaAtualizada.getId(),
+                bibliotecaAtualizada.getEndereco().getId()));
         return new BibliotecaDetalhesDTO(bibliotecaAtualizada);
     }
 
@@ -140,8 +253,37 @@ public class BibliotecaService {
 
         Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
 
-        return bibliotecaLivroRepository.findByBibliotecaId(idBiblioteca, pageable)
-                .map(LivroAcervoDTO::new);
+        return bibliotecaLivroRepository.findByBibliotecaId(idBiblioteca, pageable);
+    }
+
+    /**
+     * ✅ NOVO: Acervo sem COUNT por página (Slice + total aproximado em cache)
+     */
+    public SliceDTO<LivroAcervoDTO> listMyLivrosSlice(Long idBiblioteca, Integer page, Integer size, String sortField, String sortDir) {
+        securityUtil.checkHasPermission(idBiblioteca);
+
+        Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
+
+        Slice<LivroAcervoDTO> slice = bibliotecaLivroRepository.findSliceByBibliotecaId(idBiblioteca, pageable);
+        long total = contagemCache.obter("acervo:" + idBiblioteca,
+                () -> bibliotecaLivroRepository.countByBibliotecaId(idBiblioteca));
+
+        return new SliceDTO<>(slice, total);
+    }
+
+    /**
+     * ✅ NOVO: Acervo por cursor (ordem alfabética de título), para rolagem profunda no app
+     */
+    public CursorPageDTO<LivroAcervoDTO> listMyLivrosPorCursor(Long idBiblioteca, String cursor, Integer size) {
+        securityUtil.checkHasPermission(idBiblioteca);
+
+        PaginationHelper.Cursor posicao = PaginationHelper.decodeCursor(cursor);
+
+        List<LivroAcervoDTO> linhas = bibliotecaLivroRepository.findByBibliotecaIdAfter(
+                idBiblioteca, posicao.chave(), posicao.id(), PaginationHelper.createKeysetPageable(size));
+
+        return CursorPageDTO.de(linhas, PaginationHelper.normalizeSize(size), Function.identity(),
+                l -> PaginationHelper.encodeCursor(l.getTitulo(), l.getId()));
     }
 
     /**
@@ -159,11 +301,16 @@ public class BibliotecaService {
         Livro livro = livroRepository.findByIsbn(dto.getIsbn())
                 .orElseGet(() -> createNewlivro(dto));
 
-        if (livro.getId() == null || livro.getGeneros().isEmpty()) {
-            setGenerosForLivro(livro, dto.getGenerosIds());
+        boolean definirGeneros = livro.getId() == null || livro.getGeneros().isEmpty();
+        if (definirGeneros) {
+            generoCache.aplicarGeneros(livro, dto.getGenerosIds());
         }
 
         Livro savedlivro = livroRepository.save(livro);
+        eventPublisher.publishEvent(new LivroSalvoEvent(LivroIndexavel.de(savedlivro)));
+        if (definirGeneros) {
+            eventPublisher.publishEvent(new GenerosAlteradosEvent(savedlivro.getId(), dto.getGenerosIds()));
+        }
 
         if (bibliotecaLivroRepository.existsByBibliotecaIdAndLivroId(idBiblioteca, savedlivro.getId())) {
             throw new DuplicateResourceException(MSG_DUPLICADO_ISBN);
@@ -175,6 +322,7 @@ public class BibliotecaService {
         newRelacao.setQuantidade(dto.getQuantidade());
 
         BibliotecaLivro savedRelacao = bibliotecaLivroRepository.save(newRelacao);
+        eventPublisher.publishEvent(AcervoAlteradoEvent.adicionado(idBiblioteca, savedlivro.getId()));
 
         return new LivroAcervoDTO(savedRelacao);
     }
@@ -191,6 +339,7 @@ public class BibliotecaService {
         }
 
         bibliotecaLivroRepository.deleteByBibliotecaIdAndLivroId(idBiblioteca, idLivro);
+        eventPublisher.publishEvent(AcervoAlteradoEvent.removido(idBiblioteca, idLivro));
     }
 
     /**
@@ -209,6 +358,7 @@ public class BibliotecaService {
 
         if (dto.getQuantidade() == 0) {
             bibliotecaLivroRepository.delete(relacao);
+            eventPublisher.publishEvent(AcervoAlteradoEvent.removido(idBiblioteca, idLivro));
             return null;
         }
 
@@ -262,10 +412,14 @@ public class BibliotecaService {
         livro.setCapa(dto.getCapa());
         livro.setResumo(dto.getResumo());
 
-        // Atualiza gêneros
-        setGenerosForLivro(livro, dto.getGenerosIds());
+        // Atualiza gêneros (só a diferença)
+        boolean generosAlterados = generoCache.aplicarGeneros(livro, dto.getGenerosIds());
 
         Livro saved = livroRepository.save(livro);
+        eventPublisher.publishEvent(new LivroSalvoEvent(LivroIndexavel.de(saved)));
+        if (generosAlterados) {
+            eventPublisher.publishEvent(new GenerosAlteradosEvent(saved.getId(), dto.getGenerosIds()));
+        }
 
         return new LivroDetalhesDTO(saved);
     }
@@ -277,6 +431,20 @@ public class BibliotecaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Biblioteca não encontrada com id: " + id));
     }
 
+    /**
+     * Horários da página inteira numa consulta (em vez de um carregamento lazy por biblioteca).
+     */
+    private void preencherHorarios(List<BibliotecaResponseDTO> bibliotecas) {
+        if (bibliotecas.isEmpty()) {
+            return;
+        }
+        Map<Long, List<HorarioFuncionamentoDTO>> porBiblioteca = horarioFuncionamentoRepository
+                .findByBibliotecaIdIn(bibliotecas.stream().map(BibliotecaResponseDTO::getId).toList()).stream()
+                .collect(Collectors.groupingBy(h -> h.getBiblioteca().getId(),
+                        Collectors.mapping(HorarioFuncionamentoDTO::new, Collectors.toList())));
+        bibliotecas.forEach(b -> b.setHorariosFuncionamento(porBiblioteca.getOrDefault(b.getId(), new ArrayList<>())));
+    }
+
     private Livro createNewlivro(AddLivroRequestDTO dto) {
         Livro livro = new Livro();
         livro.setIsbn(dto.getIsbn());
@@ -289,23 +457,51 @@ public class BibliotecaService {
         return livro;
     }
 
-    private void setGenerosForLivro(Livro livro, Set<Long> generosIds) {
-        if (livro.getGeneros() == null) {
-            livro.setGeneros(new java.util.ArrayList<>());
+    /**
+     * Converte "oeste,sul,leste,norte" em [oeste, sul, leste, norte].
+     * Áreas que cruzam o antimeridiano (oeste > leste) não são aceitas.
+     */
+    private MapaBibliotecasDTO montarMapa(Integer zoom, String bbox, boolean todosOsStatus) {
+        if (zoom == null || zoom < 0 || zoom > ZOOM_MAXIMO) {
+            throw new IllegalArgumentException(MSG_ZOOM_INVALIDO);
         }
+        double[] area = parseBbox(bbox);
+
+        if (zoom >= ZOOM_PINOS) {
+            // Sem área, o zoom alto devolveria todas as bibliotecas
+            if (bbox == null || bbox.isBlank()) {
+                throw new IllegalArgumentException(MSG_BBOX_OBRIGATORIA);
+            }
+            // Um pino a mais que o limite indica que a área tinha mais bibliotecas
+            List<BibliotecaMapaDTO> pinos = mapaIndex.bibliotecas(area[1], area[0], area[3], area[2],
+                    MAX_PINOS_MAPA + 1, todosOsStatus);
+            boolean truncado = pinos.size() > MAX_PINOS_MAPA;
+            return new MapaBibliotecasDTO(zoom, List.of(), truncado ? pinos.subList(0, MAX_PINOS_MAPA) : pinos, truncado);
+        }
+        List<ClusterMapaDTO> clusters = mapaIndex.clusters(zoom, area[1], area[0], area[3], area[2], todosOsStatus);
+        return new MapaBibliotecasDTO(zoom, clusters, List.of(), false);
+    }
 
-        livroGeneroRepository.deleteByLivroId(livro.getId());
-        livro.getGeneros().clear();
-
-        for (Long generoId : generosIds) {
-            Genero genero = generoRepository.findById(generoId)
-                    .orElseThrow(() -> new ResourceNotFoundException(MSG_GENERO_NAO_ENCONTRADO + " ID: " + generoId));
-
-            LivroGenero lgRelacao = new LivroGenero();
-            lgRelacao.setLivro(livro);
-            lgRelacao.setGenero(genero);
-
-            livro.getGeneros().add(lgRelacao);
+    private double[] parseBbox(String bbox) {
+        if (bbox == null || bbox.isBlank()) {
+            return new double[]{-180, -90, 180, 90};
+        }
+        String[] partes = bbox.split(",");
+        if (partes.length != 4) {
+            throw new IllegalArgumentException(MSG_BBOX_INVALIDA);
+        }
+        double[] area = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                area[i] = Double.parseDouble(partes[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(MSG_BBOX_INVALIDA);
+        }
+        if (!ValidationUtil.isValidCoordinates(area[1], area[0]) || !ValidationUtil.isValidCoordinates(area[3], area[2])
+                || area[1] > area[3] || area[0] > area[2]) {
+            throw new IllegalArgumentException(MSG_BBOX_INVALIDA);
         }
+        return area;
     }
 }
@@ -0,0 +1,81 @@
+package com.localibrary.service;
+
+import com.localibrary.dto.response.ErroImportacaoDTO;
+import com.localibrary.dto.response.ImportacaoStatusDTO;
+import com.localibrary.enums.StatusImportacao;
+import com.localibrary.util.Constants;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Estado de uma importação em andamento: escrito pela thread do job e lido pela consulta de progresso.
+ */
+class Importacao {
+
+    final String id;
+    final Long idBiblioteca;
+    final boolean csv;
+    final Path arquivo;
+    final LocalDateTime iniciadaEm = LocalDateTime.now();
+
+    // ISBNs já vistos no arquivo (a segunda ocorrência é erro de linha)
+    final Set<String> isbnsVistos = new HashSet<>();
+
+    private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+    private volatile StatusImportacao status = StatusImportacao.PROCESSANDO;
+    private volatile long linhasProcessadas;
+    private volatile long linhasImportadas;
+    private volatile long linhasComErro;
+    private volatile LocalDateTime concluidaEm;
+
+    Importacao(String id, Long idBiblioteca, boolean csv, Path arquivo) {
+        this.id = id;
+        this.idBiblioteca = idBiblioteca;
+        this.csv = csv;
+        this.arquivo = arquivo;
+    }
+
+    synchronized void registrarErro(long linha, String isbn, String mensagem) {
+        linhasComErro++;
+        linhasProcessadas++;
+        if (erros.size() < Constants.MAX_ERROS_IMPORTACAO) {
+            erros.add(new ErroImportacaoDTO(linha, isbn, mensagem));
+        }
+    }
+
+    synchronized void registrarImportadas(int quantidade) {
+        linhasImportadas += quantidade;
+        linhasProcessadas += quantidade;
+    }
+
+    void concluir(StatusImportacao statusFinal) {
+        concluidaEm = LocalDateTime.now();
+        status = statusFinal;
+    }
+
+    boolean isConcluida() {
+        return status != StatusImportacao.PROCESSANDO;
+    }
+
+    LocalDateTime getConcluidaEm() {
+        return concluidaEm;
+    }
+
+    synchronized ImportacaoStatusDTO paraDTO() {
+        return ImportacaoStatusDTO.builder()
+                .id(id)
+                .status(status)
+                .linhasProcessadas(linhasProcessadas)
+                .linhasImportadas(linhasImportadas)
+                .linhasComErro(linhasComErro)
+                .erros(List.copyOf(erros))
+                .iniciadaEm(iniciadaEm)
+                .concluidaEm(concluidaEm)
+                .build();
+    }
+}
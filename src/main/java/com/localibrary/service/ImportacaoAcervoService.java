@@ -0,0 +1,166 @@
+package com.localibrary.service;
+
+import com.localibrary.dto.response.ImportacaoStatusDTO;
+import com.localibrary.exception.DuplicateResourceException;
+import com.localibrary.exception.ResourceNotFoundException;
+import com.localibrary.exception.StorageException;
+import com.localibrary.repository.BibliotecaRepository;
+import com.localibrary.util.SecurityUtil;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.localibrary.util.Constants.*;
+
+/**
+ * ✅ NOVO: Importação de acervo em lote (RF-11 para catálogos inteiros)
+ * O corpo da requisição é copiado para um arquivo temporário e processado em segundo plano
+ * pelo ImportadorAcervo; o progresso fica em memória até RETENCAO_IMPORTACAO_MS após o fim.
+ */
+@Service
+public class ImportacaoAcervoService {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final SecurityUtil securityUtil;
+    private final BibliotecaRepository bibliotecaRepository;
+    private final ImportadorAcervo importadorAcervo;
+
+    private final Map<String, Importacao> importacoes = new ConcurrentHashMap<>();
+
+    public ImportacaoAcervoService(SecurityUtil securityUtil,
+                                   BibliotecaRepository bibliotecaRepository,
+                                   ImportadorAcervo importadorAcervo) {
+        this.securityUtil = securityUtil;
+        this.bibliotecaRepository = bibliotecaRepository;
+        this.importadorAcervo = importadorAcervo;
+    }
+
+    /**
+     * Recebe o arquivo e agenda a importação. Uma importação por biblioteca de cada vez.
+     *
+     * @param contentType text/csv (com cabeçalho) ou application/x-ndjson (um AddLivroRequestDTO por linha)
+     */
+    public ImportacaoStatusDTO iniciar(Long idBiblioteca, String contentType, InputStream corpo) {
+        securityUtil.checkHasPermission(idBiblioteca);
+        if (!bibliotecaRepository.existsById(idBiblioteca)) {
+            throw new ResourceNotFoundException("Biblioteca não encontrada com id: " + idBiblioteca);
+        }
+        boolean csv = isCsv(contentType);
+
+        Path arquivo = copiarParaTemporario(corpo);
+        if (csv) {
+            validarCabecalho(arquivo);
+        }
+
+        Importacao importacao = new Importacao(UUID.randomUUID().toString(), idBiblioteca, csv, arquivo);
+        synchronized (importacoes) {
+            limparConcluidas();
+            boolean emAndamento = importacoes.values().stream()
+                    .anyMatch(i -> i.idBiblioteca.equals(idBiblioteca) && !i.isConcluida());
+            if (emAndamento) {
+                apagar(arquivo);
+                throw new DuplicateResourceException(MSG_IMPORTACAO_EM_ANDAMENTO);
+            }
+            importacoes.put(importacao.id, importacao);
+        }
+        importadorAcervo.executar(importacao);
+        return importacao.paraDTO();
+    }
+
+    public ImportacaoStatusDTO consultar(Long idBiblioteca, String idImportacao) {
+        securityUtil.checkHasPermission(idBiblioteca);
+
+        Importacao importacao = importacoes.get(idImportacao);
+        if (importacao == null || !importacao.idBiblioteca.equals(idBiblioteca)) {
+            throw new ResourceNotFoundException(MSG_IMPORTACAO_NAO_ENCONTRADA);
+        }
+        return importacao.paraDTO();
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private boolean isCsv(String contentType) {
+        MediaType tipo;
+        try {
+            tipo = MediaType.parseMediaType(contentType);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(MSG_IMPORTACAO_FORMATO);
+        }
+        if (tipo.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            return true;
+        }
+        if (tipo.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return false;
+        }
+        throw new IllegalArgumentException(MSG_IMPORTACAO_FORMATO);
+    }
+
+    /**
+     * Copia o corpo em blocos (sem carregar o arquivo inteiro na memória), até MAX_TAMANHO_IMPORTACAO.
+     */
+    private Path copiarParaTemporario(InputStream corpo) {
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile("importacao-acervo-", ".tmp");
+            long total = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (OutputStream out = Files.newOutputStream(arquivo)) {
+                int lidos;
+                while ((lidos = corpo.read(buffer)) != -1) {
+                    total += lidos;
+                    if (total > MAX_TAMANHO_IMPORTACAO) {
+                        throw new IllegalArgumentException(MSG_IMPORTACAO_TAMANHO);
+                    }
+                    out.write(buffer, 0, lidos);
+                }
+            }
+            return arquivo;
+        } catch (IOException e) {
+            apagar(arquivo);
+            throw new StorageException("Falha ao receber o arquivo de importação", e);
+        } catch (RuntimeException e) {
+            apagar(arquivo);
+            throw e;
+        }
+    }
+
+    private void validarCabecalho(Path arquivo) {
+        try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            ImportadorAcervo.lerCabecalho(reader.readLine());
+        } catch (IOException | RuntimeException e) {
+            apagar(arquivo);
+            throw e instanceof IllegalArgumentException iae ? iae : new IllegalArgumentException(MSG_IMPORTACAO_CABECALHO);
+        }
+    }
+
+    private void limparConcluidas() {
+        LocalDateTime limite = LocalDateTime.now().minus(Duration.ofMillis(RETENCAO_IMPORTACAO_MS));
+        importacoes.values().removeIf(i -> i.isConcluida() && i.getConcluidaEm().isBefore(limite));
+    }
+
+    private static void apagar(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException ignored) {
+            // Arquivo temporário: o sistema operacional limpa depois
+        }
+    }
+}
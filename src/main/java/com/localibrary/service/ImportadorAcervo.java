@@ -0,0 +1,381 @@
+package com.localibrary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localibrary.cache.GeneroCache;
+import com.localibrary.dto.request.AddLivroRequestDTO;
+import com.localibrary.dto.response.ErroImportacaoDTO;
+import com.localibrary.entity.Livro;
+import com.localibrary.enums.StatusImportacao;
+import com.localibrary.event.AcervoImportadoEvent;
+import com.localibrary.index.LivroIndexavel;
+import com.localibrary.repository.LivroRepository;
+import com.localibrary.util.CsvUtil;
+import com.localibrary.util.ValidationUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.localibrary.util.Constants.*;
+
+/**
+ * ✅ NOVO: Job de importação de acervo em lote (CSV ou NDJSON)
+ * O arquivo é lido em streaming e gravado em lotes de TAMANHO_LOTE_IMPORTACAO linhas, cada
+ * lote na sua transação: ISBNs e acervo atual são resolvidos com uma consulta IN
+ * por lote. Livros novos são persistidos pelo Hibernate (IDs do bloco em tbl_sequencia,
+ * inserts em batch); gêneros e acervo são gravados com inserts JDBC em batch.
+ * <p>
+ * Uma linha inválida não interrompe a importação: vira erro de linha no status. Cada lote
+ * publica um único AcervoImportadoEvent (livros novos, gêneros e acervo), que os índices e
+ * caches aplicam de uma vez após o commit do lote.
+ */
+@Component
+public class ImportadorAcervo {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportadorAcervo.class);
+
+    private static final String SQL_INSERT_LIVRO_GENERO =
+            "INSERT INTO tbl_livro_genero (id_livro, id_genero, created_at, updated_at) " +
+            "VALUES (:idLivro, :idGenero, :agora, :agora)";
+    private static final String SQL_INSERT_BIBLIOTECA_LIVRO =
+            "INSERT INTO tbl_biblioteca_livro (id_biblioteca, id_livro, quantidade, created_at, updated_at) " +
+            "VALUES (:idBiblioteca, :idLivro, :quantidade, :agora, :agora)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final LivroRepository livroRepository;
+    private final GeneroCache generoCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ImportadorAcervo(NamedParameterJdbcTemplate jdbc,
+                            PlatformTransactionManager transactionManager,
+                            LivroRepository livroRepository,
+                            GeneroCache generoCache,
+                            ObjectMapper objectMapper,
+                            Validator validator,
+                            ApplicationEventPublisher eventPublisher) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.livroRepository = livroRepository;
+        this.generoCache = generoCache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Lê o arquivo até o fim; o arquivo temporário é apagado ao terminar.
+     */
+    @Async
+    public void executar(Importacao importacao) {
+        try (BufferedReader reader = Files.newBufferedReader(importacao.arquivo, StandardCharsets.UTF_8)) {
+            long numero = 0;
+            Map<String, Integer> colunas = null;
+            if (importacao.csv) {
+                colunas = lerCabecalho(reader.readLine());
+                numero++;
+            }
+
+            List<LinhaImportacao> lote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+            String texto;
+            while ((texto = reader.readLine()) != null) {
+                numero++;
+                if (texto.isBlank()) {
+                    continue;
+                }
+                LinhaImportacao linha = interpretar(importacao, numero, texto, colunas);
+                if (linha == null) {
+                    continue;
+                }
+                lote.add(linha);
+                if (lote.size() == TAMANHO_LOTE_IMPORTACAO) {
+                    processarLote(importacao, lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                processarLote(importacao, lote);
+            }
+            importacao.concluir(StatusImportacao.CONCLUIDA);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Importação {} da biblioteca {} interrompida: {}", importacao.id, importacao.idBiblioteca, e.getMessage(), e);
+            importacao.concluir(StatusImportacao.FALHOU);
+        } finally {
+            try {
+                Files.deleteIfExists(importacao.arquivo);
+            } catch (IOException e) {
+                logger.warn("Não foi possível apagar o arquivo temporário {}", importacao.arquivo);
+            }
+        }
+    }
+
+    /**
+     * Posição de cada coluna do CSV pelo nome (sem diferenciar maiúsculas).
+     *
+     * @throws IllegalArgumentException se faltar isbn ou quantidade
+     */
+    static Map<String, Integer> lerCabecalho(String cabecalho) {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException(MSG_IMPORTACAO_CABECALHO);
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> nomes = CsvUtil.dividir(cabecalho.replace("\uFEFF", ""));
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.containsKey("isbn") || !colunas.containsKey("quantidade")) {
+            throw new IllegalArgumentException(MSG_IMPORTACAO_CABECALHO);
+        }
+        return colunas;
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Converte e valida a linha; erros de formato e validação já ficam registrados.
+     *
+     * @return null se a linha não deve entrar no lote
+     */
+    private LinhaImportacao interpretar(Importacao importacao, long numero, String texto, Map<String, Integer> colunas) {
+        AddLivroRequestDTO dto;
+        try {
+            dto = colunas != null ? deCsv(CsvUtil.dividir(texto), colunas) : objectMapper.readValue(texto, AddLivroRequestDTO.class);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            dto = null;
+        }
+        if (dto == null) {
+            importacao.registrarErro(numero, null, MSG_IMPORTACAO_LINHA_INVALIDA);
+            return null;
+        }
+
+        String erro = validar(dto);
+        if (erro == null && !importacao.isbnsVistos.add(dto.getIsbn())) {
+            erro = MSG_IMPORTACAO_ISBN_REPETIDO;
+        }
+        if (erro != null) {
+            importacao.registrarErro(numero, dto.getIsbn(), erro);
+            return null;
+        }
+        return new LinhaImportacao(numero, dto);
+    }
+
+    private AddLivroRequestDTO deCsv(List<String> campos, Map<String, Integer> colunas) {
+        AddLivroRequestDTO dto = new AddLivroRequestDTO();
+        dto.setIsbn(campo(campos, colunas, "isbn"));
+        dto.setTitulo(campo(campos, colunas, "titulo"));
+        dto.setAutor(campo(campos, colunas, "autor"));
+        dto.setEditora(campo(campos, colunas, "editora"));
+        dto.setCapa(campo(campos, colunas, "capa"));
+        dto.setResumo(campo(campos, colunas, "resumo"));
+
+        String quantidade = campo(campos, colunas, "quantidade");
+        dto.setQuantidade(quantidade != null ? Integer.valueOf(quantidade) : null);
+        String ano = campo(campos, colunas, "anopublicacao");
+        dto.setAnoPublicacao(ano != null ? Integer.valueOf(ano) : null);
+
+        // Gêneros separados por "|" (ex: 1|4|7)
+        String generos = campo(campos, colunas, "generosids");
+        if (generos != null) {
+            dto.setGenerosIds(Arrays.stream(generos.split("\\|"))
+                    .map(String::trim)
+                    .filter(g -> !g.isEmpty())
+                    .map(Long::valueOf)
+                    .collect(Collectors.toCollection(LinkedHashSet::new)));
+        }
+        return dto;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer posicao = colunas.get(nome);
+        if (posicao == null || posicao >= campos.size() || campos.get(posicao).isEmpty()) {
+            return null;
+        }
+        return campos.get(posicao);
+    }
+
+    /**
+     * Mesmas regras da adição individual (anotações do DTO + ano de publicação).
+     */
+    private String validar(AddLivroRequestDTO dto) {
+        Set<ConstraintViolation<AddLivroRequestDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            ConstraintViolation<AddLivroRequestDTO> v = violacoes.iterator().next();
+            return v.getPropertyPath() + ": " + v.getMessage();
+        }
+        if (dto.getAnoPublicacao() != null && !ValidationUtil.isValidAnoPublicacao(dto.getAnoPublicacao())) {
+            return MSG_ANO_PUBLICACAO_INVALIDO;
+        }
+        return null;
+    }
+
+    /**
+     * Grava o lote numa transação. Se ela falhar, todas as linhas do lote viram erro.
+     */
+    private void processarLote(Importacao importacao, List<LinhaImportacao> lote) {
+        ResultadoLote resultado;
+        try {
+            resultado = transactionTemplate.execute(status -> gravarLote(importacao.idBiblioteca, lote));
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Importação {}: lote de {} linhas descartado: {}", importacao.id, lote.size(), e.getMessage());
+            lote.forEach(l -> importacao.registrarErro(l.numero(), l.dto().getIsbn(), MSG_IMPORTACAO_ERRO_LOTE));
+            return;
+        }
+        resultado.erros().forEach(e -> importacao.registrarErro(e.getLinha(), e.getIsbn(), e.getMensagem()));
+        importacao.registrarImportadas(resultado.importadas());
+    }
+
+    private ResultadoLote gravarLote(Long idBiblioteca, List<LinhaImportacao> lote) {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // 1. Resolução em lote: livros já cadastrados e acervo atual (gêneros vêm do cache)
+        Map<String, Long> idsPorIsbn = buscarIdsPorIsbn(lote.stream().map(l -> l.dto().getIsbn()).toList());
+
+        Set<Long> jaNoAcervo = new HashSet<>();
+        Set<Long> comGeneros = new HashSet<>();
+        if (!idsPorIsbn.isEmpty()) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("idBiblioteca", idBiblioteca)
+                    .addValue("ids", idsPorIsbn.values());
+            jaNoAcervo.addAll(jdbc.queryForList(
+                    "SELECT id_livro FROM tbl_biblioteca_livro WHERE id_biblioteca = :idBiblioteca AND id_livro IN (:ids)",
+                    params, Long.class));
+            comGeneros.addAll(jdbc.queryForList(
+                    "SELECT DISTINCT id_livro FROM tbl_livro_genero WHERE id_livro IN (:ids)", params, Long.class));
+        }
+
+        // 2. Regras por linha
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        List<LinhaImportacao> aceitas = new ArrayList<>();
+        List<LinhaImportacao> novas = new ArrayList<>();
+        for (LinhaImportacao linha : lote) {
+            AddLivroRequestDTO dto = linha.dto();
+            Long generoInexistente = dto.getGenerosIds().stream()
+                    .filter(g -> !generoCache.existe(g))
+                    .findFirst()
+                    .orElse(null);
+            Long idLivro = idsPorIsbn.get(dto.getIsbn());
+            if (generoInexistente != null) {
+                erros.add(new ErroImportacaoDTO(linha.numero(), dto.getIsbn(), MSG_GENERO_NAO_ENCONTRADO + " ID: " + generoInexistente));
+            } else if (idLivro != null && jaNoAcervo.contains(idLivro)) {
+                erros.add(new ErroImportacaoDTO(linha.numero(), dto.getIsbn(), MSG_DUPLICADO_ISBN));
+            } else {
+                aceitas.add(linha);
+                if (idLivro == null) {
+                    novas.add(linha);
+                }
+            }
+        }
+
+        // 3. Livros novos em batch (flush antes dos inserts JDBC que referenciam os IDs)
+        if (!novas.isEmpty()) {
+            List<Livro> livros = livroRepository.saveAll(novas.stream().map(l -> novoLivro(l.dto())).toList());
+            livroRepository.flush();
+            livros.forEach(l -> idsPorIsbn.put(l.getIsbn(), l.getId()));
+        }
+
+        // 4. Gêneros (só para livros novos ou ainda sem gênero, como na adição individual) e acervo
+        List<SqlParameterSource> generos = new ArrayList<>();
+        List<SqlParameterSource> acervo = new ArrayList<>();
+        Set<Long> comGenerosDefinidos = new HashSet<>();
+        for (LinhaImportacao linha : aceitas) {
+            Long idLivro = idsPorIsbn.get(linha.dto().getIsbn());
+            if (!comGeneros.contains(idLivro)) {
+                comGenerosDefinidos.add(idLivro);
+                for (Long idGenero : linha.dto().getGenerosIds()) {
+                    generos.add(new MapSqlParameterSource()
+                            .addValue("idLivro", idLivro)
+                            .addValue("idGenero", idGenero)
+                            .addValue("agora", agora));
+                }
+            }
+            acervo.add(new MapSqlParameterSource()
+                    .addValue("idBiblioteca", idBiblioteca)
+                    .addValue("idLivro", idLivro)
+                    .addValue("quantidade", linha.dto().getQuantidade())
+                    .addValue("agora", agora));
+        }
+        if (!generos.isEmpty()) {
+            jdbc.batchUpdate(SQL_INSERT_LIVRO_GENERO, generos.toArray(SqlParameterSource[]::new));
+        }
+        if (!acervo.isEmpty()) {
+            jdbc.batchUpdate(SQL_INSERT_BIBLIOTECA_LIVRO, acervo.toArray(SqlParameterSource[]::new));
+        }
+
+        // 5. Um evento para o lote inteiro (entregue aos índices após o commit)
+        List<LivroIndexavel> livrosNovos = novas.stream()
+                .map(LinhaImportacao::dto)
+                .map(dto -> new LivroIndexavel(idsPorIsbn.get(dto.getIsbn()),
+                        dto.getTitulo(), dto.getAutor(), dto.getIsbn(), dto.getEditora(), dto.getCapa()))
+                .toList();
+        Map<Long, Set<Long>> generosPorLivro = new HashMap<>();
+        aceitas.forEach(l -> {
+            Long idLivro = idsPorIsbn.get(l.dto().getIsbn());
+            if (comGenerosDefinidos.contains(idLivro)) {
+                generosPorLivro.put(idLivro, l.dto().getGenerosIds());
+            }
+        });
+        List<Long> idsLivro = aceitas.stream().map(l -> idsPorIsbn.get(l.dto().getIsbn())).toList();
+        eventPublisher.publishEvent(new AcervoImportadoEvent(idBiblioteca, livrosNovos, generosPorLivro, idsLivro));
+
+        return new ResultadoLote(aceitas.size(), erros);
+    }
+
+    private Map<String, Long> buscarIdsPorIsbn(List<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbc.query("SELECT id_livro, isbn FROM tbl_livro WHERE isbn IN (:isbns)",
+                new MapSqlParameterSource("isbns", isbns),
+                rs -> {
+                    ids.put(rs.getString("isbn"), rs.getLong("id_livro"));
+                });
+        return ids;
+    }
+
+    private static Livro novoLivro(AddLivroRequestDTO dto) {
+        Livro livro = new Livro();
+        livro.setTitulo(dto.getTitulo());
+        livro.setAutor(dto.getAutor());
+        livro.setIsbn(dto.getIsbn());
+        livro.setEditora(dto.getEditora());
+        livro.setAnoPublicacao(dto.getAnoPublicacao());
+        livro.setCapa(dto.getCapa());
+        livro.setResumo(dto.getResumo());
+        return livro;
+    }
+
+    private record LinhaImportacao(long numero, AddLivroRequestDTO dto) {
+    }
+
+    private record ResultadoLote(int importadas, List<ErroImportacaoDTO> erros) {
+    }
+}
@@ -1,27 +1,58 @@
 package com.localibrary.service;
 
 import com.localibrary.dto.*;
+import com.localibrary.cache.ContagemCache;
+import com.localibrary.cache.GeneroCache;
+import com.localibrary.cache.RespostaCache;
 import com.localibrary.dto.request.AddLivroRequestDTO;
+import com.localibrary.dto.response.CursorPageDTO;
 import com.localibrary.dto.response.LivroResponseDTO;
+import com.localibrary.dto.response.SliceDTO;
+import com.localibrary.dto.response.SugestaoLivroDTO;
 import com.localibrary.entity.*;
 import com.localibrary.enums.StatusBiblioteca;
 import com.localibrary.exception.DuplicateResourceException;
+import com.localibrary.event.AcervoAlteradoEvent;
+import com.localibrary.event.GenerosAlteradosEvent;
+import com.localibrary.event.LivroSalvoEvent;
 import com.localibrary.exception.ResourceNotFoundException;
+import com.localibrary.index.AutocompleteIndex;
+import com.localibrary.index.BibliotecaGeoIndex;
+import com.localibrary.index.BuscaIndex;
+import com.localibrary.index.LivroIndexavel;
+import com.localibrary.index.PopularidadeIndex;
+import com.localibrary.index.RecomendacaoAcervoIndex;
+import com.localibrary.index.ResultadoBusca;
+import com.localibrary.index.SimilaridadeIndex;
+import com.localibrary.index.TendenciaIndex;
+import com.localibrary.index.TituloIndex;
 import com.localibrary.repository.*;
 import com.localibrary.util.Constants;
 import com.localibrary.util.DistanceCalculator;
 import com.localibrary.util.PaginationHelper;
+import com.localibrary.util.SelecaoMenores;
 import com.localibrary.util.SecurityUtil;
+import com.localibrary.util.TextNormalizer;
 import com.localibrary.util.ValidationUtil;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class LivroService {
@@ -29,22 +60,52 @@ public class LivroService {
     private final LivroRepository livroRepository;
     private final BibliotecaRepository bibliotecaRepository;
     private final BibliotecaLivroRepository bibliotecaLivroRepository;
-    private final GeneroRepository generoRepository;
-    private final LivroGeneroRepository livroGeneroRepository;
+    private final GeneroCache generoCache;
     private final SecurityUtil securityUtil;
+    private final TituloIndex tituloIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final PopularidadeIndex popularidadeIndex;
+    private final BuscaIndex buscaIndex;
+    private final ContagemCache contagemCache;
+    private final BibliotecaGeoIndex geoIndex;
+    private final TendenciaIndex tendenciaIndex;
+    private final SimilaridadeIndex similaridadeIndex;
+    private final RecomendacaoAcervoIndex recomendacaoAcervoIndex;
+    private final RespostaCache respostaCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LivroService(LivroRepository livroRepository,
                         BibliotecaRepository bibliotecaRepository,
                         BibliotecaLivroRepository bibliotecaLivroRepository,
-                        GeneroRepository generoRepository,
-                        LivroGeneroRepository livroGeneroRepository,
-                        SecurityUtil securityUtil) {
+                        GeneroCache generoCache,
+                        SecurityUtil securityUtil,
+                        TituloIndex tituloIndex,
+                        AutocompleteIndex autocompleteIndex,
+                        PopularidadeIndex popularidadeIndex,
+                        BuscaIndex buscaIndex,
+                        ContagemCache contagemCache,
+                        BibliotecaGeoIndex geoIndex,
+                        TendenciaIndex tendenciaIndex,
+                        SimilaridadeIndex similaridadeIndex,
+                        RecomendacaoAcervoIndex recomendacaoAcervoIndex,
+                        RespostaCache respostaCache,
+                        ApplicationEventPublisher eventPublisher) {
         this.livroRepository = livroRepository;
         this.bibliotecaRepository = bibliotecaRepository;
         this.bibliotecaLivroRepository = bibliotecaLivroRepository;
-        this.generoRepository = generoRepository;
-        this.livroGeneroRepository = livroGeneroRepository;
+        this.generoCache = generoCache;
         this.securityUtil = securityUtil;
+        this.tituloIndex = tituloIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.popularidadeIndex = popularidadeIndex;
+        this.buscaIndex = buscaIndex;
+        this.contagemCache = contagemCache;
+        this.geoIndex = geoIndex;
+        this.tendenciaIndex = tendenciaIndex;
+        this.similaridadeIndex = similaridadeIndex;
+        this.recomendacaoAcervoIndex = recomendacaoAcervoIndex;
+        this.respostaCache = respostaCache;
+        this.eventPublisher = eventPublisher;
     }
 
     // ================================================================================
@@ -58,66 +119,165 @@ public class LivroService {
     public Page<LivroResponseDTO> buscarLivrosPorTitulo(String titulo, Integer page, Integer size, String sortField, String sortDir) {
         Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
 
-        return livroRepository.searchByTitulo(titulo, pageable)
-                .map(LivroResponseDTO::new);
+        // ✅ NOVO: Responde pelo índice de trigramas; o banco só hidrata a página de IDs
+        long[] ids = tituloIndex.isPronto() ? tituloIndex.buscar(titulo, pageable.getSort()) : null;
+        if (ids == null || !podeHidratar(ids, pageable)) {
+            return livroRepository.searchByTitulo(titulo, pageable);
+        }
+
+        return hidratarBusca(ids, pageable);
+    }
+
+    /**
+     * ✅ NOVO: Busca por título sem COUNT por página (Slice + total aproximado em cache)
+     * Pelo índice o total já é conhecido; no banco o COUNT roda no máximo uma vez por termo a cada TTL.
+     */
+    public SliceDTO<LivroResponseDTO> buscarLivrosPorTituloSlice(String titulo, Integer page, Integer size, String sortField, String sortDir) {
+        Pageable pageable = PaginationHelper.createPageable(page, size, sortField, sortDir);
+
+        long[] ids = tituloIndex.isPronto() ? tituloIndex.buscar(titulo, pageable.getSort()) : null;
+        if (ids != null && podeHidratar(ids, pageable)) {
+            return new SliceDTO<>(hidratarBusca(ids, pageable), ids.length);
+        }
+
+        Slice<LivroResponseDTO> slice = livroRepository.searchSliceByTitulo(titulo, pageable);
+        long total = contagemCache.obter("livros:titulo:" + TextNormalizer.fold(titulo).trim(),
+                () -> livroRepository.countByTituloLike(titulo));
+
+        return new SliceDTO<>(slice, total);
+    }
+
+    /**
+     * ✅ NOVO: Busca por título com cursor (ordem alfabética), sem OFFSET nem COUNT
+     */
+    public CursorPageDTO<LivroResponseDTO> buscarLivrosPorTituloComCursor(String titulo, String cursor, Integer size) {
+        PaginationHelper.Cursor posicao = PaginationHelper.decodeCursor(cursor);
+
+        List<LivroResponseDTO> linhas = livroRepository.searchByTituloAfter(
+                titulo, posicao.chave(), posicao.id(), PaginationHelper.createKeysetPageable(size));
+
+        return CursorPageDTO.de(linhas, PaginationHelper.normalizeSize(size), Function.identity(),
+                l -> PaginationHelper.encodeCursor(l.getTitulo(), l.getId()));
+    }
+
+    /**
+     * ✅ NOVO: Busca por relevância (BM25) em título, autor, ISBN e editora
+     * Páginas ordenadas pela nota; enquanto o índice carrega, cai na busca por título.
+     */
+    public Page<LivroResponseDTO> buscarLivrosPorRelevancia(String consulta, Integer page, Integer size) {
+        Pageable pageable = PaginationHelper.createPageable(page, size);
+
+        if (!buscaIndex.isPronto()) {
+            return livroRepository.searchByTitulo(consulta, pageable);
+        }
+
+        ResultadoBusca resultado = buscaIndex.buscar(consulta, (int) pageable.getOffset(), pageable.getPageSize());
+        return carregarPagina(Arrays.stream(resultado.ids()).boxed().toList(), pageable, resultado.total());
+    }
+
+    /**
+     * ✅ NOVO: Autocomplete por prefixo de palavras do título ou do autor
+     * Respondido inteiramente pela trie em memória, ranqueado pela popularidade.
+     */
+    public List<SugestaoLivroDTO> autocompletar(String consulta) {
+        if (consulta == null || consulta.isBlank() || !autocompleteIndex.isPronto()) {
+            return List.of();
+        }
+
+        return autocompleteIndex.sugerir(consulta, Constants.LIMITE_AUTOCOMPLETE).stream()
+                .map(livro -> new SugestaoLivroDTO(livro, popularidadeIndex.getTotal(livro.id())))
+                .toList();
     }
 
     /**
      * RF-03: Buscar Livros Populares
      * ✅ CORREÇÃO: Agora usa COUNT(DISTINCT biblioteca) ao invés de SUM(quantidade)
+     * ✅ NOVO: O ranking vem dos contadores em memória; o banco só carrega os livros do topo
+     * ✅ NOVO: A lista fica em cache até a próxima versão do ranking
      */
     public List<LivroResponseDTO> buscarLivrosPopulares() {
+        if (popularidadeIndex.isPronto()) {
+            long versao = popularidadeIndex.getVersao();
+            return respostaCache.populares(versao,
+                    () -> carregarLivrosNaOrdem(popularidadeIndex.getMaisPopulares()));
+        }
+
         Pageable limit = PageRequest.of(0, Constants.LIMITE_LIVROS_POPULARES);
 
-        return livroRepository.findLivrosPopulares(limit).stream()
-                .map(LivroResponseDTO::new)
-                .toList();
+        return livroRepository.findLivrosPopulares(limit);
+    }
+
+    /**
+     * ✅ NOVO: Livros em tendência (mais adicionados aos acervos recentemente, com decaimento)
+     */
+    public List<LivroResponseDTO> buscarLivrosEmTendencia() {
+        if (!tendenciaIndex.isPronto()) {
+            return List.of();
+        }
+        return carregarLivrosNaOrdem(tendenciaIndex.getTendencias());
     }
 
     /**
      * RF-05: Detalhes de um livro + Similares
      * ✅ CORREÇÃO: Usa findByIdWithGeneros para evitar N+1 query
+     * ✅ NOVO: recomendacao = "genero" (padrão) ou "acervo" (livros que as mesmas bibliotecas têm).
+     * Enquanto o índice de acervo não termina de ser montado, vale a recomendação por gênero.
+     * ✅ NOVO: Em cache só quando os índices do critério pedido estão prontos (a resposta
+     * provisória, montada sem eles, não fica guardada).
      */
-    public LivroDetalhesDTO buscarDetalhesDoLivro(Long id) {
-        // Busca o livro COM os gêneros em uma única query
-        Livro livro = livroRepository.findByIdWithGeneros(id)
-                .orElseThrow(() -> new ResourceNotFoundException(Constants.MSG_NAO_ENCONTRADO));
+    public LivroDetalhesDTO buscarDetalhesDoLivro(Long id, String recomendacao) {
+        boolean porAcervo = isRecomendacaoPorAcervo(recomendacao);
 
-        LivroDetalhesDTO detalhesDTO = new LivroDetalhesDTO(livro);
-
-        // Busca livros similares
-        Pageable limit = PageRequest.of(0, Constants.LIMITE_LIVROS_SIMILARES);
-        List<Livro> similares = livroRepository.findLivrosSimilares(id, limit).getContent();
-
-        detalhesDTO.setLivrosSimilares(similares);
-
-        return detalhesDTO;
+        boolean indicesProntos = similaridadeIndex.isPronto() && (!porAcervo || recomendacaoAcervoIndex.isPronto());
+        if (indicesProntos) {
+            return respostaCache.detalhesLivro(id, porAcervo, () -> montarDetalhesDoLivro(id, porAcervo));
+        }
+        return montarDetalhesDoLivro(id, porAcervo);
     }
 
     /**
      * RF-06 e RN-10: Listar bibliotecas que possuem o livro.
      * APLICANDO DISTANCE CALCULATOR: Se o usuário enviar lat/lon, ordenamos por proximidade.
+     * ✅ NOVO: Com coordenadas, o índice espacial escolhe as k mais próximas sem carregar as demais.
+     * ✅ NOVO: As bibliotecas ativas do livro ficam em cache, sem ordem; raio, distância e
+     * ordenação são aplicados a cada requisição sobre esse conjunto.
+     *
+     * @param limit  Quantidade máxima de bibliotecas (opcional, null = todas)
+     * @param raioKm Distância máxima em km (opcional; exige coordenadas)
      */
-    public List<BibliotecaParaLivroDTO> buscarBibliotecasPorLivro(Long idLivro, Double userLat, Double userLon) {
-        List<Biblioteca> bibliotecas = bibliotecaRepository.findByLivroAndStatusAtivo(idLivro);
+    public List<BibliotecaParaLivroDTO> buscarBibliotecasPorLivro(Long idLivro, Double userLat, Double userLon,
+                                                                  Integer limit, Double raioKm) {
+        int k = (limit == null || limit <= 0) ? Integer.MAX_VALUE : limit;
+
+        if (raioKm != null) {
+            if (!ValidationUtil.isValidCoordinates(userLat, userLon)) {
+                throw new IllegalArgumentException(Constants.MSG_COORDENADAS_INVALIDAS);
+            }
+            if (!ValidationUtil.isValidRaio(raioKm)) {
+                throw new IllegalArgumentException(Constants.MSG_RAIO_INVALIDO);
+            }
+        }
+        double raio = raioKm != null ? raioKm : Double.POSITIVE_INFINITY;
 
-        List<BibliotecaParaLivroDTO> dtos = bibliotecas.stream()
-                .filter(b -> b.getStatus() == StatusBiblioteca.ATIVO)
-                .map(BibliotecaParaLivroDTO::new)
-                .toList();
+        Map<Long, BibliotecaParaLivroDTO> bibliotecas = respostaCache.bibliotecasDoLivro(idLivro,
+                () -> carregarBibliotecasDoLivro(idLivro));
+
+        if (ValidationUtil.isValidCoordinates(userLat, userLon) && geoIndex.isPronto()) {
+            return geoIndex.maisProximas(idLivro, userLat, userLon, k, raio).stream()
+                    .filter(p -> bibliotecas.containsKey(p.idBiblioteca()))
+                    .map(p -> new BibliotecaParaLivroDTO(bibliotecas.get(p.idBiblioteca()), p.distanciaKm()))
+                    .toList();
+        }
 
         // Ordenação por proximidade
         if (ValidationUtil.isValidCoordinates(userLat, userLon)) {
-            dtos.sort(Comparator.comparingDouble(dto ->
-                    DistanceCalculator.calculateDistance(
-                            userLat, userLon,
-                            dto.getLatitude().doubleValue(),
-                            dto.getLongitude().doubleValue()
-                    )
-            ));
+            return ordenarPorDistancia(List.copyOf(bibliotecas.values()), userLat, userLon, raio, k);
         }
 
-        return dtos;
+        return bibliotecas.values().stream()
+                .limit(k)
+                .map(BibliotecaParaLivroDTO::new)
+                .toList();
     }
 
     // ================================================================================
@@ -145,11 +305,16 @@ public class LivroService {
         Livro livro = livroRepository.findByIsbn(dto.getIsbn())
                 .orElseGet(() -> createNewlivro(dto));
 
-        if (livro.getId() == null || livro.getGeneros().isEmpty()) {
-            setGenerosForLivro(livro, dto.getGenerosIds());
+        boolean definirGeneros = livro.getId() == null || livro.getGeneros().isEmpty();
+        if (definirGeneros) {
+            generoCache.aplicarGeneros(livro, dto.getGenerosIds());
         }
 
         Livro savedlivro = livroRepository.save(livro);
+        eventPublisher.publishEvent(new LivroSalvoEvent(LivroIndexavel.de(savedlivro)));
+        if (definirGeneros) {
+            eventPublisher.publishEvent(new GenerosAlteradosEvent(savedlivro.getId(), dto.getGenerosIds()));
+        }
 
         if (bibliotecaLivroRepository.existsByBibliotecaIdAndLivroId(idBiblioteca, savedlivro.getId())) {
             throw new DuplicateResourceException(Constants.MSG_DUPLICADO_ISBN);
@@ -165,6 +330,7 @@ public class LivroService {
         }
 
         BibliotecaLivro savedRelacao = bibliotecaLivroRepository.save(newRelacao);
+        eventPublisher.publishEvent(AcervoAlteradoEvent.adicionado(idBiblioteca, savedlivro.getId()));
 
         return new LivroAcervoDTO(savedRelacao);
     }
@@ -181,6 +347,7 @@ public class LivroService {
         }
 
         bibliotecaLivroRepository.deleteByBibliotecaIdAndLivroId(idBiblioteca, idLivro);
+        eventPublisher.publishEvent(AcervoAlteradoEvent.removido(idBiblioteca, idLivro));
     }
 
     /**
@@ -195,6 +362,7 @@ public class LivroService {
 
         if (dto.getQuantidade() == 0) {
             bibliotecaLivroRepository.delete(relacao);
+            eventPublisher.publishEvent(AcervoAlteradoEvent.removido(idBiblioteca, idLivro));
             return null;
         }
 
@@ -207,6 +375,169 @@ public class LivroService {
     // 🛠️ MÉTODOS AUXILIARES PRIVADOS
     // ================================================================================
 
+    /**
+     * Ordenações que o índice de títulos não conhece vão ao banco com os IDs encontrados na
+     * cláusula IN; acima do limite de parâmetros fica a busca do banco.
+     */
+    private boolean podeHidratar(long[] ids, Pageable pageable) {
+        return tituloIndex.ordena(pageable.getSort()) || ids.length <= Constants.MAX_IDS_ORDENACAO_NO_BANCO;
+    }
+
+    /**
+     * Página da busca por título: recortada aqui se o índice já ordenou os IDs; senão o banco
+     * ordena e pagina só os IDs encontrados (o total é o do índice, sem COUNT).
+     */
+    private Page<LivroResponseDTO> hidratarBusca(long[] ids, Pageable pageable) {
+        if (tituloIndex.ordena(pageable.getSort())) {
+            return hidratarPagina(ids, pageable);
+        }
+        if (ids.length == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        List<LivroResponseDTO> conteudo = livroRepository.findResumosByIdIn(
+                Arrays.stream(ids).boxed().toList(), pageable);
+        return new PageImpl<>(conteudo, pageable, ids.length);
+    }
+
+    /**
+     * Recorta a página da lista de IDs (já ordenada) e carrega só esses livros do banco.
+     */
+    private Page<LivroResponseDTO> hidratarPagina(long[] ids, Pageable pageable) {
+        int inicio = (int) Math.min(pageable.getOffset(), ids.length);
+        int fim = Math.min(inicio + pageable.getPageSize(), ids.length);
+
+        List<Long> idsPagina = Arrays.stream(ids, inicio, fim).boxed().toList();
+        return carregarPagina(idsPagina, pageable, ids.length);
+    }
+
+    /**
+     * Ficha do livro com os similares do critério pedido (sem cache).
+     */
+    private LivroDetalhesDTO montarDetalhesDoLivro(Long id, boolean porAcervo) {
+        // Busca o livro COM os gêneros em uma única query
+        Livro livro = livroRepository.findByIdWithGeneros(id)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.MSG_NAO_ENCONTRADO));
+
+        LivroDetalhesDTO detalhesDTO = new LivroDetalhesDTO(livro);
+
+        if (porAcervo && recomendacaoAcervoIndex.isPronto() && similaridadeIndex.isPronto()) {
+            List<Long> ids = recomendacaoAcervoIndex.recomendados(id, Constants.LIMITE_LIVROS_SIMILARES);
+            detalhesDTO.setLivrosSimilaresResumo(
+                    similaridadeIndex.cards(ids).stream()
+                            .map(LivroResponseDTO::new)
+                            .toList());
+            return detalhesDTO;
+        }
+
+        // ✅ NOVO: Similares ranqueados pelo índice em memória, sem outra consulta
+        if (similaridadeIndex.isPronto()) {
+            detalhesDTO.setLivrosSimilaresResumo(
+                    similaridadeIndex.similares(id, Constants.LIMITE_LIVROS_SIMILARES).stream()
+                            .map(LivroResponseDTO::new)
+                            .toList());
+            return detalhesDTO;
+        }
+
+        // Busca livros similares
+        Pageable limit = PageRequest.of(0, Constants.LIMITE_LIVROS_SIMILARES);
+        detalhesDTO.setLivrosSimilaresResumo(livroRepository.findLivrosSimilares(id, limit));
+
+        return detalhesDTO;
+    }
+
+
+    /**
+     * Bibliotecas ativas que têm o livro, indexadas por ID (conjunto guardado no cache de respostas).
+     */
+    private Map<Long, BibliotecaParaLivroDTO> carregarBibliotecasDoLivro(Long idLivro) {
+        Map<Long, BibliotecaParaLivroDTO> porId = new LinkedHashMap<>();
+        for (Biblioteca biblioteca : bibliotecaRepository.findByLivroAndStatusAtivo(idLivro)) {
+            if (biblioteca.getStatus() == StatusBiblioteca.ATIVO) {
+                porId.put(biblioteca.getId(), new BibliotecaParaLivroDTO(biblioteca));
+            }
+        }
+        return Collections.unmodifiableMap(porId);
+    }
+
+    /**
+     * As k bibliotecas mais próximas dentro do raio, com a distância no DTO.
+     * O ranking usa a distância aproximada, calculada em lote uma única vez (array primitivo),
+     * e só as k melhores passam pelo heap; Haversine fica para as selecionadas, que são exibidas.
+     */
+    private List<BibliotecaParaLivroDTO> ordenarPorDistancia(List<BibliotecaParaLivroDTO> bibliotecas, double lat,
+                                                             double lon, double raioKm, int k) {
+        int n = bibliotecas.size();
+        double[] coordenadas = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            BibliotecaParaLivroDTO biblioteca = bibliotecas.get(i);
+            coordenadas[2 * i] = biblioteca.getLatitude().doubleValue();
+            coordenadas[2 * i + 1] = biblioteca.getLongitude().doubleValue();
+        }
+        double[] distancias = new double[n];
+        DistanceCalculator.approximateDistances(lat, lon, DistanceCalculator.cosLatitude(lat), coordenadas, 0, n, distancias);
+
+        double raioAproximado = raioKm * (1 + DistanceCalculator.APPROXIMATION_MAX_ERROR);
+        SelecaoMenores selecao = new SelecaoMenores(Math.min(k, n));
+        for (int i = 0; i < n; i++) {
+            if (distancias[i] <= raioAproximado) {
+                selecao.oferecer(i, distancias[i]);
+            }
+        }
+
+        List<BibliotecaParaLivroDTO> dtos = new ArrayList<>(selecao.tamanho());
+        for (int i = 0; i < selecao.tamanho(); i++) {
+            int pos = (int) selecao.id(i);
+            double distancia = DistanceCalculator.calculateDistance(lat, lon, coordenadas[2 * pos], coordenadas[2 * pos + 1]);
+            if (distancia <= raioKm) {
+                dtos.add(new BibliotecaParaLivroDTO(bibliotecas.get(pos), distancia));
+            }
+        }
+        dtos.sort(Comparator.comparingDouble(BibliotecaParaLivroDTO::getDistanciaKm));
+        return dtos;
+    }
+
+    /**
+     * Valida o tipo de recomendação: null/vazio = gênero.
+     */
+    private boolean isRecomendacaoPorAcervo(String recomendacao) {
+        if (recomendacao == null || recomendacao.isBlank()
+                || Constants.RECOMENDACAO_GENERO.equalsIgnoreCase(recomendacao.trim())) {
+            return false;
+        }
+        if (Constants.RECOMENDACAO_ACERVO.equalsIgnoreCase(recomendacao.trim())) {
+            return true;
+        }
+        throw new IllegalArgumentException(Constants.MSG_RECOMENDACAO_INVALIDA);
+    }
+
+    /**
+     * Carrega os livros de um ranking em memória preservando a ordem dos IDs.
+     */
+    private List<LivroResponseDTO> carregarLivrosNaOrdem(List<Long> ids) {
+        Map<Long, LivroResponseDTO> porId = livroRepository.findResumosByIdIn(ids).stream()
+                .collect(Collectors.toMap(LivroResponseDTO::getId, Function.identity()));
+
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Carrega os livros da página preservando a ordem dos IDs.
+     */
+    private Page<LivroResponseDTO> carregarPagina(List<Long> idsPagina, Pageable pageable, long total) {
+        Map<Long, LivroResponseDTO> porId = livroRepository.findResumosByIdIn(idsPagina).stream()
+                .collect(Collectors.toMap(LivroResponseDTO::getId, Function.identity()));
+
+        List<LivroResponseDTO> conteudo = idsPagina.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(conteudo, pageable, total);
+    }
+
     private Livro createNewlivro(AddLivroRequestDTO dto) {
         Livro livro = new Livro();
         livro.setIsbn(dto.getIsbn());
@@ -218,26 +549,4 @@ public class LivroService {
         livro.setResumo(dto.getResumo());
         return livro;
     }
-
-    private void setGenerosForLivro(Livro livro, Set<Long> generosIds) {
-        if (livro.getGeneros() == null) {
-            livro.setGeneros(new java.util.ArrayList<>());
-        }
-
-        if (livro.getId() != null) {
-            livroGeneroRepository.deleteByLivroId(livro.getId());
-            livro.getGeneros().clear();
-        }
-
-        for (Long generoId : generosIds) {
-            Genero genero = generoRepository.findById(generoId)
-                    .orElseThrow(() -> new ResourceNotFoundException(Constants.MSG_GENERO_NAO_ENCONTRADO + " ID: " + generoId));
-
-            LivroGenero lg = new LivroGenero();
-            lg.setLivro(livro);
-            lg.setGenero(genero);
-
-            livro.getGeneros().add(lg);
-        }
-    }
 }
@@ -62,12 +62,61 @@ public class Constants {
     public static final String MSG_MODERADOR_NAO_ENCONTRADO = "Moderador não encontrado";
     public static final String MSG_USUARIO_NAO_ENCONTRADO = "Usuário não encontrado";
     public static final String MSG_QUANTIDADE_MINIMA = "Quantidade mínima permitida é %d";
+    public static final String MSG_CURSOR_INVALIDO = "Cursor de paginação inválido";
+    public static final String MSG_RAIO_INVALIDO = "Raio deve ser maior que zero e no máximo 50 km";
+    public static final String MSG_ZOOM_INVALIDO = "Zoom deve estar entre 0 e 20";
+    public static final String MSG_BBOX_INVALIDA = "Área inválida. Use bbox=oeste,sul,leste,norte (graus decimais)";
+    public static final String MSG_BBOX_OBRIGATORIA = "Informe a área visível (bbox) a partir do zoom 15";
+    public static final String MSG_IMPORTACAO_FORMATO = "Formato não suportado. Envie text/csv ou application/x-ndjson";
+    public static final String MSG_IMPORTACAO_CABECALHO = "O cabeçalho do CSV deve ter ao menos as colunas isbn e quantidade";
+    public static final String MSG_IMPORTACAO_TAMANHO = "Arquivo de importação maior que o máximo permitido (50 MB)";
+    public static final String MSG_IMPORTACAO_EM_ANDAMENTO = "Já existe uma importação em andamento para esta biblioteca";
+    public static final String MSG_IMPORTACAO_NAO_ENCONTRADA = "Importação não encontrada";
+    public static final String MSG_IMPORTACAO_LINHA_INVALIDA = "Linha mal formatada";
+    public static final String MSG_IMPORTACAO_ISBN_REPETIDO = "ISBN repetido no arquivo";
+    public static final String MSG_IMPORTACAO_ERRO_LOTE = "Erro ao gravar o lote desta linha; reenvie as linhas afetadas";
+    public static final String MSG_RECOMENDACAO_INVALIDA = "Recomendação inválida. Use 'genero' ou 'acervo'";
 
     // ============================================
     // CONSTANTES DE NEGÓCIO
     // ============================================
     public static final int LIMITE_LIVROS_POPULARES = 10;
     public static final int LIMITE_LIVROS_SIMILARES = 5;
+    public static final int LIMITE_AUTOCOMPLETE = 8;
+    // Autocomplete: melhores sugestões guardadas por nó da trie e, acima de quantos livros
+    // com popularidade alterada de uma vez, recalcular a trie inteira em vez de caminho a caminho
+    public static final int MELHORES_POR_NO_AUTOCOMPLETE = LIMITE_AUTOCOMPLETE;
+    public static final int MAX_REORDENACOES_AUTOCOMPLETE = 2_000;
+    public static final int LIMITE_LIVROS_TENDENCIA = 10;
+
+    // Listagens de livros: trecho do resumo (o TEXT completo só nos detalhes)
+    public static final int TAMANHO_TRECHO_RESUMO = 200;
+
+    // Tendências: cada adição ao acervo vale 1 e perde metade do peso a cada 7 dias
+    public static final long MEIA_VIDA_TENDENCIA_MS = 7L * 24 * 60 * 60 * 1000;
+    public static final long INTERVALO_SNAPSHOT_TENDENCIA_MS = 15L * 60 * 1000;
+
+    // Recomendações por acervo: vizinhos guardados por livro e intervalo do recálculo incremental
+    public static final String RECOMENDACAO_GENERO = "genero";
+    public static final String RECOMENDACAO_ACERVO = "acervo";
+    public static final int VIZINHOS_POR_LIVRO = 20;
+    public static final long INTERVALO_RECOMENDACOES_MS = 60L * 1000;
+
+    // Índice espacial: células de 0,01° (~1,1 km em São Paulo)
+    public static final double TAMANHO_CELULA_GRAUS = 0.01;
+
+    // Mapa público: cada tile (256 px) vira 8x8 células; pinos individuais a partir do zoom 15
+    public static final int ZOOM_MAXIMO = 20;
+    public static final int ZOOM_PINOS = 15;
+    public static final int CELULAS_POR_TILE = 8;
+    // Pinos: no máximo MAX_PINOS_MAPA por resposta, mesmo com uma área grande no zoom alto
+    public static final int MAX_PINOS_MAPA = 500;
+    // Mapa do Dashboard sem zoom informado: nível de cidade, células de ~0,044° (~4,9 km)
+    public static final int ZOOM_DASHBOARD = 10;
+
+    // Busca por raio (km)
+    public static final double RAIO_PADRAO_KM = 3.0;
+    public static final double RAIO_MAXIMO_KM = 50.0;
     public static final int QUANTIDADE_MINIMA_LIVRO = 1;
 
     // ============================================
@@ -93,6 +142,32 @@ public class Constants {
     public static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
     public static final String[] ALLOWED_IMAGE_TYPES = {"image/jpeg", "image/jpg", "image/png"};
     public static final String UPLOAD_DIR = "uploads/";
+    public static final String SNAPSHOT_TENDENCIAS = "data/tendencias.bin";
+
+    // Importação de acervo em lote: linhas por transação, erros detalhados e tamanho máximo
+    public static final int TAMANHO_LOTE_IMPORTACAO = 500;
+    public static final int MAX_ERROS_IMPORTACAO = 1_000;
+    public static final long MAX_TAMANHO_IMPORTACAO = 50L * 1024 * 1024; // 50MB
+    public static final long RETENCAO_IMPORTACAO_MS = 60L * 60 * 1000;
+
+    // ============================================
+    // CONSTANTES DE PERSISTÊNCIA
+    // ============================================
+    // IDs reservados em blocos numa tabela (IDENTITY impede o Hibernate de agrupar inserts)
+    public static final String TABELA_SEQUENCIAS = "tbl_sequencia";
+    public static final int ALOCACAO_IDS = 50;
+
+    // Cache de segundo nível (JCache/Caffeine): regiões e máximo de entradas em memória de cada uma
+    public static final String REGIAO_GENERO = "genero";
+    public static final String REGIAO_BIBLIOTECA = "biblioteca";
+    public static final String REGIAO_ENDERECO = "endereco";
+    public static final String REGIAO_HORARIO = "horario";
+    public static final String REGIAO_HORARIOS_BIBLIOTECA = "biblioteca.horarios";
+    public static final String REGIAO_CONSULTAS_BIBLIOTECA = "consultas.biblioteca";
+    public static final long MAX_ENTRADAS_GENERO = 1_000;
+    public static final long MAX_ENTRADAS_BIBLIOTECA = 5_000;
+    public static final long MAX_ENTRADAS_HORARIO = 40_000;
+    public static final long MAX_ENTRADAS_CONSULTAS = 2_000;
 
     // ============================================
     // CONSTANTES DE PAGINAÇÃO
@@ -102,6 +177,31 @@ public class Constants {
     public static final String DEFAULT_SORT_FIELD = "id";
     public static final String DEFAULT_SORT_DIRECTION = "ASC";
 
+    // Busca por título com ordenação que o índice não conhece: IDs encontrados numa cláusula IN
+    public static final int MAX_IDS_ORDENACAO_NO_BANCO = 10_000;
+
+    // Totais aproximados das respostas em Slice
+    public static final long TTL_CONTAGEM_APROXIMADA_MS = 60_000;
+    public static final int MAX_CONTAGENS_EM_CACHE = 1_000;
+
+    // Dashboard do admin: recalculado após alterações ou, no máximo, a cada 30 s
+    public static final long TTL_DASHBOARD_MS = 30_000;
+
+    // Seções do Dashboard consultadas em paralelo; a que passar do prazo sai com o último valor
+    public static final int THREADS_DASHBOARD = 3;
+    public static final int FILA_DASHBOARD = 30;
+    public static final long TIMEOUT_SECAO_DASHBOARD_MS = 2_000;
+    public static final String SECAO_DASHBOARD_BIBLIOTECAS = "bibliotecas";
+    public static final String SECAO_DASHBOARD_LIVROS = "livros";
+    public static final String SECAO_DASHBOARD_EXEMPLARES = "exemplares";
+
+    // Respostas dos GETs públicos em memória (Caffeine, W-TinyLFU): máximo de entradas de cada cache.
+    // Os detalhes do livro expiram porque as recomendações também mudam sem evento (recálculo agendado)
+    public static final long MAX_RESPOSTAS_LIVRO = 10_000;
+    public static final long MAX_RESPOSTAS_BIBLIOTECA = 5_000;
+    public static final long MAX_RESPOSTAS_POPULARES = 4;
+    public static final long TTL_DETALHES_LIVRO_MS = 600_000;
+
     // Construtor privado para evitar instanciação
     private Constants() {
         throw new IllegalStateException("Classe utilitária não deve ser instanciada");
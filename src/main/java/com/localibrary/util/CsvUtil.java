@@ -0,0 +1,53 @@
+package com.localibrary.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ NOVO: Leitura de linhas CSV (separador vírgula, campos entre aspas duplas)
+ * Aspas dentro de um campo entre aspas são escritas em dobro (""). Cada registro
+ * ocupa uma linha: quebras de linha dentro de campos não são suportadas.
+ */
+public class CsvUtil {
+
+    /**
+     * Divide a linha nos campos, já sem as aspas externas.
+     *
+     * @throws IllegalArgumentException se uma aspa aberta não for fechada
+     */
+    public static List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString().trim());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        campos.add(atual.toString().trim());
+        return campos;
+    }
+
+    private CsvUtil() {
+        throw new IllegalStateException("Classe utilitária não deve ser instanciada");
+    }
+}
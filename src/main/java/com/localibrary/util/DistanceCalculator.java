@@ -12,6 +12,15 @@ public class DistanceCalculator {
     // Raio médio da Terra em quilômetros
     private static final double EARTH_RADIUS_KM = 6371.0;
 
+    // Km por grau de arco (usado pela distância aproximada)
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    /**
+     * ✅ NOVO: Erro relativo máximo da distância aproximada dentro da região metropolitana de São Paulo
+     * (origem e ponto a até ~60 km um do outro). Usado como folga ao filtrar por raio antes do valor exato.
+     */
+    public static final double APPROXIMATION_MAX_ERROR = 0.005;
+
     /**
      * Calcula a distância entre duas coordenadas geográficas usando a fórmula de Haversine.
      *
@@ -43,6 +52,52 @@ public class DistanceCalculator {
         return EARTH_RADIUS_KM * c;
     }
 
+    /**
+     * ✅ NOVO: Distância aproximada (projeção equirretangular) para ranking.
+     * Dentro de uma cidade a Terra é praticamente plana: basta encolher a diferença de longitude
+     * por cos(lat) da origem, calculado uma vez por busca (ver {@link #cosLatitude(double)}).
+     * Erro abaixo de {@value #APPROXIMATION_MAX_ERROR} (relativo) em São Paulo; para exibir, use Haversine.
+     *
+     * @param lat1    Latitude da origem
+     * @param lon1    Longitude da origem
+     * @param cosLat1 cos(lat1) pré-calculado
+     * @param lat2    Latitude do ponto
+     * @param lon2    Longitude do ponto
+     * @return Distância aproximada em quilômetros
+     */
+    public static double approximateDistance(double lat1, double lon1, double cosLat1, double lat2, double lon2) {
+        double dx = (lon2 - lon1) * cosLat1;
+        double dy = lat2 - lat1;
+        return KM_PER_DEGREE * Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * ✅ NOVO: Versão em lote da distância aproximada, num único laço sem objetos.
+     *
+     * @param lat1    Latitude da origem
+     * @param lon1    Longitude da origem
+     * @param cosLat1 cos(lat1) pré-calculado
+     * @param latLons Pares intercalados [lat0, lon0, lat1, lon1, ...]
+     * @param from    Primeiro par (inclusivo)
+     * @param to      Último par (exclusivo)
+     * @param out     Saída: out[i - from] recebe a distância do par i, em quilômetros
+     */
+    public static void approximateDistances(double lat1, double lon1, double cosLat1,
+                                            double[] latLons, int from, int to, double[] out) {
+        for (int i = from, j = 2 * from; i < to; i++, j += 2) {
+            double dx = (latLons[j + 1] - lon1) * cosLat1;
+            double dy = latLons[j] - lat1;
+            out[i - from] = KM_PER_DEGREE * Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+    /**
+     * cos(lat) usado pela distância aproximada
+     */
+    public static double cosLatitude(double lat) {
+        return Math.cos(Math.toRadians(lat));
+    }
+
     /**
      * Calcula a distância entre duas coordenadas e retorna em metros.
      *
@@ -88,6 +143,27 @@ public class DistanceCalculator {
         return distance <= radiusKm;
     }
 
+    /**
+     * Retângulo de latitude/longitude que contém o círculo de raio informado.
+     * Usado como pré-filtro indexável no SQL; o filtro exato é feito depois com Haversine.
+     *
+     * @param lat      Latitude do centro
+     * @param lon      Longitude do centro
+     * @param radiusKm Raio em quilômetros
+     * @return Array com [latMin, latMax, lonMin, lonMax]
+     */
+    public static double[] boundingBox(double lat, double lon, double radiusKm) {
+        double deltaLat = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double latMin = Math.max(-90, lat - deltaLat);
+        double latMax = Math.min(90, lat + deltaLat);
+
+        // A longitude "encolhe" com cos(lat): usa a borda mais distante do equador para não cortar o círculo
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(latMin), Math.abs(latMax))));
+        double deltaLon = cosLat > 0 ? Math.toDegrees(radiusKm / (EARTH_RADIUS_KM * cosLat)) : 180;
+
+        return new double[]{latMin, latMax, Math.max(-180, lon - deltaLon), Math.min(180, lon + deltaLon)};
+    }
+
     /**
      * Calcula o ponto médio entre duas coordenadas.
      * Útil para centralizar mapas entre múltiplos pontos.
@@ -4,6 +4,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 /**
  * ✅ NOVO: Helper para centralizar lógica de paginação
  * Resolve: Código duplicado em múltiplos services
@@ -23,7 +26,7 @@ public abstract class PaginationHelper {
     public static Pageable createPageable(Integer page, Integer size, String sortField, String sortDir) {
         // Define valores padrão
         int p = (page == null || page < 0) ? 0 : page;
-        int s = (size == null || size <= 0) ? Constants.DEFAULT_PAGE_SIZE : Math.min(size, Constants.MAX_PAGE_SIZE);
+        int s = normalizeSize(size);
         String sf = (sortField == null || sortField.isBlank()) ? Constants.DEFAULT_SORT_FIELD : sortField;
         String sd = (sortDir == null || (!sortDir.equalsIgnoreCase("ASC") && !sortDir.equalsIgnoreCase("DESC")))
                 ? Constants.DEFAULT_SORT_DIRECTION
@@ -56,6 +59,59 @@ public abstract class PaginationHelper {
         return createPageable(0, Constants.DEFAULT_PAGE_SIZE, null, null);
     }
 
+    /**
+     * ✅ NOVO: Pageable para paginação por cursor (keyset)
+     * Sempre a primeira "página" com size + 1 linhas: o filtro do cursor substitui o OFFSET
+     * e a linha extra indica se há próxima página, sem COUNT(*).
+     *
+     * @param size Tamanho da página
+     * @return Pageable sem ordenação (a query define o ORDER BY)
+     */
+    public static Pageable createKeysetPageable(Integer size) {
+        return PageRequest.of(0, normalizeSize(size) + 1);
+    }
+
+    /**
+     * Tamanho da página com o mesmo padrão/limite do createPageable
+     */
+    public static int normalizeSize(Integer size) {
+        return (size == null || size <= 0) ? Constants.DEFAULT_PAGE_SIZE : Math.min(size, Constants.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Codifica a chave de ordenação e o ID da última linha em um cursor opaco (Base64 URL-safe).
+     */
+    public static String encodeCursor(String chave, Long id) {
+        String bruto = id + ":" + (chave != null ? chave : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor. Sem cursor, retorna a posição anterior à primeira linha.
+     *
+     * @throws IllegalArgumentException se o cursor estiver malformado
+     */
+    public static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Cursor.INICIO;
+        }
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = bruto.indexOf(':');
+            return new Cursor(bruto.substring(separador + 1), Long.parseLong(bruto.substring(0, separador)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(Constants.MSG_CURSOR_INVALIDO);
+        }
+    }
+
+    /**
+     * Última posição lida: chave de ordenação + ID (desempate).
+     * INICIO ("", 0) fica antes de qualquer linha, pois as chaves são NOT NULL.
+     */
+    public record Cursor(String chave, Long id) {
+        public static final Cursor INICIO = new Cursor("", 0L);
+    }
+
     // Construtor privado para evitar instanciação
     private PaginationHelper() {
         throw new IllegalStateException("Classe utilitária não deve ser instanciada");
@@ -0,0 +1,114 @@
+package com.localibrary.util;
+
+/**
+ * ✅ NOVO: Seleção dos k menores valores (ex.: distâncias) sem ordenar a lista inteira
+ * Heap binário de máximo em arrays primitivos: o pior selecionado fica no topo e é trocado
+ * quando chega um valor menor. Custo O(n log k), sem boxing.
+ * <p>
+ * Uso: várias chamadas a oferecer(), depois ordenar() e leitura por id(i)/valor(i).
+ */
+public final class SelecaoMenores {
+
+    private final int k;
+    private final long[] ids;
+    private final double[] valores;
+    private int tamanho = 0;
+
+    /**
+     * @param k Quantidade máxima de itens selecionados
+     */
+    public SelecaoMenores(int k) {
+        this.k = Math.max(0, k);
+        this.ids = new long[this.k];
+        this.valores = new double[this.k];
+    }
+
+    public void oferecer(long id, double valor) {
+        if (tamanho < k) {
+            ids[tamanho] = id;
+            valores[tamanho] = valor;
+            subir(tamanho++);
+        } else if (k > 0 && valor < valores[0]) {
+            ids[0] = id;
+            valores[0] = valor;
+            descer(0, tamanho);
+        }
+    }
+
+    public boolean cheia() {
+        return tamanho >= k;
+    }
+
+    /**
+     * Maior valor selecionado até agora (só faz sentido com a seleção não vazia)
+     */
+    public double pior() {
+        return valores[0];
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Ordena os selecionados do menor para o maior (heap sort no próprio array).
+     * Depois disso a seleção não deve receber novas ofertas.
+     */
+    public void ordenar() {
+        for (int fim = tamanho - 1; fim > 0; fim--) {
+            trocar(0, fim);
+            descer(0, fim);
+        }
+    }
+
+    public long id(int i) {
+        return ids[i];
+    }
+
+    public double valor(int i) {
+        return valores[i];
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private void subir(int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (valores[pai] >= valores[i]) {
+                return;
+            }
+            trocar(pai, i);
+            i = pai;
+        }
+    }
+
+    private void descer(int i, int limite) {
+        while (true) {
+            int maior = i;
+            int esq = 2 * i + 1;
+            int dir = esq + 1;
+            if (esq < limite && valores[esq] > valores[maior]) {
+                maior = esq;
+            }
+            if (dir < limite && valores[dir] > valores[maior]) {
+                maior = dir;
+            }
+            if (maior == i) {
+                return;
+            }
+            trocar(i, maior);
+            i = maior;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double valor = valores[a];
+        valores[a] = valores[b];
+        valores[b] = valor;
+    }
+}
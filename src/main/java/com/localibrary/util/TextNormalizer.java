@@ -0,0 +1,63 @@
+package com.localibrary.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ NOVO: Normalização de texto para busca (títulos e autores em português)
+ * Aplicada tanto na indexação quanto na consulta, para que "memorias postumas"
+ * encontre "Memórias Póstumas".
+ */
+public class TextNormalizer {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+            "em", "na", "no", "nas", "nos", "um", "uma", "uns", "umas",
+            "para", "por", "com", "ao", "aos"
+    );
+
+    /**
+     * Decomposição NFD, remoção de acentos e conversão para minúsculas.
+     */
+    public static String fold(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return DIACRITICOS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Palavras normalizadas, sem repetição e na ordem em que aparecem.
+     *
+     * @param removerStopwords Se true, descarta artigos, preposições e contrações comuns
+     */
+    public static Set<String> tokens(String texto, boolean removerStopwords) {
+        return new LinkedHashSet<>(termos(texto, removerStopwords));
+    }
+
+    /**
+     * Palavras normalizadas mantendo repetições (frequência do termo no texto).
+     */
+    public static List<String> termos(String texto, boolean removerStopwords) {
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(fold(texto))) {
+            if (!termo.isEmpty() && !(removerStopwords && isStopword(termo))) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    public static boolean isStopword(String token) {
+        return STOPWORDS.contains(token);
+    }
+}
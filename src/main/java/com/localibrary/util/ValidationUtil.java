@@ -191,6 +191,13 @@ public class ValidationUtil {
                 longitude >= -180 && longitude <= 180;
     }
 
+    /**
+     * ✅ NOVO: Valida o raio de busca (maior que zero e até o máximo permitido)
+     */
+    public static boolean isValidRaio(Double raioKm) {
+        return raioKm != null && raioKm > 0 && raioKm <= Constants.RAIO_MAXIMO_KM;
+    }
+
     /**
      * Valida se ano de publicação é válido (entre 1000 e ano atual + 1)
      */
@@ -0,0 +1,151 @@
+package com.localibrary.consultas;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * ✅ NOVO: Mede o custo de uma requisição no banco
+ * Comandos executados e linhas lidas vêm de um proxy JDBC sobre a DataSource (pega também o
+ * JdbcTemplate); entidades e coleções carregadas vêm do Statistics do Hibernate.
+ * <p>
+ * Só a thread que está medindo é contada: @Scheduled e @Async não entram na conta.
+ * Um executeBatch conta como um comando (é uma ida ao banco).
+ */
+public class ContadorConsultas {
+
+    private static final Set<String> EXECUCOES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private volatile Thread medindo;
+    private long consultas;
+    private long linhas;
+
+    public ContadorConsultas(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @FunctionalInterface
+    public interface Acao {
+        void executar() throws Exception;
+    }
+
+    /**
+     * Resultado de uma medição
+     *
+     * @param consultas  comandos SQL executados
+     * @param linhas     linhas lidas dos ResultSets
+     * @param entidades  entidades carregadas pelo Hibernate
+     * @param colecoes   coleções inicializadas (lazy ou fetch)
+     */
+    public record Medicao(long consultas, long linhas, long entidades, long colecoes) {
+        @Override
+        public String toString() {
+            return consultas + " consultas, " + linhas + " linhas, " + entidades + " entidades, " + colecoes + " coleções";
+        }
+    }
+
+    public synchronized Medicao medir(Acao acao) throws Exception {
+        Statistics estatisticas = estatisticas();
+        long entidadesAntes = estatisticas.getEntityLoadCount();
+        long colecoesAntes = estatisticas.getCollectionLoadCount();
+        consultas = 0;
+        linhas = 0;
+        medindo = Thread.currentThread();
+        try {
+            acao.executar();
+        } finally {
+            medindo = null;
+        }
+        return new Medicao(consultas, linhas,
+                estatisticas.getEntityLoadCount() - entidadesAntes,
+                estatisticas.getCollectionLoadCount() - colecoesAntes);
+    }
+
+    public DataSource envolver(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(super.getConnection(), Connection.class);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(super.getConnection(username, password), Connection.class);
+            }
+        };
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private Statistics estatisticas() {
+        return entityManagerFactory.getObject().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private boolean contando() {
+        return medindo == Thread.currentThread();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T alvo, Class<T> tipo) {
+        return (T) Proxy.newProxyInstance(ContadorConsultas.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return interceptar(metodo, invocar(alvo, metodo, args));
+                    }
+                });
+    }
+
+    private Object interceptar(Method metodo, Object resultado) {
+        if (resultado instanceof CallableStatement cs) {
+            return proxy(cs, CallableStatement.class);
+        }
+        if (resultado instanceof PreparedStatement ps) {
+            return proxy(ps, PreparedStatement.class);
+        }
+        if (resultado instanceof Statement st && !metodo.getName().equals("getStatement")) {
+            return proxy(st, Statement.class);
+        }
+        if (EXECUCOES.contains(metodo.getName()) && contando()) {
+            consultas++;
+        }
+        if (resultado instanceof ResultSet rs && !metodo.getName().equals("getGeneratedKeys")) {
+            return proxy(rs, ResultSet.class);
+        }
+        if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado) && contando()) {
+            linhas++;
+        }
+        return resultado;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,698 @@
+package com.localibrary.consultas;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.localibrary.consultas.ContadorConsultas.Medicao;
+import com.localibrary.entity.Genero;
+import com.localibrary.entity.Livro;
+import com.localibrary.util.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * ✅ NOVO: Orçamento de consultas por endpoint (regressão de N+1)
+ * Cada endpoint roda contra o H2 com a massa de consultas/dados.sql (9 bibliotecas ativas,
+ * 20 livros de acervo cada) e não pode passar do número de comandos SQL do orçamento.
+ * Um N+1 nessa massa estoura o orçamento na hora.
+ * <p>
+ * GETs são medidos na segunda chamada (caches e índices já aquecidos); escritas, na primeira,
+ * cada uma sobre dados próprios para não depender da ordem dos testes.
+ * Rodar com: mvn -Pconsultas test
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("consultas")
+class OrcamentoConsultasTest {
+
+    private static final String SENHA = "senha123";
+
+    // Livro 12 está no acervo da biblioteca 1 (ver fórmula do acervo em dados.sql)
+    private static final long LIVRO_DO_ACERVO_1 = 12;
+
+    private static final Map<String, String> TOKENS = new ConcurrentHashMap<>();
+
+    @TestConfiguration
+    static class ContadorConsultasConfig {
+
+        @Bean
+        static ContadorConsultas contadorConsultas(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+            return new ContadorConsultas(entityManagerFactory);
+        }
+
+        @Bean
+        static BeanPostProcessor dataSourceContada(ObjectProvider<ContadorConsultas> contador) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? contador.getObject().envolver(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContadorConsultas contador;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // ================================================================================
+    // 📚 LIVROS (público)
+    // ================================================================================
+
+    @Test
+    void buscaPorTitulo() throws Exception {
+        leitura(get("/livros").param("titulo", "Segredo"), 1);
+    }
+
+    @Test
+    void buscaPorTituloOrdenadaPorTitulo() throws Exception {
+        List<String> titulos = campo(leitura(get("/livros").param("titulo", "Segredo")
+                .param("sortField", "titulo").param("sortDir", "desc"), 1), "titulo");
+
+        assertFalse(titulos.isEmpty());
+        assertEquals(titulos.stream().sorted(Comparator.reverseOrder()).toList(), titulos);
+    }
+
+    @Test
+    void buscaPorTituloOrdenadaPeloBanco() throws Exception {
+        // Ordenação que o índice não conhece: o banco ordena só os IDs encontrados, sem COUNT
+        List<String> autores = campo(leitura(get("/livros").param("titulo", "Segredo")
+                .param("sortField", "autor"), 1), "autor");
+
+        assertFalse(autores.isEmpty());
+        assertEquals(autores.stream().sorted().toList(), autores);
+    }
+
+    @Test
+    void buscaPorTituloSlice() throws Exception {
+        leitura(get("/livros/slice").param("titulo", "Segredo"), 1);
+    }
+
+    @Test
+    void buscaPorTituloScroll() throws Exception {
+        leitura(get("/livros/scroll").param("titulo", "Segredo"), 1);
+    }
+
+    @Test
+    void buscaTextual() throws Exception {
+        leitura(get("/livros/busca").param("q", "segredo casa"), 1);
+    }
+
+    @Test
+    void autocomplete() throws Exception {
+        leitura(get("/livros/autocomplete").param("q", "mem"), 0);
+    }
+
+    @Test
+    void livrosPopulares() throws Exception {
+        leitura(get("/livros/populares"), 0);
+    }
+
+    @Test
+    void livrosEmTendencia() throws Exception {
+        leitura(get("/livros/tendencias"), 1);
+    }
+
+    @Test
+    void detalhesDoLivro() throws Exception {
+        leitura(get("/livros/{id}", LIVRO_DO_ACERVO_1), 0);
+    }
+
+    @Test
+    void detalhesDoLivroComRecomendacaoPorAcervo() throws Exception {
+        leitura(get("/livros/{id}", LIVRO_DO_ACERVO_1).param("recomendacao", "acervo"), 0);
+    }
+
+    @Test
+    void bibliotecasDoLivro() throws Exception {
+        leitura(get("/livros/{id}/bibliotecas", LIVRO_DO_ACERVO_1), 0);
+    }
+
+    @Test
+    void bibliotecasDoLivroPorProximidade() throws Exception {
+        leitura(get("/livros/{id}/bibliotecas", LIVRO_DO_ACERVO_1)
+                .param("lat", "-23.55").param("lon", "-46.65").param("raioKm", "50"), 1);
+    }
+
+    // ================================================================================
+    // 🏛️ BIBLIOTECAS (público)
+    // ================================================================================
+
+    @Test
+    void listarBibliotecas() throws Exception {
+        leitura(get("/bibliotecas"), 0);
+    }
+
+    @Test
+    void listarBibliotecasSlice() throws Exception {
+        leitura(get("/bibliotecas/slice"), 0);
+    }
+
+    @Test
+    void listarBibliotecasScroll() throws Exception {
+        leitura(get("/bibliotecas/scroll"), 0);
+    }
+
+    @Test
+    void bibliotecasProximas() throws Exception {
+        leitura(get("/bibliotecas/proximas").param("lat", "-23.55").param("lon", "-46.65").param("raioKm", "20"), 1);
+    }
+
+    @Test
+    void mapaAgrupado() throws Exception {
+        leitura(get("/bibliotecas/mapa").param("zoom", "10"), 0);
+    }
+
+    @Test
+    void mapaComPinos() throws Exception {
+        MvcResult resultado = leitura(get("/bibliotecas/mapa").param("zoom", "16")
+                .param("bbox", "-46.83,-23.68,-46.36,-23.36"), 0);
+
+        // Mapa público: só as ativas (as pendentes e inativas ficam no mapa do Dashboard)
+        for (JsonNode pino : objectMapper.readTree(contentAsString(resultado)).get("bibliotecas")) {
+            assertEquals("ATIVO", pino.get("status").asText());
+        }
+    }
+
+    @Test
+    void mapaComPinosExigeArea() throws Exception {
+        // Sem bbox, o zoom de pinos devolveria todas as bibliotecas
+        assertEquals(400, mockMvc.perform(get("/bibliotecas/mapa").param("zoom", "16")).andReturn()
+                .getResponse().getStatus());
+    }
+
+    @Test
+    void detalhesDaBiblioteca() throws Exception {
+        // Resposta em cache até a biblioteca ser alterada
+        leitura(get("/bibliotecas/{id}", 1), 0);
+    }
+
+    // ================================================================================
+    // 🔐 ÁREA DA BIBLIOTECA
+    // ================================================================================
+
+    @Test
+    void perfilDaBiblioteca() throws Exception {
+        leitura(comToken(get("/bibliotecas/{id}/profile", 1), biblioteca(1)), 1);
+    }
+
+    @Test
+    void atualizarPerfil() throws Exception {
+        // Detalhes e listagem em cache antes da alteração
+        executar(get("/bibliotecas/{id}", 2));
+        executar(get("/bibliotecas"));
+
+        escrita(comToken(put("/bibliotecas/{id}/profile", 2), biblioteca(2))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "nomeFantasia", "Biblioteca 02 Renovada",
+                        "razaoSocial", "Biblioteca 02 LTDA",
+                        "categoria", "PUBLICA",
+                        "cep", "01310100",
+                        "logradouro", "Avenida Paulista",
+                        "numero", "1000",
+                        "bairro", "Bela Vista",
+                        "cidade", "São Paulo",
+                        "estado", "SP"))), 8);
+
+        assertTrue(contentAsString(executar(get("/bibliotecas/{id}", 2))).contains("Biblioteca 02 Renovada"));
+        assertTrue(contentAsString(executar(get("/bibliotecas"))).contains("Biblioteca 02 Renovada"));
+    }
+
+    @Test
+    void acervo() throws Exception {
+        leitura(comToken(get("/bibliotecas/{id}/livros", 1), biblioteca(1)), 2);
+    }
+
+    @Test
+    void acervoSlice() throws Exception {
+        leitura(comToken(get("/bibliotecas/{id}/livros/slice", 1), biblioteca(1)), 1);
+    }
+
+    @Test
+    void acervoScroll() throws Exception {
+        leitura(comToken(get("/bibliotecas/{id}/livros/scroll", 1), biblioteca(1)), 1);
+    }
+
+    @Test
+    void livroDoAcervo() throws Exception {
+        leitura(comToken(get("/bibliotecas/{id}/livros/{livro}", 1, LIVRO_DO_ACERVO_1), biblioteca(1)), 3);
+    }
+
+    @Test
+    void adicionarLivroAoAcervo() throws Exception {
+        escrita(comToken(post("/bibliotecas/{id}/livros", 4), biblioteca(4))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "isbn", "9786500000001",
+                        "titulo", "Livro Novo do Orçamento",
+                        "autor", "Autora Nova",
+                        "generosIds", new long[]{1, 2},
+                        "quantidade", 2))), 12);
+    }
+
+    @Test
+    void importarAcervo() throws Exception {
+        // Livro 1 não está no acervo da biblioteca 3; a lista em cache deve ganhar a biblioteca
+        assertFalse(idsDasBibliotecasDoLivro(1).contains(3L));
+
+        String csv = "isbn,titulo,autor,quantidade,generosIds\n"
+                + "9780000000001,Memórias do Rio 1,Autor 2,3,1\n"
+                + "9786500000002,Livro Importado,Autor Importado,1,2|5\n";
+        MvcResult resultado = escrita(comToken(post("/bibliotecas/{id}/livros/importacao", 3), biblioteca(3))
+                .contentType("text/csv")
+                .content(csv), 1);
+
+        String idImportacao = objectMapper.readTree(resultado.getResponse().getContentAsString()).get("id").asText();
+        leitura(comToken(get("/bibliotecas/{id}/livros/importacao/{importacao}", 3, idImportacao), biblioteca(3)), 0);
+
+        // O lote chega aos índices num único evento: o livro novo aparece na busca e no autocomplete
+        aguardarImportacao(3, idImportacao);
+        assertEquals(List.of("Livro Importado"), campo(executar(get("/livros").param("titulo", "Livro Importado")), "titulo"));
+        List<String> sugestoes = new ArrayList<>();
+        objectMapper.readTree(contentAsString(executar(get("/livros/autocomplete").param("q", "livro importado"))))
+                .forEach(sugestao -> sugestoes.add(sugestao.get("titulo").asText()));
+        assertEquals(List.of("Livro Importado"), sugestoes);
+        assertTrue(idsDasBibliotecasDoLivro(1).contains(3L));
+    }
+
+    @Test
+    void atualizarLivroDoAcervo() throws Exception {
+        // Livro 78 é o primeiro do acervo da biblioteca 7
+        escrita(comToken(patch("/bibliotecas/{id}/livros/{livro}", 7, 78), biblioteca(7))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "isbn", "9780000000078",
+                        "titulo", "O Segredo da Casa 78 (edição revista)",
+                        "autor", "Autor 4",
+                        "generosIds", new long[]{7, 3},
+                        "quantidade", 4))), 8);
+    }
+
+    @Test
+    void removerLivroDoAcervo() throws Exception {
+        // Livro 56 é o primeiro do acervo da biblioteca 5
+        assertTrue(idsDasBibliotecasDoLivro(56).contains(5L));
+
+        escrita(comToken(delete("/bibliotecas/{id}/livros/{livro}", 5, 56), biblioteca(5)), 4);
+
+        assertFalse(idsDasBibliotecasDoLivro(56).contains(5L));
+    }
+
+    @Test
+    void atualizarQuantidade() throws Exception {
+        // Livro 67 é o primeiro do acervo da biblioteca 6
+        escrita(comToken(patch("/bibliotecas/{id}/livros/{livro}/quantidade", 6, 67), biblioteca(6))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("quantidade", 5))), 2);
+    }
+
+    // ================================================================================
+    // 🔑 AUTENTICAÇÃO
+    // ================================================================================
+
+    @Test
+    void login() throws Exception {
+        escrita(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", "biblioteca8@teste.com", "senha", SENHA))), 2);
+    }
+
+    @Test
+    void cadastroDeBiblioteca() throws Exception {
+        int pendentes = pendentesNoMapaDoDashboard();
+
+        escrita(post("/auth/cadastro")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.ofEntries(
+                        Map.entry("nomeFantasia", "Biblioteca Nova"),
+                        Map.entry("razaoSocial", "Biblioteca Nova LTDA"),
+                        Map.entry("cnpj", "11.222.333/0001-81"),
+                        Map.entry("categoria", "PUBLICA"),
+                        Map.entry("email", "nova@teste.com"),
+                        Map.entry("senha", SENHA),
+                        Map.entry("cep", "01310100"),
+                        Map.entry("logradouro", "Avenida Paulista"),
+                        Map.entry("numero", "2000"),
+                        Map.entry("bairro", "Bela Vista"),
+                        Map.entry("cidade", "São Paulo"),
+                        Map.entry("estado", "SP")))), 11);
+
+        // A biblioteca nova (pendente) entra no mapa do Dashboard sem esperar o TTL
+        assertEquals(pendentes + 1, pendentesNoMapaDoDashboard());
+    }
+
+    // ================================================================================
+    // 🛡️ ADMINISTRAÇÃO
+    // ================================================================================
+
+    @Test
+    void criarModerador() throws Exception {
+        escrita(comToken(post("/admin/moderadores"), admin())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "nome", "Novo",
+                        "sobrenome", "Moderador",
+                        "email", "novo.moderador@teste.com",
+                        "senha", "Senha@123"))), 4);
+    }
+
+    @Test
+    void listarModeradores() throws Exception {
+        leitura(comToken(get("/admin/moderadores"), admin()), 1);
+    }
+
+    @Test
+    void atualizarStatusDoModerador() throws Exception {
+        escrita(comToken(patch("/admin/moderadores/{id}", 2), admin())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("status", "ATIVO"))), 1);
+    }
+
+    @Test
+    void removerModerador() throws Exception {
+        escrita(comToken(delete("/admin/moderadores/{id}", 3), admin()), 2);
+    }
+
+    @Test
+    void dashboard() throws Exception {
+        MvcResult resultado = leitura(comToken(get("/admin/dashboard"), moderador()), 0);
+
+        // Zoom padrão: clusters com todos os status, somando os totais do Dashboard
+        JsonNode dashboard = objectMapper.readTree(contentAsString(resultado));
+        Map<String, Integer> porStatus = new HashMap<>();
+        int noMapa = 0;
+        for (JsonNode cluster : dashboard.get("clustersMapa")) {
+            noMapa += cluster.get("quantidade").asInt();
+            cluster.get("quantidadePorStatus").fields()
+                    .forEachRemaining(e -> porStatus.merge(e.getKey(), e.getValue().asInt(), Integer::sum));
+        }
+        assertEquals(dashboard.get("totalBibliotecas").asInt(), noMapa);
+        assertEquals(dashboard.get("bibliotecasAtivas").asInt(), porStatus.get("ATIVO"));
+        assertEquals(dashboard.get("bibliotecasPendentes").asInt(), porStatus.get("PENDENTE"));
+        assertTrue(dashboard.get("bibliotecasMapa").isEmpty());
+    }
+
+    @Test
+    void dashboardComPinos() throws Exception {
+        MvcResult resultado = leitura(comToken(get("/admin/dashboard")
+                .param("zoom", "16").param("bbox", "-46.83,-23.68,-46.36,-23.36"), moderador()), 0);
+
+        // Pinos com nome e status, inclusive das bibliotecas que não estão no mapa público
+        JsonNode dashboard = objectMapper.readTree(contentAsString(resultado));
+        Map<Long, String> statusPorBiblioteca = new HashMap<>();
+        for (JsonNode pino : dashboard.get("bibliotecasMapa")) {
+            assertFalse(pino.get("nomeFantasia").asText().isEmpty());
+            statusPorBiblioteca.put(pino.get("id").asLong(), pino.get("status").asText());
+        }
+        assertEquals("PENDENTE", statusPorBiblioteca.get(10L));
+        assertTrue(dashboard.get("clustersMapa").isEmpty());
+
+        assertEquals(400, mockMvc.perform(comToken(get("/admin/dashboard").param("zoom", "16"), moderador()))
+                .andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void listarBibliotecasAdmin() throws Exception {
+        leitura(comToken(get("/admin/bibliotecas"), moderador()), 2);
+    }
+
+    @Test
+    void listarBibliotecasAdminPorStatus() throws Exception {
+        leitura(comToken(get("/admin/bibliotecas").param("status", "ATIVO"), moderador()), 1);
+    }
+
+    @Test
+    void listarBibliotecasAdminSlice() throws Exception {
+        leitura(comToken(get("/admin/bibliotecas/slice"), moderador()), 1);
+    }
+
+    @Test
+    void listarBibliotecasAdminScroll() throws Exception {
+        leitura(comToken(get("/admin/bibliotecas/scroll"), moderador()), 1);
+    }
+
+    @Test
+    void atualizarStatusDaBiblioteca() throws Exception {
+        // Livro 42 é o primeiro do acervo da biblioteca 11 (pendente até aqui)
+        assertFalse(idsDasBibliotecasDoLivro(42).contains(11L));
+
+        escrita(comToken(patch("/admin/bibliotecas/{id}/status", 11), moderador())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("status", "ATIVO"))), 8);
+
+        assertTrue(idsDasBibliotecasDoLivro(42).contains(11L));
+    }
+
+    @Test
+    void removerBiblioteca() throws Exception {
+        escrita(comToken(delete("/admin/bibliotecas/{id}", 12), admin()), 14);
+    }
+
+    // ================================================================================
+    // 💾 CACHE DE SEGUNDO NÍVEL
+    // ================================================================================
+
+    @Test
+    void segundoNivelContaAcertosNasMetricas() throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(Genero.class, 1L);
+        double acertos = leiturasDoCache(Constants.REGIAO_GENERO, "hit");
+        double faltas = leiturasDoCache(Constants.REGIAO_GENERO, "miss");
+
+        // Primeira leitura vai ao banco e guarda; a segunda sai da região sem consulta
+        lerGenero(1L);
+        Medicao segunda = contador.medir(() -> lerGenero(1L));
+
+        assertEquals(0, segunda.consultas(), () -> "segunda leitura foi ao banco: " + segunda);
+        assertEquals(faltas + 1, leiturasDoCache(Constants.REGIAO_GENERO, "miss"));
+        assertEquals(acertos + 1, leiturasDoCache(Constants.REGIAO_GENERO, "hit"));
+    }
+
+    // ================================================================================
+    // 🆔 GERAÇÃO DE IDS
+    // ================================================================================
+
+    @Test
+    void insercaoDeLivrosEmLote() throws Exception {
+        int livros = 500;
+        int blocos = livros / Constants.ALOCACAO_IDS;
+
+        // Com IDENTITY seriam 500 inserts, um por linha. Com IDs em blocos: um executeBatch a cada
+        // 50 livros e a reserva de cada bloco em tbl_sequencia (leitura + update), mais a inicial
+        Medicao medicao = contador.medir(() -> inserirLivros(livros));
+
+        assertTrue(medicao.consultas() <= 3L * (blocos + 1),
+                () -> livros + " livros passaram de " + 3 * (blocos + 1) + " comandos: " + medicao);
+    }
+
+    // ================================================================================
+    // 🖼️ UPLOADS E HEALTH CHECK
+    // ================================================================================
+
+    @Test
+    void uploadDeImagem() throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("file", "capa.png", MediaType.IMAGE_PNG_VALUE, png());
+        escrita(comToken(multipart("/uploads/{tipo}", "CAPA").file(arquivo), biblioteca(1)), 0);
+    }
+
+    @Test
+    void boasVindas() throws Exception {
+        leitura(get("/"), 0);
+    }
+
+    @Test
+    void healthCheck() throws Exception {
+        // Fora das rotas públicas: cai no anyRequest().authenticated()
+        leitura(comToken(get("/health"), biblioteca(1)), 0);
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Chamada de aquecimento fora da medição, depois a chamada medida.
+     */
+    private MvcResult leitura(MockHttpServletRequestBuilder requisicao, int orcamento) throws Exception {
+        executar(requisicao);
+        return escrita(requisicao, orcamento);
+    }
+
+    private MvcResult escrita(MockHttpServletRequestBuilder requisicao, int orcamento) throws Exception {
+        MvcResult[] resultado = new MvcResult[1];
+        Medicao medicao = contador.medir(() -> resultado[0] = executar(requisicao));
+
+        String descricao = resultado[0].getRequest().getMethod() + " " + resultado[0].getRequest().getRequestURI();
+        assertTrue(medicao.consultas() <= orcamento,
+                () -> descricao + " passou do orçamento de " + orcamento + " consultas: " + medicao);
+        return resultado[0];
+    }
+
+    private MvcResult executar(MockHttpServletRequestBuilder requisicao) throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao).andReturn();
+        int status = resultado.getResponse().getStatus();
+        assertTrue(status < 400, () -> resultado.getRequest().getRequestURI() + " respondeu " + status + ": "
+                + contentAsString(resultado));
+        return resultado;
+    }
+
+    /**
+     * Cada leitura num EntityManager novo: o contexto de persistência não serve a entidade.
+     */
+    private void lerGenero(Long id) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            entityManager.find(Genero.class, id);
+        }
+    }
+
+    /**
+     * Persiste livros novos e faz o flush; o rollback no fim não deixa os livros na massa dos outros testes.
+     */
+    private void inserirLivros(int quantidade) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < quantidade; i++) {
+                Livro livro = new Livro();
+                livro.setTitulo("Livro em Lote " + i);
+                livro.setAutor("Autor em Lote");
+                livro.setIsbn(String.format("978%010d", 9_000_000 + i));
+                entityManager.persist(livro);
+            }
+            entityManager.flush();
+            entityManager.getTransaction().rollback();
+        }
+    }
+
+    private int pendentesNoMapaDoDashboard() throws Exception {
+        int pendentes = 0;
+        for (JsonNode cluster : objectMapper.readTree(contentAsString(executar(comToken(get("/admin/dashboard"),
+                moderador())))).get("clustersMapa")) {
+            pendentes += cluster.get("quantidadePorStatus").path("PENDENTE").asInt();
+        }
+        return pendentes;
+    }
+
+    private double leiturasDoCache(String regiao, String resultado) {
+        return meterRegistry.get("cache.gets").tag("cache", regiao).tag("result", resultado)
+                .functionCounter().count();
+    }
+
+    private List<String> campo(MvcResult pagina, String nome) throws Exception {
+        List<String> valores = new ArrayList<>();
+        objectMapper.readTree(contentAsString(pagina)).get("content")
+                .forEach(item -> valores.add(item.get(nome).asText()));
+        return valores;
+    }
+
+    private List<Long> idsDasBibliotecasDoLivro(long idLivro) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(contentAsString(executar(get("/livros/{id}/bibliotecas", idLivro))))
+                .forEach(biblioteca -> ids.add(biblioteca.get("id").asLong()));
+        return ids;
+    }
+
+    /**
+     * A importação roda em outra thread; espera o status sair de PROCESSANDO.
+     */
+    private void aguardarImportacao(int idBiblioteca, String idImportacao) throws Exception {
+        for (int tentativa = 0; tentativa < 50; tentativa++) {
+            String status = objectMapper.readTree(contentAsString(executar(comToken(
+                    get("/bibliotecas/{id}/livros/importacao/{importacao}", idBiblioteca, idImportacao),
+                    biblioteca(idBiblioteca))))).get("status").asText();
+            if (!"PROCESSANDO".equals(status)) {
+                assertEquals("CONCLUIDA", status);
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("importação " + idImportacao + " não terminou");
+    }
+
+    private static MockHttpServletRequestBuilder comToken(MockHttpServletRequestBuilder requisicao, String token) {
+        return requisicao.header("Authorization", "Bearer " + token);
+    }
+
+    private String biblioteca(int id) throws Exception {
+        return token("biblioteca" + id + "@teste.com");
+    }
+
+    private String admin() throws Exception {
+        return token("admin@teste.com");
+    }
+
+    private String moderador() throws Exception {
+        return token("moderador@teste.com");
+    }
+
+    private String token(String email) throws Exception {
+        String token = TOKENS.get(email);
+        if (token == null) {
+            MvcResult resultado = executar(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json(Map.of("email", email, "senha", SENHA))));
+            token = objectMapper.readTree(resultado.getResponse().getContentAsString()).get("token").asText();
+            TOKENS.put(email, token);
+        }
+        return token;
+    }
+
+    private String json(Object corpo) throws Exception {
+        return objectMapper.writeValueAsString(corpo);
+    }
+
+    private static String contentAsString(MvcResult resultado) {
+        try {
+            return resultado.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private static byte[] png() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 600, BufferedImage.TYPE_INT_RGB), "png", saida);
+        return saida.toByteArray();
+    }
+}
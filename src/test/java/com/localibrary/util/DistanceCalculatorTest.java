@@ -0,0 +1,120 @@
+package com.localibrary.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ✅ NOVO: Erro da distância aproximada (equirretangular) em relação ao Haversine
+ * Pares sorteados dentro do retângulo da região metropolitana de São Paulo, semente fixa.
+ */
+class DistanceCalculatorTest {
+
+    // Região metropolitana de São Paulo (com folga nas bordas)
+    private static final double LAT_MIN = -24.00;
+    private static final double LAT_MAX = -23.18;
+    private static final double LON_MIN = -47.21;
+    private static final double LON_MAX = -46.12;
+
+    private static final int PARES = 200_000;
+
+    // Origens espalhadas pela faixa de latitudes da região, cada uma com pontos até o raio máximo da busca
+    private static final int ORIGENS = 200;
+    private static final int PONTOS_POR_ORIGEM = 1_000;
+
+    // Abaixo disso o erro relativo é dominado pelo arredondamento, não pela aproximação
+    private static final double DISTANCIA_MINIMA_KM = 0.001;
+
+    @Test
+    void erroRelativoAbaixoDoMaximoNaRegiaoMetropolitana() {
+        Random random = new Random(2024);
+        double maiorErro = 0;
+        for (int i = 0; i < PARES; i++) {
+            double lat1 = sortear(random, LAT_MIN, LAT_MAX);
+            double lon1 = sortear(random, LON_MIN, LON_MAX);
+            double lat2 = sortear(random, LAT_MIN, LAT_MAX);
+            double lon2 = sortear(random, LON_MIN, LON_MAX);
+
+            double exata = DistanceCalculator.calculateDistance(lat1, lon1, lat2, lon2);
+            if (exata < DISTANCIA_MINIMA_KM) {
+                continue;
+            }
+            double aproximada = DistanceCalculator.approximateDistance(
+                    lat1, lon1, DistanceCalculator.cosLatitude(lat1), lat2, lon2);
+            maiorErro = Math.max(maiorErro, Math.abs(aproximada - exata) / exata);
+        }
+        assertTrue(maiorErro < DistanceCalculator.APPROXIMATION_MAX_ERROR,
+                "erro relativo máximo " + maiorErro);
+    }
+
+    /**
+     * Cenário da busca: usuário em qualquer latitude da região e bibliotecas até RAIO_MAXIMO_KM
+     * (mais a folga que o índice aplica ao filtrar pela distância aproximada).
+     */
+    @Test
+    void erroRelativoAbaixoDoMaximoDentroDoRaioDaBusca() {
+        Random random = new Random(2025);
+        double alcance = Constants.RAIO_MAXIMO_KM * (1 + DistanceCalculator.APPROXIMATION_MAX_ERROR);
+        double maiorErro = 0;
+        int conferidos = 0;
+        for (int o = 0; o < ORIGENS; o++) {
+            double lat = LAT_MIN + (LAT_MAX - LAT_MIN) * o / (ORIGENS - 1);
+            double lon = sortear(random, LON_MIN, LON_MAX);
+            double cosLat = DistanceCalculator.cosLatitude(lat);
+            double grausLat = alcance / 111.0;
+            double grausLon = grausLat / cosLat;
+            for (int p = 0; p < PONTOS_POR_ORIGEM; p++) {
+                double lat2 = sortear(random, lat - grausLat, lat + grausLat);
+                double lon2 = sortear(random, lon - grausLon, lon + grausLon);
+                double exata = DistanceCalculator.calculateDistance(lat, lon, lat2, lon2);
+                if (exata < DISTANCIA_MINIMA_KM || exata > alcance) {
+                    continue;
+                }
+                double aproximada = DistanceCalculator.approximateDistance(lat, lon, cosLat, lat2, lon2);
+                maiorErro = Math.max(maiorErro, Math.abs(aproximada - exata) / exata);
+                conferidos++;
+            }
+        }
+        // O retângulo sorteado contém o círculo: ~78% dos pontos caem dentro do alcance
+        assertTrue(conferidos > ORIGENS * PONTOS_POR_ORIGEM / 2, "pares conferidos: " + conferidos);
+        assertTrue(maiorErro < DistanceCalculator.APPROXIMATION_MAX_ERROR,
+                "erro relativo máximo " + maiorErro);
+    }
+
+    @Test
+    void loteIgualAoPontoAPonto() {
+        Random random = new Random(7);
+        double lat = sortear(random, LAT_MIN, LAT_MAX);
+        double lon = sortear(random, LON_MIN, LON_MAX);
+        double cosLat = DistanceCalculator.cosLatitude(lat);
+
+        int pares = 1_000;
+        double[] latLons = new double[2 * pares];
+        for (int i = 0; i < pares; i++) {
+            latLons[2 * i] = sortear(random, LAT_MIN, LAT_MAX);
+            latLons[2 * i + 1] = sortear(random, LON_MIN, LON_MAX);
+        }
+
+        // Faixa no meio do array: confere o deslocamento entre latLons e out
+        int de = 100;
+        int ate = 900;
+        double[] saida = new double[ate - de];
+        DistanceCalculator.approximateDistances(lat, lon, cosLat, latLons, de, ate, saida);
+
+        for (int i = de; i < ate; i++) {
+            double esperada = DistanceCalculator.approximateDistance(lat, lon, cosLat, latLons[2 * i], latLons[2 * i + 1]);
+            assertEquals(esperada, saida[i - de], 0.0, "par " + i);
+        }
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    private static double sortear(Random random, double min, double max) {
+        return min + random.nextDouble() * (max - min);
+    }
+}
@@ -0,0 +1,136 @@
+package com.localibrary.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ✅ NOVO: Seleção por heap comparada com a ordenação completa dos mesmos valores
+ * Sementes fixas: uma falha se reproduz rodando o teste de novo.
+ */
+class SelecaoMenoresTest {
+
+    private static final int RODADAS = 2_000;
+
+    @Test
+    void aleatorioIgualAoSortCompleto() {
+        Random random = new Random(42);
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            int n = random.nextInt(200);
+            int k = random.nextInt(40);
+            double[] valores = new double[n];
+            for (int i = 0; i < n; i++) {
+                valores[i] = random.nextDouble() * 100;
+            }
+            conferir(valores, k);
+        }
+    }
+
+    @Test
+    void valoresRepetidos() {
+        Random random = new Random(7);
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            int n = random.nextInt(100);
+            int k = random.nextInt(20);
+            double[] valores = new double[n];
+            for (int i = 0; i < n; i++) {
+                valores[i] = random.nextInt(5); // Poucos valores distintos: empates em toda rodada
+            }
+            conferir(valores, k);
+        }
+    }
+
+    @Test
+    void kZeroNaoSelecionaNada() {
+        SelecaoMenores selecao = new SelecaoMenores(0);
+        assertTrue(selecao.cheia());
+        selecao.oferecer(1, 1.0);
+        selecao.oferecer(2, 0.5);
+        selecao.ordenar();
+        assertEquals(0, selecao.tamanho());
+    }
+
+    @Test
+    void kNegativoEquivaleAZero() {
+        SelecaoMenores selecao = new SelecaoMenores(-3);
+        selecao.oferecer(1, 1.0);
+        assertEquals(0, selecao.tamanho());
+    }
+
+    @Test
+    void kMaiorQueNDevolveTodosOrdenados() {
+        SelecaoMenores selecao = new SelecaoMenores(10);
+        double[] valores = {3.5, 1.0, 2.25, 9.0};
+        for (int i = 0; i < valores.length; i++) {
+            selecao.oferecer(i, valores[i]);
+        }
+        assertFalse(selecao.cheia());
+        assertEquals(9.0, selecao.pior());
+
+        selecao.ordenar();
+
+        assertEquals(4, selecao.tamanho());
+        assertEquals(1, selecao.id(0));
+        assertEquals(2, selecao.id(1));
+        assertEquals(0, selecao.id(2));
+        assertEquals(3, selecao.id(3));
+    }
+
+    @Test
+    void ordenarHeapParcialmentePreenchido() {
+        Random random = new Random(13);
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            int k = 2 + random.nextInt(30);
+            int n = random.nextInt(k); // Sempre menos ofertas que k
+            double[] valores = new double[n];
+            for (int i = 0; i < n; i++) {
+                valores[i] = random.nextInt(10) + random.nextDouble();
+            }
+            conferir(valores, k);
+        }
+    }
+
+    // ================================================================================
+    // 🛠️ MÉTODOS AUXILIARES PRIVADOS
+    // ================================================================================
+
+    /**
+     * Os k menores pelo heap devem ser os k primeiros do sort completo (comparando valores,
+     * já que nos empates qualquer ID serve) e cada ID deve vir com o valor que foi oferecido.
+     */
+    private static void conferir(double[] valores, int k) {
+        SelecaoMenores selecao = new SelecaoMenores(k);
+        Map<Long, Double> oferecidos = new HashMap<>();
+        for (int i = 0; i < valores.length; i++) {
+            selecao.oferecer(i, valores[i]);
+            oferecidos.put((long) i, valores[i]);
+        }
+
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int esperado = Math.min(k, valores.length);
+
+        assertEquals(esperado, selecao.tamanho());
+        assertEquals(valores.length >= k, selecao.cheia());
+        if (esperado > 0) {
+            assertEquals(ordenados[esperado - 1], selecao.pior());
+        }
+
+        selecao.ordenar();
+
+        long[] ids = new long[esperado];
+        for (int i = 0; i < esperado; i++) {
+            assertEquals(ordenados[i], selecao.valor(i), "posição " + i);
+            assertEquals(oferecidos.get(selecao.id(i)), selecao.valor(i), "id " + selecao.id(i));
+            ids[i] = selecao.id(i);
+        }
+        assertEquals(esperado, Arrays.stream(ids).distinct().count(), "IDs repetidos na seleção");
+    }
+}
@@ -0,0 +1,97 @@
+-- ====================================
+-- MASSA DE DADOS DO ORÇAMENTO DE CONSULTAS
+-- ====================================
+-- 8 gêneros, 80 livros, 12 bibliotecas em São Paulo (9 ativas, 2 pendentes, 1 inativa)
+-- com 7 horários e 20 livros de acervo cada, 1 admin e 2 moderadores.
+-- Senha de todas as contas: senha123
+
+INSERT INTO tbl_genero (id_genero, nome_genero, created_at) VALUES
+    (1, 'Romance', CURRENT_TIMESTAMP),
+    (2, 'Ficção Científica', CURRENT_TIMESTAMP),
+    (3, 'Fantasia', CURRENT_TIMESTAMP),
+    (4, 'Suspense', CURRENT_TIMESTAMP),
+    (5, 'Biografia', CURRENT_TIMESTAMP),
+    (6, 'História', CURRENT_TIMESTAMP),
+    (7, 'Poesia', CURRENT_TIMESTAMP),
+    (8, 'Infantil', CURRENT_TIMESTAMP);
+
+INSERT INTO tbl_livro (id_livro, titulo, autor, isbn, editora, ano_publicacao, resumo, created_at)
+SELECT X,
+       CONCAT(CASE MOD(X, 4) WHEN 0 THEN 'O Segredo da Casa' WHEN 1 THEN 'Memórias do Rio'
+                             WHEN 2 THEN 'Viagem ao Centro' ELSE 'A Cidade Perdida' END, ' ', X),
+       CONCAT('Autor ', MOD(X, 15) + 1),
+       CONCAT('978', LPAD(X, 10, '0')),
+       CONCAT('Editora ', MOD(X, 5) + 1),
+       1950 + MOD(X * 7, 70),
+       REPEAT('Um resumo longo o bastante para passar do trecho exibido nas listagens. ', 5),
+       DATEADD('DAY', -X, CURRENT_TIMESTAMP)
+FROM SYSTEM_RANGE(1, 80);
+
+-- Um ou dois gêneros por livro
+INSERT INTO tbl_livro_genero (id_livro, id_genero, created_at)
+SELECT X, MOD(X, 8) + 1, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 80);
+
+INSERT INTO tbl_livro_genero (id_livro, id_genero, created_at)
+SELECT X, MOD(X + 3, 8) + 1, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 80) WHERE MOD(X, 2) = 0;
+
+INSERT INTO tbl_endereco (id_endereco, cep, logradouro, numero, bairro, cidade, estado, latitude, longitude, created_at)
+SELECT X, '01310100', CONCAT('Rua Teste ', X), CAST(100 + X AS VARCHAR), 'Centro', 'São Paulo', 'SP',
+       -23.50000000 - X * 0.01, -46.60000000 - X * 0.01, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 12);
+
+INSERT INTO tbl_biblioteca (id_biblioteca, nome_fantasia, razao_social, cnpj, telefone, categoria, site, status,
+                            id_endereco, created_at)
+SELECT X,
+       CONCAT('Biblioteca ', LPAD(X, 2, '0')),
+       CONCAT('Biblioteca ', LPAD(X, 2, '0'), ' LTDA'),
+       CONCAT('000000000000', LPAD(X, 2, '0')),
+       '11999999999',
+       CASE MOD(X, 4) WHEN 0 THEN 'PUBLICA' WHEN 1 THEN 'PRIVADA' WHEN 2 THEN 'UNIVERSITARIA' ELSE 'ESCOLAR' END,
+       NULL,
+       CASE WHEN X <= 9 THEN 'ATIVO' WHEN X <= 11 THEN 'PENDENTE' ELSE 'INATIVO' END,
+       X,
+       CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 12);
+
+INSERT INTO tbl_credenciais_biblioteca (id_credencial, id_biblioteca, email, senha, created_at)
+SELECT X, X, CONCAT('biblioteca', X, '@teste.com'),
+       '$2a$10$oRZNFt/6gyqga2Bidq7mUOOinYnfppI3mCtmyzUpqU4MXzHy91ym2', CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 12);
+
+-- 7 dias por biblioteca; domingo fechado
+INSERT INTO tbl_horario_funcionamento (id_horario, id_biblioteca, dia_semana, horario_abertura, horario_fechamento,
+                                       fechado, created_at)
+SELECT X,
+       (X - 1) / 7 + 1,
+       CASE MOD(X - 1, 7) WHEN 0 THEN 'DOMINGO' WHEN 1 THEN 'SEGUNDA' WHEN 2 THEN 'TERCA' WHEN 3 THEN 'QUARTA'
+                          WHEN 4 THEN 'QUINTA' WHEN 5 THEN 'SEXTA' ELSE 'SABADO' END,
+       CASE WHEN MOD(X - 1, 7) = 0 THEN NULL ELSE TIME '09:00:00' END,
+       CASE WHEN MOD(X - 1, 7) = 0 THEN NULL ELSE TIME '18:00:00' END,
+       MOD(X - 1, 7) = 0,
+       CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 84);
+
+-- 20 livros distintos por biblioteca: livro = (k * 7 + biblioteca * 11) mod 80 + 1, k = 0..19
+INSERT INTO tbl_biblioteca_livro (id_biblioteca, id_livro, quantidade, created_at)
+SELECT (X - 1) / 20 + 1,
+       MOD(MOD(X - 1, 20) * 7 + ((X - 1) / 20 + 1) * 11, 80) + 1,
+       MOD(X, 3) + 1,
+       DATEADD('HOUR', -X, CURRENT_TIMESTAMP)
+FROM SYSTEM_RANGE(1, 240);
+
+INSERT INTO tbl_admin (id_admin, nome, sobrenome, email, senha, role_admin, status, created_at) VALUES
+    (1, 'Ana', 'Admin', 'admin@teste.com',
+     '$2a$10$oRZNFt/6gyqga2Bidq7mUOOinYnfppI3mCtmyzUpqU4MXzHy91ym2', 'ADMIN', 'ATIVO', CURRENT_TIMESTAMP),
+    (2, 'Marcos', 'Moderador', 'moderador@teste.com',
+     '$2a$10$oRZNFt/6gyqga2Bidq7mUOOinYnfppI3mCtmyzUpqU4MXzHy91ym2', 'MODERADOR', 'ATIVO', CURRENT_TIMESTAMP),
+    (3, 'Rita', 'Removida', 'moderador.removido@teste.com',
+     '$2a$10$oRZNFt/6gyqga2Bidq7mUOOinYnfppI3mCtmyzUpqU4MXzHy91ym2', 'MODERADOR', 'INATIVO', CURRENT_TIMESTAMP);
+
+-- IDs novos (cadastros feitos pelos testes) começam bem acima da massa
+MERGE INTO tbl_sequencia (nome, proximo_valor) KEY (nome) VALUES
+    ('tbl_livro', 1000),
+    ('tbl_biblioteca', 1000),
+    ('tbl_endereco', 1000),
+    ('tbl_horario_funcionamento', 1000),
+    ('tbl_admin', 1000),
+    ('tbl_credenciais_biblioteca', 1000);